@@ -0,0 +1,44 @@
+package be.dnsbelgium.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing the path of an ip lookup. The inetAddress benchmark repeats what CIDR.of used to do, only for literals:
+ * given a name, InetAddress.getByName would go to the resolver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CIDRParserBenchmark {
+
+  @Param({"193.12.32.98", "193.12.32.0/24", "2001:db8::1", "2001:db8:1234::/48", "fe80:0:0:0:202:b3ff:fe1e:1111/112"})
+  public String literal;
+
+  @Benchmark
+  public CIDR parser() {
+    return CIDRParser.parse(literal);
+  }
+
+  @Benchmark
+  public CIDR inetAddress() throws UnknownHostException {
+    String[] parts = literal.split("\\/");
+    InetAddress address = InetAddress.getByName(parts[0]);
+    int size = parts.length == 1 ? address.getAddress().length * 8 : Integer.parseInt(parts[1]);
+    return new CIDR(address.getAddress(), size);
+  }
+
+  @Benchmark
+  public CIDR rejectName() {
+    return CIDRParser.tryParse("www.dnsbelgium.be");
+  }
+}
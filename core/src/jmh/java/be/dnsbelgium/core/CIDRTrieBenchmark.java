@@ -0,0 +1,84 @@
+package be.dnsbelgium.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Longest prefix match over a number of allocations in the order of what an RIR holds (one RIR has a few hundred
+ * thousand IPv4 and IPv6 allocations): IPv4 prefixes from /8 to /24 and IPv6 prefixes from /19 to /48, nested the way
+ * allocations and assignments are. The linear scan is what an IPService going over a list of networks does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CIDRTrieBenchmark {
+
+  @Param({"10000", "200000"})
+  public int allocations;
+
+  private CIDRTrie<CIDR> trie;
+
+  private List<CIDR> networks;
+
+  private CIDR[] queries;
+
+  private int next;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    Map<CIDR, CIDR> entries = new LinkedHashMap<>();
+    while (entries.size() < allocations) {
+      CIDR network = random.nextBoolean()
+          ? CIDR.ofIPv4(random.nextInt(), 8 + random.nextInt(17))
+          : CIDR.ofIPv6(0x2000000000000000L | (random.nextLong() >>> 4), 0L, 19 + random.nextInt(30));
+      entries.put(network, network);
+    }
+    trie = CIDRTrie.of(entries);
+    networks = new ArrayList<>(entries.keySet());
+    queries = new CIDR[1024];
+    for (int i = 0; i < queries.length; i++) {
+      CIDR network = networks.get(random.nextInt(networks.size()));
+      // an address within a known network, or a random one that mostly misses
+      queries[i] = i % 4 == 0
+          ? CIDR.ofIPv4(random.nextInt(), 32)
+          : network.isIPv4()
+              ? CIDR.ofIPv4((int) network.getLow() | (random.nextInt() >>> network.getSize()), 32)
+              : CIDR.ofIPv6(network.getHigh() | (random.nextLong() >>> network.getSize()), random.nextLong(), 128);
+    }
+  }
+
+  private CIDR nextQuery() {
+    return queries[next++ & (queries.length - 1)];
+  }
+
+  @Benchmark
+  public CIDR trie() {
+    return trie.longestMatch(nextQuery());
+  }
+
+  @Benchmark
+  public CIDR linearScan() {
+    CIDR query = nextQuery();
+    CIDR result = null;
+    for (CIDR network : networks) {
+      if (network.contains(query) && (result == null || network.getSize() > result.getSize())) {
+        result = network;
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,60 @@
+package be.dnsbelgium.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hash map lookups keyed on DomainName. The fresh benchmarks build a new instance from the same labels for every
+ * lookup, so hashCode and equals start without cached values, which is what every lookup used to cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DomainNameBenchmark {
+
+  @Param({"www.dnsbelgium.be", "xn--belgi-rsa.be", "belgië.be"})
+  public String name;
+
+  private DomainName domainName;
+
+  private final Map<DomainName, Boolean> map = new HashMap<>();
+
+  @Setup
+  public void setUp() {
+    domainName = DomainName.of(name);
+    for (int i = 0; i < 10_000; i++) {
+      map.put(DomainName.of("domain" + i + ".be"), Boolean.TRUE);
+    }
+    map.put(DomainName.of(name), Boolean.TRUE);
+  }
+
+  @Benchmark
+  public int hashCodeCached() {
+    return domainName.hashCode();
+  }
+
+  @Benchmark
+  public int hashCodeFresh() {
+    return new DomainName(domainName.getLabels()).hashCode();
+  }
+
+  @Benchmark
+  public Boolean lookupCached() {
+    return map.get(domainName);
+  }
+
+  @Benchmark
+  public Boolean lookupFresh() {
+    return map.get(new DomainName(domainName.getLabels()));
+  }
+}
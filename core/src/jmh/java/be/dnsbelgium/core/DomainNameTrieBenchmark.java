@@ -0,0 +1,81 @@
+package be.dnsbelgium.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A partial match search "xyz*.be" over a zone the size of a ccTLD, against the scan a LIKE 'xyz%' query without a
+ * suitable index comes down to. Three letter prefixes match a few hundred names out of a million.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DomainNameTrieBenchmark {
+
+  @Param({"100000", "1000000"})
+  public int domains;
+
+  private DomainNameTrie<String> trie;
+
+  private List<String> names;
+
+  private String[] prefixes;
+
+  private int next;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    Map<DomainName, String> entries = new LinkedHashMap<>();
+    while (entries.size() < domains) {
+      StringBuilder label = new StringBuilder();
+      int length = 3 + random.nextInt(10);
+      for (int i = 0; i < length; i++) {
+        label.append((char) ('a' + random.nextInt(12)));
+      }
+      String name = label + ".be";
+      entries.put(DomainName.of(name), name);
+    }
+    trie = DomainNameTrie.of(entries);
+    names = new ArrayList<>(entries.values());
+    prefixes = new String[64];
+    for (int i = 0; i < prefixes.length; i++) {
+      prefixes[i] = names.get(random.nextInt(names.size())).substring(0, 3);
+    }
+  }
+
+  private String nextPrefix() {
+    return prefixes[next++ & (prefixes.length - 1)];
+  }
+
+  @Benchmark
+  public List<String> trie() {
+    return trie.search(nextPrefix() + "*.be");
+  }
+
+  @Benchmark
+  public List<String> linearScan() {
+    String prefix = nextPrefix();
+    List<String> result = new ArrayList<>();
+    for (String name : names) {
+      if (name.toLowerCase(Locale.ROOT).startsWith(prefix) && name.endsWith(".be")) {
+        result.add(name);
+      }
+    }
+    return result;
+  }
+}
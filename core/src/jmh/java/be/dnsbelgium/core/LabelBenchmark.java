@@ -0,0 +1,69 @@
+package be.dnsbelgium.core;
+
+import com.ibm.icu.text.UnicodeSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a mix of .be names as seen in lookups: mostly plain LDH names, some IDNs in A-label and U-label form and a
+ * few non-LDH names. The regex benchmark repeats the UnicodeSet and regular expression checks Label.of used to do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LabelBenchmark {
+
+  private static final UnicodeSet ASCII_SET = new UnicodeSet().set(32, 127).freeze();
+
+  private static final UnicodeSet LDH_SET = new UnicodeSet("[A-Za-z0-9\\-]").freeze();
+
+  private final String[] names = {
+      "dnsbelgium.be",
+      "www.dnsbelgium.be",
+      "ns1.dns.be",
+      "mail.example.be",
+      "bakkerij-janssens.be",
+      "gemeente-sint-niklaas.be",
+      "xn--belgi-rsa.be",
+      "belgië.be",
+      "_dmarc.example.be",
+      "b.ns.dns.be"
+  };
+
+  @Benchmark
+  public void domainNameOf(Blackhole blackhole) {
+    for (String name : names) {
+      blackhole.consume(DomainName.of(name));
+    }
+  }
+
+  @Benchmark
+  public void ldhLabels(Blackhole blackhole) {
+    for (String name : names) {
+      for (String label : name.split("\\.")) {
+        if (ASCII_SET.containsAll(label)) {
+          blackhole.consume(Label.of(label));
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public void ldhLabelsRegex(Blackhole blackhole) {
+    for (String name : names) {
+      for (String label : name.split("\\.")) {
+        if (ASCII_SET.containsAll(label)) {
+          blackhole.consume(LDH_SET.containsAll(label) && !label.startsWith("-") && !label.endsWith("-")
+              && !label.matches("^..--.*"));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package be.dnsbelgium.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Unanchored fn searches ("*xyzw*") over registrant names, bounded at 100 results, against the case insensitive scan
+ * a LIKE '%xyzw%' comes down to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TextIndexBenchmark {
+
+  @Param({"100000", "1000000"})
+  public int entities;
+
+  private TextIndex<String> index;
+
+  private List<String> names;
+
+  private String[] infixes;
+
+  private int next;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    names = new ArrayList<>(entities);
+    for (int i = 0; i < entities; i++) {
+      names.add(word(random, 3 + random.nextInt(8)) + " " + word(random, 4 + random.nextInt(10)));
+    }
+    index = TextIndex.of(names, Function.identity());
+    infixes = new String[64];
+    for (int i = 0; i < infixes.length; i++) {
+      String name = names.get(random.nextInt(names.size()));
+      int from = random.nextInt(name.length() - 4);
+      infixes[i] = name.substring(from, from + 4).toLowerCase(Locale.ROOT);
+    }
+  }
+
+  private static String word(Random random, int length) {
+    StringBuilder word = new StringBuilder().append((char) ('A' + random.nextInt(26)));
+    for (int i = 1; i < length; i++) {
+      word.append((char) ('a' + random.nextInt(26)));
+    }
+    return word.toString();
+  }
+
+  private String nextInfix() {
+    return infixes[next++ & (infixes.length - 1)];
+  }
+
+  @Benchmark
+  public List<String> index() {
+    return index.search("*" + nextInfix() + "*", 100);
+  }
+
+  @Benchmark
+  public List<String> linearScan() {
+    String infix = nextInfix();
+    List<String> result = new ArrayList<>();
+    for (String name : names) {
+      if (name.toLowerCase(Locale.ROOT).contains(infix)) {
+        result.add(name);
+        if (result.size() == 100) {
+          break;
+        }
+      }
+    }
+    return result;
+  }
+}
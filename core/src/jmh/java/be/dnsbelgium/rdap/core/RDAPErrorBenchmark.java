@@ -0,0 +1,54 @@
+package be.dnsbelgium.rdap.core;
+
+import be.dnsbelgium.core.DomainName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of throwing a not found error from a call stack of the given depth (a Spring MVC dispatch is roughly 60 to 100
+ * frames deep), with and without filling in the stack trace. Both errors get the title DomainNotFound builds, built
+ * the same way, so only the stack trace differs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RDAPErrorBenchmark {
+
+  @Param({"10", "100"})
+  public int depth;
+
+  private final DomainName domainName = DomainName.of("example.be");
+
+  @Benchmark
+  public RDAPError withStackTrace() {
+    try {
+      return throwAt(depth, true);
+    } catch (RDAPError e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public RDAPError stackless() {
+    try {
+      return throwAt(depth, false);
+    } catch (RDAPError e) {
+      return e;
+    }
+  }
+
+  private RDAPError throwAt(int remaining, boolean stackTrace) throws RDAPError {
+    if (remaining > 0) {
+      return throwAt(remaining - 1, stackTrace);
+    }
+    throw new RDAPError(HttpStatus.NOT_FOUND, "Domain " + domainName.toLDH().getStringValue() + " not found", null,
+        stackTrace);
+  }
+}
@@ -23,18 +23,13 @@ public final class ByteUtils {
 
   public static byte[] getMask(int m, int max_m) {
     byte[] b = new byte[max_m / 8];
-    for (int i = 0; i < b.length; i++) {
+    // whole bytes of ones, then the partial byte, the rest stays zero
+    int full = Math.min(m / 8, b.length);
+    for (int i = 0; i < full; i++) {
       b[i] = (byte) 0xff;
     }
-    int j = b.length - 1;
-    int k = 1;
-    for (int i = 1; i <= max_m - m; i++) {
-      b[j] = (byte) ((b[j] << 1) & 0xff);
-      k++;
-      if (k > 8) {
-        k = 1;
-        j--;
-      }
+    if (full < b.length && m % 8 > 0) {
+      b[full] = (byte) (0xff << (8 - m % 8));
     }
     return b;
   }
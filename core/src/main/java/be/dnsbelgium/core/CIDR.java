@@ -15,33 +15,82 @@
  */
 package be.dnsbelgium.core;
 
-import java.net.Inet4Address;
 import java.net.InetAddress;
-import java.net.UnknownHostException;
 
-public class CIDR {
+/**
+ * An IPv4 or IPv6 network. The address is held as two longs, an IPv4 address in the low 32 bits of the second one, so
+ * containment, overlap and comparison need no arrays.
+ */
+public class CIDR implements Comparable<CIDR> {
 
-  private final byte[] address;
+  private final int width;
 
-  private final int size;
+  private final long high;
 
-  private final byte[] mask;
+  private final long low;
+
+  private final int size;
 
   public CIDR(byte[] address, int size) {
-    if (size < 1 || size > address.length * 8) {
+    this(width(address), toLong(address, 0, address.length - 8), toLong(address, Math.max(0, address.length - 8), address.length), size);
+  }
+
+  private CIDR(int width, long high, long low, int size) {
+    if (size < 1 || size > width) {
       throw new IllegalArgumentException();
     }
-    // check whether least significant bits are zero
-    byte[] mask = ByteUtils.getMask(size, address.length * 8);
-    byte[] maskedAddress = ByteUtils.and(address, mask);
-
-    this.address = maskedAddress;
+    this.width = width;
     this.size = size;
-    this.mask = mask;
+    this.high = high & maskHigh(width, size);
+    this.low = low & maskLow(width, size);
+  }
+
+  /**
+   * @param address the address as an unsigned 32 bit value
+   */
+  public static CIDR ofIPv4(int address, int size) {
+    return new CIDR(32, 0L, address & 0xFFFFFFFFL, size);
+  }
+
+  /**
+   * @param high the first 64 bits of the address
+   * @param low the last 64 bits of the address
+   */
+  public static CIDR ofIPv6(long high, long low, int size) {
+    return new CIDR(128, high, low, size);
+  }
+
+  private static int width(byte[] address) {
+    if (address.length != 4 && address.length != 16) {
+      throw new IllegalArgumentException("address should be 4 or 16 bytes long");
+    }
+    return address.length * 8;
+  }
+
+  private static long toLong(byte[] bytes, int from, int to) {
+    long result = 0;
+    for (int i = from; i < to; i++) {
+      result = (result << 8) | (bytes[i] & 0xFF);
+    }
+    return result;
+  }
+
+  static long maskHigh(int width, int size) {
+    if (width == 32 || size == 0) {
+      return 0L;
+    }
+    return size >= 64 ? -1L : -1L << (64 - size);
+  }
+
+  static long maskLow(int width, int size) {
+    if (width == 32) {
+      return 0xFFFFFFFFL & (-1L << (32 - size));
+    }
+    return size <= 64 ? 0L : -1L << (128 - size);
   }
 
   public byte[] getAddress() {
-    return address.clone();
+    return toBytes(high, low);
   }
 
   public int getSize() {
@@ -49,38 +98,115 @@ public class CIDR {
   }
 
   public byte[] getMask() {
-    return mask.clone();
+    return toBytes(maskHigh(width, size), maskLow(width, size));
+  }
+
+  private byte[] toBytes(long high, long low) {
+    byte[] bytes = new byte[width / 8];
+    for (int i = bytes.length - 1, shift = 0; i >= 0; i--, shift += 8) {
+      bytes[i] = (byte) (shift < 64 ? low >>> shift : high >>> (shift - 64));
+    }
+    return bytes;
+  }
+
+  public boolean isIPv4() {
+    return width == 32;
+  }
+
+  /**
+   * @return the first 64 bits of an IPv6 network address, 0 for IPv4
+   */
+  public long getHigh() {
+    return high;
+  }
+
+  /**
+   * @return the last 64 bits of an IPv6 network address, or the IPv4 network address as an unsigned 32 bit value
+   */
+  public long getLow() {
+    return low;
   }
 
   public boolean contains(InetAddress inet) {
     byte[] inetaddr = inet.getAddress();
-    if (inetaddr.length != address.length) {
+    if (inetaddr.length * 8 != width) {
       throw new IllegalArgumentException("argument is other type of inet address");
     }
-    byte[] result = ByteUtils.and(inetaddr, mask);
-    return ByteUtils.isSame(this.address, result);
+    return matches(toLong(inetaddr, 0, inetaddr.length - 8), toLong(inetaddr, Math.max(0, inetaddr.length - 8), inetaddr.length));
   }
 
-  public static CIDR of(String cidr) {
-    String[] parts = cidr.split("\\/");
-    if (parts.length == 1) {
-      try {
-        InetAddress address = InetAddress.getByName(parts[0]);
-        int length = address instanceof Inet4Address ? 32 : 128;
-        return new CIDR(address.getAddress(), length);
-      } catch (UnknownHostException e) {
-        throw new IllegalArgumentException(e);
-      }
+  /**
+   * @return true when this is an IPv4 network that contains the given address
+   */
+  public boolean contains(int ipv4) {
+    return width == 32 && matches(0L, ipv4 & 0xFFFFFFFFL);
+  }
+
+  /**
+   * @return true when this is an IPv6 network that contains the given address
+   */
+  public boolean contains(long high, long low) {
+    return width == 128 && matches(high, low);
+  }
+
+  /**
+   * @return true when the given network lies within this one (or is equal to it)
+   */
+  public boolean contains(CIDR other) {
+    return width == other.width && size <= other.size && matches(other.high, other.low);
+  }
+
+  /**
+   * @return true when both networks have addresses in common, which means one of them contains the other
+   */
+  public boolean overlaps(CIDR other) {
+    return size <= other.size ? contains(other) : other.contains(this);
+  }
+
+  private boolean matches(long high, long low) {
+    return (((high & maskHigh(width, size)) ^ this.high) | ((low & maskLow(width, size)) ^ this.low)) == 0;
+  }
+
+  /**
+   * IPv4 networks sort before IPv6 networks, then by address and finally by size, so a network comes right before the
+   * networks it contains.
+   */
+  @Override
+  public int compareTo(CIDR that) {
+    int result = Integer.compare(this.width, that.width);
+    if (result == 0) {
+      result = Long.compareUnsigned(this.high, that.high);
     }
-    if (parts.length != 2) {
-      throw new IllegalArgumentException("Invalid format");
+    if (result == 0) {
+      result = Long.compareUnsigned(this.low, that.low);
     }
-    try {
-      InetAddress address = InetAddress.getByName(parts[0]);
-      return new CIDR(address.getAddress(),Integer.parseInt(parts[1]));
-    } catch (UnknownHostException e) {
-      throw new IllegalArgumentException(e);
+    if (result == 0) {
+      result = Integer.compare(this.size, that.size);
     }
+    return result;
+  }
+
+  /**
+   * @param cidr an IP address literal, optionally followed by a prefix length, see CIDRParser
+   * @throws IllegalArgumentException when cidr is not a literal, no name resolution is ever done
+   */
+  public static CIDR of(String cidr) {
+    return CIDRParser.parse(cidr);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof CIDR)) return false;
+
+    CIDR that = (CIDR) o;
+
+    return this.width == that.width && this.size == that.size && this.high == that.high && this.low == that.low;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * Long.hashCode(high) + Long.hashCode(low)) + size;
   }
 
 }
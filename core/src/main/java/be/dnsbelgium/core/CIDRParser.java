@@ -0,0 +1,206 @@
+package be.dnsbelgium.core;
+
+/**
+ * Parses IPv4 and IPv6 address literals, optionally followed by a prefix length ("192.0.2.0/24", "2001:db8::/32").
+ *
+ * Unlike InetAddress.getByName this never resolves a name: anything that is not a literal is rejected at the first
+ * character that does not fit, and input longer than the longest literal is rejected without looking at it. Accepted
+ * are dotted quad IPv4 addresses (no leading zeros, no shortened forms) and the IPv6 text forms of RFC 4291 section
+ * 2.2, which include the RFC 5952 canonical form. Zone identifiers are not accepted. An IPv4-mapped IPv6 address stays
+ * an IPv6 address.
+ */
+public final class CIDRParser {
+
+  /**
+   * Length of the longest literal, "ffff:ffff:ffff:ffff:ffff:ffff:255.255.255.255/128".
+   */
+  public static final int MAX_LENGTH = 49;
+
+  private CIDRParser() {
+
+  }
+
+  /**
+   * @throws IllegalArgumentException when the value is not an address literal with an optional, valid prefix length
+   */
+  public static CIDR parse(String value) {
+    CIDR cidr = tryParse(value);
+    if (cidr == null) {
+      throw new IllegalArgumentException("Not an IP address or prefix: " + value);
+    }
+    return cidr;
+  }
+
+  /**
+   * @return the network, or null when the value is not an address literal with an optional, valid prefix length
+   */
+  public static CIDR tryParse(String value) {
+    if (value == null || value.isEmpty() || value.length() > MAX_LENGTH) {
+      return null;
+    }
+    int length = value.length();
+    int end = length;
+    boolean ipv6 = false;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c == '/') {
+        end = i;
+        break;
+      }
+      ipv6 |= c == ':';
+    }
+    int width = ipv6 ? 128 : 32;
+    int size = width;
+    if (end < length) {
+      size = parseDecimal(value, end + 1, length, width);
+      if (size < 1) {
+        return null;
+      }
+    }
+    if (!ipv6) {
+      long address = parseIPv4(value, 0, end);
+      return address < 0 ? null : CIDR.ofIPv4((int) address, size);
+    }
+    IPv6 address = new IPv6();
+    return address.parse(value, 0, end) ? CIDR.ofIPv6(address.high, address.low, size) : null;
+  }
+
+  /**
+   * @return the address as an unsigned 32 bit value, -1 when the characters in [from, to) are not a dotted quad
+   */
+  static long parseIPv4(String value, int from, int to) {
+    long address = 0;
+    int start = from;
+    for (int octet = 0; octet < 4; octet++) {
+      int dot = octet < 3 ? value.indexOf('.', start) : to;
+      if (dot < 0 || dot > to) {
+        return -1;
+      }
+      int part = parseDecimal(value, start, dot, 255);
+      if (part < 0) {
+        return -1;
+      }
+      address = (address << 8) | part;
+      start = dot + 1;
+    }
+    return address;
+  }
+
+  /**
+   * @return the decimal number in [from, to), -1 when it is empty, has a leading zero, other characters or exceeds max
+   */
+  private static int parseDecimal(String value, int from, int to, int max) {
+    int length = to - from;
+    if (length < 1 || length > 3 || (length > 1 && value.charAt(from) == '0')) {
+      return -1;
+    }
+    int result = 0;
+    for (int i = from; i < to; i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      result = result * 10 + (c - '0');
+    }
+    return result > max ? -1 : result;
+  }
+
+  private static int hex(char c) {
+    if (c >= '0' && c <= '9') {
+      return c - '0';
+    }
+    if (c >= 'a' && c <= 'f') {
+      return c - 'a' + 10;
+    }
+    if (c >= 'A' && c <= 'F') {
+      return c - 'A' + 10;
+    }
+    return -1;
+  }
+
+  /**
+   * Collects the 16 bit groups of an IPv6 address. Groups before "::" are put in place right away, the ones after it
+   * are shifted in from the right.
+   */
+  private static final class IPv6 {
+
+    private long high;
+
+    private long low;
+
+    private long tailHigh;
+
+    private long tailLow;
+
+    private int groups;
+
+    private int gap = -1;
+
+    private boolean parse(String value, int from, int to) {
+      int i = from;
+      if (to - i >= 2 && value.charAt(i) == ':' && value.charAt(i + 1) == ':') {
+        gap = 0;
+        i += 2;
+      }
+      while (i < to) {
+        int start = i;
+        int group = 0;
+        int digit;
+        while (i < to && i - start < 4 && (digit = hex(value.charAt(i))) >= 0) {
+          group = (group << 4) | digit;
+          i++;
+        }
+        if (i < to && value.charAt(i) == '.') {
+          // an IPv4 address in the last 32 bits
+          long ipv4 = parseIPv4(value, start, to);
+          if (ipv4 < 0 || !add((int) (ipv4 >>> 16)) || !add((int) (ipv4 & 0xFFFF))) {
+            return false;
+          }
+          break;
+        }
+        if (i == start || !add(group)) {
+          return false;
+        }
+        if (i == to) {
+          break;
+        }
+        if (value.charAt(i) != ':' || ++i == to) {
+          return false;
+        }
+        if (value.charAt(i) == ':') {
+          if (gap >= 0) {
+            return false;
+          }
+          gap = groups;
+          i++;
+        }
+      }
+      if (gap < 0) {
+        return groups == 8;
+      }
+      // "::" stands for at least one group of zeros
+      if (groups > 7) {
+        return false;
+      }
+      high |= tailHigh;
+      low |= tailLow;
+      return true;
+    }
+
+    private boolean add(int group) {
+      if (groups == 8) {
+        return false;
+      }
+      if (gap >= 0) {
+        tailHigh = (tailHigh << 16) | (tailLow >>> 48);
+        tailLow = (tailLow << 16) | group;
+      } else if (groups < 4) {
+        high |= (long) group << (16 * (3 - groups));
+      } else {
+        low |= (long) group << (16 * (7 - groups));
+      }
+      groups++;
+      return true;
+    }
+  }
+}
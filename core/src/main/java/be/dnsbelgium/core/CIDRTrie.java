@@ -0,0 +1,202 @@
+package be.dnsbelgium.core;
+
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A path compressed binary (Patricia) trie of IPv4 and IPv6 prefixes, for longest prefix matching.
+ *
+ * Lookups walk at most one node per bit of the prefix length and do not allocate. The trie is not safe for concurrent
+ * modification: fill it first (see of(Map)), then share it. Once safely published, any number of threads can read it.
+ */
+public final class CIDRTrie<V> {
+
+  private Node<V> ipv4;
+
+  private Node<V> ipv6;
+
+  private int size;
+
+  /**
+   * @return a trie holding all entries of the map
+   */
+  public static <V> CIDRTrie<V> of(Map<CIDR, ? extends V> entries) {
+    CIDRTrie<V> trie = new CIDRTrie<>();
+    for (Map.Entry<CIDR, ? extends V> entry : entries.entrySet()) {
+      trie.put(entry.getKey(), entry.getValue());
+    }
+    return trie;
+  }
+
+  /**
+   * Adds a prefix, or replaces the value of a prefix that is already present.
+   */
+  public void put(CIDR cidr, V value) {
+    checkNotNull(cidr, "cidr must not be null");
+    checkNotNull(value, "value must not be null");
+    int width = cidr.isIPv4() ? 32 : 128;
+    long high = cidr.getHigh();
+    long low = cidr.getLow();
+    int bits = cidr.getSize();
+
+    Node<V> parent = null;
+    Node<V> node = width == 32 ? ipv4 : ipv6;
+    while (node != null) {
+      int common = Math.min(commonPrefixLength(width, node.high, node.low, high, low), Math.min(node.bits, bits));
+      if (common == node.bits && common == bits) {
+        if (node.value == null) {
+          size++;
+        }
+        node.value = value;
+        return;
+      }
+      if (common == node.bits) {
+        parent = node;
+        node = node.child(bit(width, high, low, node.bits));
+        continue;
+      }
+      Node<V> replacement;
+      if (common == bits) {
+        // the new prefix is a parent of node
+        replacement = new Node<>(high, low, bits, value);
+        replacement.setChild(bit(width, node.high, node.low, bits), node);
+      } else {
+        // the prefixes fork after common bits, they get a new parent without value
+        replacement = new Node<>(high & CIDR.maskHigh(width, common), low & CIDR.maskLow(width, common), common, null);
+        replacement.setChild(bit(width, node.high, node.low, common), node);
+        replacement.setChild(bit(width, high, low, common), new Node<>(high, low, bits, value));
+      }
+      size++;
+      replace(width, parent, node, replacement);
+      return;
+    }
+    size++;
+    Node<V> leaf = new Node<>(high, low, bits, value);
+    if (parent == null) {
+      setRoot(width, leaf);
+    } else {
+      parent.setChild(bit(width, high, low, parent.bits), leaf);
+    }
+  }
+
+  /**
+   * @return the value of the most specific prefix that contains the given network (or is equal to it), null if none
+   */
+  public V longestMatch(CIDR cidr) {
+    int width = cidr.isIPv4() ? 32 : 128;
+    long high = cidr.getHigh();
+    long low = cidr.getLow();
+    int bits = cidr.getSize();
+    V result = null;
+    Node<V> node = width == 32 ? ipv4 : ipv6;
+    while (node != null && node.bits <= bits && commonPrefixLength(width, node.high, node.low, high, low) >= node.bits) {
+      if (node.value != null) {
+        result = node.value;
+      }
+      if (node.bits == bits) {
+        break;
+      }
+      node = node.child(bit(width, high, low, node.bits));
+    }
+    return result;
+  }
+
+  /**
+   * @return the value of exactly this prefix, null if it was not added
+   */
+  public V get(CIDR cidr) {
+    int width = cidr.isIPv4() ? 32 : 128;
+    long high = cidr.getHigh();
+    long low = cidr.getLow();
+    int bits = cidr.getSize();
+    Node<V> node = width == 32 ? ipv4 : ipv6;
+    while (node != null && node.bits < bits) {
+      node = node.child(bit(width, high, low, node.bits));
+    }
+    if (node != null && node.bits == bits && node.high == high && node.low == low) {
+      return node.value;
+    }
+    return null;
+  }
+
+  /**
+   * @return the number of prefixes in the trie
+   */
+  public int size() {
+    return size;
+  }
+
+  private void replace(int width, Node<V> parent, Node<V> node, Node<V> replacement) {
+    if (parent == null) {
+      setRoot(width, replacement);
+    } else if (parent.left == node) {
+      parent.left = replacement;
+    } else {
+      parent.right = replacement;
+    }
+  }
+
+  private void setRoot(int width, Node<V> root) {
+    if (width == 32) {
+      ipv4 = root;
+    } else {
+      ipv6 = root;
+    }
+  }
+
+  /**
+   * @return bit number index of the address, counting from the most significant one
+   */
+  private static int bit(int width, long high, long low, int index) {
+    if (width == 32) {
+      return (int) (low >>> (31 - index)) & 1;
+    }
+    return index < 64 ? (int) (high >>> (63 - index)) & 1 : (int) (low >>> (127 - index)) & 1;
+  }
+
+  /**
+   * @return the number of leading bits both addresses have in common
+   */
+  private static int commonPrefixLength(int width, long high1, long low1, long high2, long low2) {
+    if (width == 32) {
+      return Integer.numberOfLeadingZeros((int) (low1 ^ low2));
+    }
+    long difference = high1 ^ high2;
+    return difference != 0 ? Long.numberOfLeadingZeros(difference) : 64 + Long.numberOfLeadingZeros(low1 ^ low2);
+  }
+
+  private static final class Node<V> {
+
+    private final long high;
+
+    private final long low;
+
+    private final int bits;
+
+    private V value;
+
+    private Node<V> left;
+
+    private Node<V> right;
+
+    private Node(long high, long low, int bits, V value) {
+      this.high = high;
+      this.low = low;
+      this.bits = bits;
+      this.value = value;
+    }
+
+    private Node<V> child(int bit) {
+      return bit == 0 ? left : right;
+    }
+
+    private void setChild(int bit, Node<V> child) {
+      if (bit == 0) {
+        left = child;
+      } else {
+        right = child;
+      }
+    }
+  }
+}
@@ -0,0 +1,281 @@
+package be.dnsbelgium.core;
+
+import com.google.common.collect.ImmutableList;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A domain name held as a single byte array in DNS wire format: every label in its LDH form, preceded by its length.
+ * Meant for large in-memory sets of names, where a DomainName with its list of Label objects takes too much heap.
+ *
+ * The terminating zero length root label is only present for fully qualified names, so isFQDN() survives the round
+ * trip through of(DomainName) and toDomainName(). IDN labels are kept as A-labels, which DomainName considers equal to
+ * their U-label form. Comparison, hashing, suffix checks and label access do not allocate. Like DomainName, names that
+ * only differ in case are equal.
+ */
+public final class CompactDomainName implements Comparable<CompactDomainName> {
+
+  private final byte[] wire;
+
+  private final int hash;
+
+  private CompactDomainName(byte[] wire) {
+    this.wire = wire;
+    int h = 0;
+    for (byte b : wire) {
+      h = 31 * h + toLowerCase(b);
+    }
+    this.hash = h;
+  }
+
+  public static CompactDomainName of(String domainName) {
+    return of(DomainName.of(domainName));
+  }
+
+  public static CompactDomainName of(DomainName domainName) {
+    checkNotNull(domainName, "domainName must not be null");
+    DomainName ldh = domainName.toLDH();
+    int length = 0;
+    for (Label label : ldh.getLabels()) {
+      length += 1 + label.getStringValue().length();
+    }
+    byte[] wire = new byte[length];
+    int offset = 0;
+    for (Label label : ldh.getLabels()) {
+      String value = label.getStringValue();
+      checkArgument(value.length() <= Label.MAX_LENGTH, "Label %s is longer than %s octets", value, Label.MAX_LENGTH);
+      wire[offset++] = (byte) value.length();
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        checkArgument(c < 128, "Label %s is not ASCII", value);
+        wire[offset++] = (byte) c;
+      }
+    }
+    return new CompactDomainName(wire);
+  }
+
+  /**
+   * @param wire a name in uncompressed DNS wire format, terminated by the root label
+   * @return the fully qualified name
+   */
+  public static CompactDomainName fromWire(byte[] wire) {
+    checkNotNull(wire, "wire must not be null");
+    int offset = 0;
+    while (offset < wire.length && wire[offset] != 0) {
+      int length = wire[offset];
+      checkArgument(length > 0 && length <= Label.MAX_LENGTH, "Invalid label length %s at offset %s", length, offset);
+      offset += 1 + length;
+    }
+    checkArgument(offset == wire.length - 1, "wire must end with the root label");
+    return new CompactDomainName(wire.clone());
+  }
+
+  /**
+   * @return this name in uncompressed DNS wire format, terminated by the root label
+   */
+  public byte[] toWire() {
+    if (isFQDN()) {
+      return wire.clone();
+    }
+    return Arrays.copyOf(wire, wire.length + 1);
+  }
+
+  public DomainName toDomainName() {
+    return toDomainName(null);
+  }
+
+  /**
+   * @param labelPool the pool to take the labels from, or null to create new ones
+   */
+  public DomainName toDomainName(LabelPool labelPool) {
+    ImmutableList.Builder<Label> labels = new ImmutableList.Builder<>();
+    for (int offset = firstLabel(); offset >= 0; offset = nextLabel(offset)) {
+      String value = new String(wire, offset + 1, wire[offset], StandardCharsets.US_ASCII);
+      labels.add(labelPool == null ? Label.of(value) : labelPool.intern(value));
+    }
+    if (isFQDN()) {
+      labels.add(Label.RootLabel.getInstance());
+    }
+    return new DomainName(labels.build());
+  }
+
+  public boolean isFQDN() {
+    return wire.length > 0 && wire[wire.length - 1] == 0;
+  }
+
+  /**
+   * @return the length of the name without the root label
+   */
+  private int relativeLength() {
+    return isFQDN() ? wire.length - 1 : wire.length;
+  }
+
+  public int getLevelSize() {
+    int levels = 0;
+    for (int offset = firstLabel(); offset >= 0; offset = nextLabel(offset)) {
+      levels++;
+    }
+    return levels;
+  }
+
+  /**
+   * Label iteration without allocation:
+   * <pre>
+   * for (int offset = name.firstLabel(); offset &gt;= 0; offset = name.nextLabel(offset)) {
+   *   for (int i = 0; i &lt; name.labelLength(offset); i++) {
+   *     char c = name.charAt(offset, i);
+   *   }
+   * }
+   * </pre>
+   * The root label is not visited.
+   *
+   * @return the offset of the leftmost label, -1 for the root name
+   */
+  public int firstLabel() {
+    return relativeLength() == 0 ? -1 : 0;
+  }
+
+  /**
+   * @return the offset of the label after the one at the given offset, -1 when there is none
+   */
+  public int nextLabel(int offset) {
+    int next = offset + 1 + wire[offset];
+    return next < relativeLength() ? next : -1;
+  }
+
+  public int labelLength(int offset) {
+    return wire[offset];
+  }
+
+  /**
+   * @return the character at the given index of the label at the given offset
+   */
+  public char charAt(int offset, int index) {
+    return (char) wire[offset + 1 + index];
+  }
+
+  /**
+   * The wire format can only be walked from the left, so visiting the labels from the right scans up to every label.
+   *
+   * @param end the offset just after a label, relativeLength() for the rightmost one
+   * @return the offset of the label that ends at the given offset
+   */
+  private int labelBefore(int end) {
+    int offset = 0;
+    int next = 1 + wire[0];
+    while (next < end) {
+      offset = next;
+      next += 1 + wire[next];
+    }
+    return offset;
+  }
+
+  /**
+   * Compares the names without the root label, so "dns.be" is a subdomain of "be." and the other way around.
+   *
+   * @return true when this name ends with all labels of the given name, or is equal to it
+   */
+  public boolean isSubdomainOf(CompactDomainName parent) {
+    int length = relativeLength();
+    int parentLength = parent.relativeLength();
+    if (parentLength > length) {
+      return false;
+    }
+    int start = length - parentLength;
+    // the parent has to start on a label boundary
+    int offset = 0;
+    while (offset < start) {
+      offset += 1 + wire[offset];
+    }
+    if (offset != start) {
+      return false;
+    }
+    for (int i = 0; i < parentLength; i++) {
+      if (toLowerCase(wire[start + i]) != toLowerCase(parent.wire[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Canonical DNS order (RFC 4034, section 6.1): labels are compared from the right, case insensitive and octet by
+   * octet, a name sorts before its subdomains. Fully qualified names sort after their relative counterparts.
+   */
+  @Override
+  public int compareTo(CompactDomainName that) {
+    int end = this.relativeLength();
+    int thatEnd = that.relativeLength();
+    while (end > 0 && thatEnd > 0) {
+      int offset = this.labelBefore(end);
+      int thatOffset = that.labelBefore(thatEnd);
+      int length = this.wire[offset];
+      int thatLength = that.wire[thatOffset];
+      for (int i = 1; i <= Math.min(length, thatLength); i++) {
+        int result = Integer.compare(toLowerCase(this.wire[offset + i]), toLowerCase(that.wire[thatOffset + i]));
+        if (result != 0) {
+          return result;
+        }
+      }
+      if (length != thatLength) {
+        return Integer.compare(length, thatLength);
+      }
+      end = offset;
+      thatEnd = thatOffset;
+    }
+    // the name with labels left has more levels
+    if (end != thatEnd) {
+      return Integer.compare(end, thatEnd);
+    }
+    return Boolean.compare(this.isFQDN(), that.isFQDN());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof CompactDomainName)) return false;
+
+    CompactDomainName that = (CompactDomainName) o;
+
+    if (this.hash != that.hash || this.wire.length != that.wire.length) {
+      return false;
+    }
+    for (int i = 0; i < wire.length; i++) {
+      if (toLowerCase(this.wire[i]) != toLowerCase(that.wire[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  /**
+   * @return the name in its LDH form
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(wire.length);
+    for (int offset = firstLabel(); offset >= 0; offset = nextLabel(offset)) {
+      if (offset > 0) {
+        sb.append('.');
+      }
+      sb.append(new String(wire, offset + 1, wire[offset], StandardCharsets.US_ASCII));
+    }
+    if (isFQDN()) {
+      sb.append('.');
+    }
+    return sb.toString();
+  }
+
+  private static int toLowerCase(byte b) {
+    return b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b;
+  }
+}
@@ -20,14 +20,29 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 public class DomainName {
 
+  /**
+   * Maximum length of a name in octets, without the trailing dot, see RFC 1035 section 2.3.4.
+   */
+  public static final int MAX_LENGTH = 253;
+
   private final List<Label> labels;
 
+  // lazily computed and cached, DomainName is immutable so racing threads compute the same values
+  private String stringValue;
+
+  private DomainName ldh;
+
+  private String canonicalValue;
+
+  private int hash;
+
   public DomainName(List<Label> labels) {
     checkNotNull(labels, "labels must not be null");
     checkArgument(!labels.isEmpty(), "labels.size() should be > 0");
@@ -41,12 +56,31 @@ public class DomainName {
   }
 
   public static DomainName of(String domainName) {
+    return of(domainName, null);
+  }
+
+  /**
+   * Same as of(domainName), but takes the labels from the given pool, or adds them to it.
+   */
+  public static DomainName of(String domainName, LabelPool labelPool) {
+    int length = domainName.endsWith(".") ? domainName.length() - 1 : domainName.length();
+    // an IDN is checked on its A-label form below, which can be shorter or longer than the input
+    if (length > MAX_LENGTH && Label.isAscii(domainName)) {
+      throw new IllegalArgumentException("Domain name is longer than " + MAX_LENGTH + " octets");
+    }
     String[] labels = StringUtils.splitPreserveAllTokens(domainName, '.');
     ImmutableList.Builder<Label> builder = new ImmutableList.Builder<>();
+    boolean idn = false;
     for (String label : labels) {
-      builder.add(Label.of(label));
+      Label l = labelPool == null ? Label.of(label) : labelPool.intern(label);
+      idn = idn || l instanceof Label.NonASCIILabel;
+      builder.add(l);
+    }
+    DomainName result = new DomainName(builder.build());
+    if (idn && result.toLDH().getStringValue().length() - (result.isFQDN() ? 1 : 0) > MAX_LENGTH) {
+      throw new IllegalArgumentException("Domain name is longer than " + MAX_LENGTH + " octets");
     }
-    return new DomainName(builder.build());
+    return result;
   }
 
   public DomainName toFQDN() {
@@ -73,11 +107,29 @@ public class DomainName {
   }
 
   public String getStringValue() {
-    StringBuffer sb = new StringBuffer(labels.get(0).getStringValue());
-    for (int i = 1; i < labels.size(); i++) {
-      sb.append("." + labels.get(i).getStringValue());
+    String result = stringValue;
+    if (result == null) {
+      StringBuilder sb = new StringBuilder(labels.get(0).getStringValue());
+      for (int i = 1; i < labels.size(); i++) {
+        sb.append('.').append(labels.get(i).getStringValue());
+      }
+      result = sb.toString();
+      stringValue = result;
     }
-    return sb.toString();
+    return result;
+  }
+
+  /**
+   * The lower case LDH form of this name, identical for all names that are equal.
+   * Suitable as a key in maps and caches.
+   */
+  public String getCanonicalValue() {
+    String result = canonicalValue;
+    if (result == null) {
+      result = toLDH().getStringValue().toLowerCase(Locale.ROOT);
+      canonicalValue = result;
+    }
+    return result;
   }
 
   public Label getLevel(int level) {
@@ -88,11 +140,16 @@ public class DomainName {
   }
 
   public DomainName toLDH() {
-    List<Label> labelList = new ArrayList<Label>();
-    for (Label label : getLabels()) {
-      labelList.add(label.toLDH());
+    DomainName result = ldh;
+    if (result == null) {
+      List<Label> labelList = new ArrayList<Label>();
+      for (Label label : getLabels()) {
+        labelList.add(label.toLDH());
+      }
+      result = new DomainName(labelList);
+      ldh = result;
     }
-    return new DomainName(labelList);
+    return result;
   }
 
   public DomainName toUnicode() {
@@ -103,6 +160,10 @@ public class DomainName {
     return new DomainName(labelList);
   }
 
+  /**
+   * Names are equal when their canonical values are: the U-label and A-label form of a name are equal, and so are
+   * names that only differ in case.
+   */
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -110,11 +171,16 @@ public class DomainName {
 
     DomainName that = (DomainName) o;
 
-    return this.toLDH().getStringValue().equals(that.toLDH().getStringValue());
+    return this.hashCode() == that.hashCode() && this.getCanonicalValue().equals(that.getCanonicalValue());
   }
 
   @Override
   public int hashCode() {
-    return toLDH().getStringValue().hashCode();
+    int result = hash;
+    if (result == 0) {
+      result = getCanonicalValue().hashCode();
+      hash = result;
+    }
+    return result;
   }
 }
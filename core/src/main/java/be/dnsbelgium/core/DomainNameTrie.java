@@ -0,0 +1,333 @@
+package be.dnsbelgium.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * An immutable index of domain names, for exact lookups and the partial match searches of RFC 7482 section 4.1.
+ *
+ * The names are held in a trie over their labels in reversed order (the TLD first), every node keeps its children
+ * sorted. Labels are compared in their lower case LDH form, so names that are equal as DomainName are the same key.
+ *
+ * Search patterns:
+ * <ul>
+ * <li>"example.be": the name itself</li>
+ * <li>"exam*.be": the names directly under be whose label starts with exam</li>
+ * <li>"*.dns.be": all names directly under dns.be</li>
+ * <li>"exam*": the names directly under any TLD whose label starts with exam</li>
+ * </ul>
+ * Only the leftmost label can hold the asterisk, as its last character. It is matched against the LDH form, a
+ * partial label therefore has to be ASCII. A search visits the nodes of the suffix and then only the matching
+ * children, found with a binary search, so its cost is proportional to the number of results.
+ */
+public final class DomainNameTrie<V> {
+
+  private static final Node<?>[] NO_CHILDREN = new Node<?>[0];
+
+  private final Node<V> root;
+
+  private final int size;
+
+  private DomainNameTrie(Node<V> root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * @return a trie holding all entries of the map, when two names are equal the last one is kept
+   */
+  public static <V> DomainNameTrie<V> of(Map<DomainName, ? extends V> entries) {
+    List<Entry<V>> list = new ArrayList<>(entries.size());
+    for (Map.Entry<DomainName, ? extends V> entry : entries.entrySet()) {
+      if (entry.getValue() == null) {
+        throw new IllegalArgumentException("No value for " + entry.getKey().getStringValue());
+      }
+      list.add(new Entry<V>(reversedLabels(entry.getKey()), entry.getValue()));
+    }
+    // a stable sort: of two equal names, the last one stays last and is kept
+    list.sort(Entry.ORDER);
+    int distinct = 0;
+    for (int i = 0; i < list.size(); i++) {
+      if (i == list.size() - 1 || Entry.ORDER.compare(list.get(i), list.get(i + 1)) != 0) {
+        distinct++;
+      }
+    }
+    return new DomainNameTrie<>(build(list, 0, list.size(), 0, ""), distinct);
+  }
+
+  private static <V> Node<V> build(List<Entry<V>> entries, int from, int to, int depth, String label) {
+    V value = null;
+    int i = from;
+    // the entries ending at this node sort before the ones that go deeper
+    while (i < to && entries.get(i).labels.length == depth) {
+      value = entries.get(i).value;
+      i++;
+    }
+    List<Node<V>> children = new ArrayList<>();
+    while (i < to) {
+      String childLabel = entries.get(i).labels[depth];
+      int end = i + 1;
+      while (end < to && entries.get(end).labels[depth].equals(childLabel)) {
+        end++;
+      }
+      children.add(build(entries, i, end, depth + 1, childLabel));
+      i = end;
+    }
+    return new Node<>(label, value, toArray(children));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> Node<V>[] toArray(List<Node<V>> children) {
+    return children.isEmpty() ? (Node<V>[]) NO_CHILDREN : children.toArray((Node<V>[]) new Node<?>[0]);
+  }
+
+  /**
+   * @return the value of the given name, null if it is not in the trie
+   */
+  public V get(DomainName domainName) {
+    return get(reversedLabels(domainName));
+  }
+
+  private V get(String[] labels) {
+    Node<V> node = root;
+    for (String label : labels) {
+      node = node.child(label);
+      if (node == null) {
+        return null;
+      }
+    }
+    return node.value;
+  }
+
+  /**
+   * @return the values of all names matching the pattern, in the order of their labels
+   * @throws IllegalArgumentException when the pattern is not valid
+   */
+  public List<V> search(String pattern) {
+    List<V> result = new ArrayList<>();
+    search(pattern, result::add);
+    return result;
+  }
+
+  /**
+   * Passes the values of the names matching the pattern to the visitor, in the order of their labels, until the
+   * visitor returns false.
+   *
+   * @throws IllegalArgumentException when the pattern is not valid
+   */
+  public void search(String pattern, Predicate<? super V> visitor) {
+    search(pattern, null, false, visitor);
+  }
+
+  /**
+   * Passes the values of the names matching the pattern that come after a given name to the visitor, until the visitor
+   * returns false. This continues a search where a previous one stopped.
+   *
+   * @param after only names after this one in the order of order(), or before it when descending, null for all names
+   * @param descending true to visit the names in reverse order
+   * @throws IllegalArgumentException when the pattern is not valid
+   */
+  public void search(String pattern, DomainName after, boolean descending, Predicate<? super V> visitor) {
+    String[] afterLabels = after == null ? null : reversedLabels(after);
+    String name = pattern.endsWith(".") ? pattern.substring(0, pattern.length() - 1) : pattern;
+    int asterisk = name.indexOf('*');
+    if (asterisk < 0) {
+      String[] labels = reversedLabels(parse(name));
+      V value = get(labels);
+      if (value != null && (afterLabels == null || Integer.signum(Arrays.compare(labels, afterLabels)) == (descending ? -1 : 1))) {
+        visitor.test(value);
+      }
+      return;
+    }
+    int dot = name.indexOf('.');
+    if (name.indexOf('*', asterisk + 1) >= 0 || asterisk != (dot < 0 ? name.length() : dot) - 1) {
+      throw new IllegalArgumentException("Only the last character of the first label can be an asterisk: " + pattern);
+    }
+    String prefix = name.substring(0, asterisk);
+    if (!Label.isAscii(prefix)) {
+      throw new IllegalArgumentException("A partial label can only hold ASCII characters: " + pattern);
+    }
+    prefix = prefix.toLowerCase(Locale.ROOT);
+    if (dot < 0) {
+      Node<V>[] tlds = root.children;
+      for (int i = 0; i < tlds.length; i++) {
+        Node<V> tld = tlds[descending ? tlds.length - 1 - i : i];
+        if (!visitMatches(tld, new String[]{tld.label}, prefix, afterLabels, descending, visitor)) {
+          return;
+        }
+      }
+      return;
+    }
+    String[] suffix = reversedLabels(parse(name.substring(dot + 1)));
+    Node<V> node = root;
+    for (String label : suffix) {
+      node = node.child(label);
+      if (node == null) {
+        return;
+      }
+    }
+    visitMatches(node, suffix, prefix, afterLabels, descending, visitor);
+  }
+
+  /**
+   * @param path the labels of node
+   * @return false when the visitor asked to stop
+   */
+  private static <V> boolean visitMatches(Node<V> node, String[] path, String prefix, String[] after, boolean descending,
+                                          Predicate<? super V> visitor) {
+    Node<V>[] children = node.children;
+    int from = node.lowerBound(prefix);
+    int to = prefix.isEmpty() ? children.length : node.lowerBound(prefix + Character.MAX_VALUE);
+    if (after != null) {
+      // the names of the children increase with their label, so the ones past the cursor are a range as well
+      String[] key = Arrays.copyOf(path, path.length + 1);
+      if (descending) {
+        to = firstChild(children, from, to, key, after, 0);
+      } else {
+        from = firstChild(children, from, to, key, after, 1);
+      }
+    }
+    for (int i = from; i < to; i++) {
+      V value = children[descending ? to - 1 - (i - from) : i].value;
+      if (value != null && !visitor.test(value)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param key the labels of the parent followed by a free slot for the label of the child
+   * @param minimum 1 for the first child after the cursor, 0 for the first one that is not before it
+   * @return the first index in [from, to) of a child whose name compared to after has at least minimum as sign, to if
+   * there is none
+   */
+  private static int firstChild(Node<?>[] children, int from, int to, String[] key, String[] after, int minimum) {
+    int low = from;
+    int high = to;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      key[key.length - 1] = children[middle].label;
+      if (Integer.signum(Arrays.compare(key, after)) < minimum) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @return the values of all names, in the order of order()
+   */
+  public List<V> values() {
+    List<V> result = new ArrayList<>(size);
+    collect(root, result);
+    return result;
+  }
+
+  private static <V> void collect(Node<V> node, List<V> result) {
+    if (node.value != null) {
+      result.add(node.value);
+    }
+    for (Node<V> child : node.children) {
+      collect(child, result);
+    }
+  }
+
+  /**
+   * @return the number of names in the trie
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the order in which searches visit names: on their labels from the TLD down, in lower case LDH form
+   */
+  public static Comparator<DomainName> order() {
+    return (name1, name2) -> Arrays.compare(reversedLabels(name1), reversedLabels(name2));
+  }
+
+  private static DomainName parse(String name) {
+    try {
+      return DomainName.of(name);
+    } catch (LabelException e) {
+      throw new IllegalArgumentException("Invalid domain name " + name, e);
+    }
+  }
+
+  /**
+   * @return the lower case LDH labels of the name, the TLD first, without the root label
+   */
+  static String[] reversedLabels(DomainName domainName) {
+    List<Label> labels;
+    try {
+      labels = domainName.toLDH().getLabels();
+    } catch (LabelException e) {
+      throw new IllegalArgumentException("Invalid domain name " + domainName.getStringValue(), e);
+    }
+    int levels = domainName.getLevelSize();
+    String[] result = new String[levels];
+    for (int i = 0; i < levels; i++) {
+      result[levels - 1 - i] = labels.get(i).getStringValue().toLowerCase(Locale.ROOT);
+    }
+    return result;
+  }
+
+  private static final class Entry<V> {
+
+    private static final Comparator<Entry<?>> ORDER = (e1, e2) -> Arrays.compare(e1.labels, e2.labels);
+
+    private final String[] labels;
+
+    private final V value;
+
+    private Entry(String[] labels, V value) {
+      this.labels = labels;
+      this.value = value;
+    }
+  }
+
+  private static final class Node<V> {
+
+    private final String label;
+
+    private final V value;
+
+    private final Node<V>[] children;
+
+    private Node(String label, V value, Node<V>[] children) {
+      this.label = label;
+      this.value = value;
+      this.children = children;
+    }
+
+    /**
+     * @return the index of the first child whose label is not smaller than the given one
+     */
+    private int lowerBound(String label) {
+      int low = 0;
+      int high = children.length;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (children[middle].label.compareTo(label) < 0) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+    private Node<V> child(String label) {
+      int index = lowerBound(label);
+      return index < children.length && children[index].label.equals(label) ? children[index] : null;
+    }
+  }
+}
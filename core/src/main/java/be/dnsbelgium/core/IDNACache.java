@@ -0,0 +1,112 @@
+package be.dnsbelgium.core;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableSet;
+import com.ibm.icu.text.IDNA;
+
+import java.util.Set;
+
+/**
+ * Remembers the results of the IDNA label conversions, so hot IDN labels do not go through ICU on every request.
+ *
+ * Both the converted label and the errors of a failed conversion are kept. Each direction has its own cache, bounded to
+ * the given number of labels (0 keeps nothing).
+ */
+public final class IDNACache {
+
+  private final IDNA idna;
+
+  private final long maximumSize;
+
+  private final Cache<String, Conversion> toUnicode;
+
+  private final Cache<String, Conversion> toASCII;
+
+  IDNACache(IDNA idna, long maximumSize) {
+    this.idna = idna;
+    this.maximumSize = maximumSize;
+    this.toUnicode = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    this.toASCII = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+  }
+
+  /**
+   * @return the label converted with IDNA.labelToUnicode
+   * @throws LabelException.IDNParseException when the conversion has errors
+   */
+  String toUnicode(String label) {
+    Conversion conversion = toUnicode.getIfPresent(label);
+    if (conversion == null) {
+      IDNA.Info info = new IDNA.Info();
+      StringBuilder result = new StringBuilder();
+      idna.labelToUnicode(label, result, info);
+      conversion = new Conversion(result.toString(), info.getErrors());
+      toUnicode.put(label, conversion);
+    }
+    return conversion.getValue();
+  }
+
+  /**
+   * @return the label converted with IDNA.labelToASCII
+   * @throws LabelException.IDNParseException when the conversion has errors
+   */
+  String toASCII(String label) {
+    Conversion conversion = toASCII.getIfPresent(label);
+    if (conversion == null) {
+      IDNA.Info info = new IDNA.Info();
+      StringBuilder result = new StringBuilder();
+      idna.labelToASCII(label, result, info);
+      conversion = new Conversion(result.toString(), info.getErrors());
+      toASCII.put(label, conversion);
+    }
+    return conversion.getValue();
+  }
+
+  /**
+   * @return the hit and miss counts of both directions together
+   */
+  public CacheStats stats() {
+    return toUnicode.stats().plus(toASCII.stats());
+  }
+
+  public CacheStats toUnicodeStats() {
+    return toUnicode.stats();
+  }
+
+  public CacheStats toASCIIStats() {
+    return toASCII.stats();
+  }
+
+  public long size() {
+    return toUnicode.size() + toASCII.size();
+  }
+
+  public long getMaximumSize() {
+    return maximumSize;
+  }
+
+  public void invalidateAll() {
+    toUnicode.invalidateAll();
+    toASCII.invalidateAll();
+  }
+
+  private static final class Conversion {
+
+    private final String value;
+
+    private final Set<IDNA.Error> errors;
+
+    private Conversion(String value, Set<IDNA.Error> errors) {
+      this.value = value;
+      this.errors = errors.isEmpty() ? null : ImmutableSet.copyOf(errors);
+    }
+
+    private String getValue() {
+      if (errors != null) {
+        throw new LabelException.IDNParseException(errors);
+      }
+      return value;
+    }
+  }
+}
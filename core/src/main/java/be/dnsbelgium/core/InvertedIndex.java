@@ -0,0 +1,191 @@
+package be.dnsbelgium.core;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Maps keys to sorted lists of int ids, for instance nameserver names to the ids of the domains delegated to them.
+ *
+ * Every posting list is a sorted int array without duplicates. Lists only grow at the end when ids are added in
+ * increasing order, which is what a bulk load does, so filling the index costs amortized constant time per id. Adding
+ * or removing an id in the middle of a list copies the list.
+ *
+ * The index can be updated while it is read: updates of a key are serialized, and a reader sees a list either before
+ * or after an update, never halfway.
+ */
+public final class InvertedIndex<K> {
+
+  private static final int[] NO_IDS = new int[0];
+
+  private final ConcurrentHashMap<K, Postings> postings = new ConcurrentHashMap<>();
+
+  /**
+   * Adds id to the list of key, nothing happens when it is already there.
+   */
+  public void add(K key, int id) {
+    postings.compute(key, (k, current) -> current == null ? new Postings(new int[]{id, 0, 0, 0}, 1) : current.add(id));
+  }
+
+  /**
+   * Removes id from the list of key, a key without ids is removed.
+   */
+  public void remove(K key, int id) {
+    postings.computeIfPresent(key, (k, current) -> current.remove(id));
+  }
+
+  /**
+   * @return the ids of key in ascending order, an empty array if there are none
+   */
+  public int[] get(K key) {
+    Postings current = postings.get(key);
+    return current == null ? NO_IDS : Arrays.copyOf(current.ids, current.size);
+  }
+
+  /**
+   * Passes the ids of key in ascending order to the visitor, until the visitor returns false.
+   */
+  public void forEach(K key, IntPredicate visitor) {
+    Postings current = postings.get(key);
+    if (current == null) {
+      return;
+    }
+    for (int i = 0; i < current.size; i++) {
+      if (!visitor.test(current.ids[i])) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * @return the number of ids of key
+   */
+  public int count(K key) {
+    Postings current = postings.get(key);
+    return current == null ? 0 : current.size;
+  }
+
+  /**
+   * @return the ids of all given keys in ascending order, without duplicates
+   */
+  public int[] union(Collection<? extends K> keys) {
+    int[][] lists = new int[keys.size()][];
+    int total = 0;
+    int i = 0;
+    for (K key : keys) {
+      lists[i] = get(key);
+      total += lists[i].length;
+      i++;
+    }
+    if (lists.length == 1) {
+      return lists[0];
+    }
+    int[] result = new int[total];
+    int length = 0;
+    for (int[] list : lists) {
+      System.arraycopy(list, 0, result, length, list.length);
+      length += list.length;
+    }
+    Arrays.sort(result);
+    int distinct = 0;
+    for (int j = 0; j < length; j++) {
+      if (distinct == 0 || result[j] != result[distinct - 1]) {
+        result[distinct++] = result[j];
+      }
+    }
+    return distinct == result.length ? result : Arrays.copyOf(result, distinct);
+  }
+
+  /**
+   * @return the ids that all given keys have in common, in ascending order
+   */
+  public int[] intersection(Collection<? extends K> keys) {
+    if (keys.isEmpty()) {
+      return NO_IDS;
+    }
+    Postings[] lists = new Postings[keys.size()];
+    int i = 0;
+    for (K key : keys) {
+      lists[i] = postings.get(key);
+      if (lists[i] == null) {
+        return NO_IDS;
+      }
+      i++;
+    }
+    // the shortest list first: every id of it is looked up in the others
+    Arrays.sort(lists, (p1, p2) -> Integer.compare(p1.size, p2.size));
+    int[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+    int length = result.length;
+    for (int j = 1; j < lists.length && length > 0; j++) {
+      int kept = 0;
+      int from = 0;
+      for (int k = 0; k < length; k++) {
+        int index = Arrays.binarySearch(lists[j].ids, from, lists[j].size, result[k]);
+        if (index >= 0) {
+          result[kept++] = result[k];
+          from = index + 1;
+        } else {
+          from = -index - 1;
+        }
+      }
+      length = kept;
+    }
+    return length == result.length ? result : Arrays.copyOf(result, length);
+  }
+
+  /**
+   * @return the number of keys
+   */
+  public int size() {
+    return postings.size();
+  }
+
+  /**
+   * A posting list: the first size ids of the array. Only the slots after size are ever written in place, so a reader
+   * holding an instance always sees the same ids.
+   */
+  private static final class Postings {
+
+    private final int[] ids;
+
+    private final int size;
+
+    private Postings(int[] ids, int size) {
+      this.ids = ids;
+      this.size = size;
+    }
+
+    private Postings add(int id) {
+      if (size > 0 && ids[size - 1] < id) {
+        int[] target = size < ids.length ? ids : Arrays.copyOf(ids, size + (size >> 1) + 1);
+        target[size] = id;
+        return new Postings(target, size + 1);
+      }
+      int index = Arrays.binarySearch(ids, 0, size, id);
+      if (index >= 0) {
+        return this;
+      }
+      int insertion = -index - 1;
+      int[] copy = new int[size + 1 + (size >> 3)];
+      System.arraycopy(ids, 0, copy, 0, insertion);
+      copy[insertion] = id;
+      System.arraycopy(ids, insertion, copy, insertion + 1, size - insertion);
+      return new Postings(copy, size + 1);
+    }
+
+    private Postings remove(int id) {
+      int index = Arrays.binarySearch(ids, 0, size, id);
+      if (index < 0) {
+        return this;
+      }
+      if (size == 1) {
+        return null;
+      }
+      int[] copy = new int[size - 1];
+      System.arraycopy(ids, 0, copy, 0, index);
+      System.arraycopy(ids, index + 1, copy, index, size - 1 - index);
+      return new Postings(copy, size - 1);
+    }
+  }
+}
@@ -34,6 +34,8 @@ public abstract class Label {
 
   private static final IDNA IDNA;
 
+  private static final IDNACache IDNA_CACHE;
+
   static {
     int options;
     Properties properties = new Properties();
@@ -44,11 +46,16 @@ public abstract class Label {
       LOGGER.debug("IOException. Defaulting to zero", e);
       options = 0;
     }
+    long cacheSize = Long.parseLong(properties.getProperty("idna.cache.maximumSize", "10000"));
     IDNA_OPTIONS = options;
     IDNA = com.ibm.icu.text.IDNA.getUTS46Instance(IDNA_OPTIONS);
+    IDNA_CACHE = new IDNACache(IDNA, cacheSize);
   }
 
-  private static final String HYPHEN = "-";
+  /**
+   * Maximum length of a label in octets, see RFC 1035 section 2.3.4.
+   */
+  public static final int MAX_LENGTH = 63;
 
   private final String value;
 
@@ -60,11 +67,9 @@ public abstract class Label {
 
     public static final UnicodeSet ASCII_SET = new UnicodeSet().set(32, 127);
 
+    // the value is classified by Label.of
     private ASCIILabel(String value) {
       super(value);
-      if (!ASCII_SET.containsAll(value)) {
-        throw new IllegalArgumentException();
-      }
     }
 
     public static abstract class LDHLabel extends ASCIILabel {
@@ -75,27 +80,24 @@ public abstract class Label {
 
         private ReservedLDHLabel(String value) {
           super(value);
-          if (!LDH_SET.containsAll(value)) {
-            throw new IllegalArgumentException();
-          }
         }
 
         public static class ALabel extends ReservedLDHLabel {
 
+          private volatile Label unicode;
+
           private ALabel(String value) {
             super(value);
           }
 
           @Override
           public Label toUnicode() {
-            IDNA.Info info = new IDNA.Info();
-            StringBuilder result = new StringBuilder();
-            IDNA.labelToUnicode(this.getStringValue(), result, info);
-            if (info.hasErrors()) {
-              throw new LabelException.IDNParseException(info.getErrors());
+            Label result = unicode;
+            if (result == null) {
+              result = Label.of(IDNA_CACHE.toUnicode(getStringValue()));
+              unicode = result;
             }
-            return Label.of(result.toString());
-
+            return result;
           }
         }
 
@@ -148,18 +150,19 @@ public abstract class Label {
 
     public static class ULabel extends NonASCIILabel {
 
+      private volatile Label ldh;
+
       private ULabel(String value) {
         super(value);
       }
 
       public Label toLDH() {
-        IDNA.Info info = new IDNA.Info();
-        StringBuilder result = new StringBuilder();
-        IDNA.labelToASCII(getStringValue(), result, info);
-        if (info.hasErrors()) {
-          throw new LabelException.IDNParseException(info.getErrors());
+        Label result = ldh;
+        if (result == null) {
+          result = Label.of(IDNA_CACHE.toASCII(getStringValue()));
+          ldh = result;
         }
-        return Label.of(result.toString());
+        return result;
       }
     }
 
@@ -184,21 +187,25 @@ public abstract class Label {
     if (StringUtils.isEmpty(label)) {
       return RootLabel.getInstance();
     }
-    if (!ASCIILabel.ASCII_SET.containsAll(label)) {
-      IDNA.Info info = new IDNA.Info();
-      StringBuilder result = new StringBuilder();
-      IDNA.labelToUnicode(label, result, info);
-      if (info.hasErrors()) {
-        throw new LabelException.IDNParseException(info.getErrors());
+    // classify the label in a single pass, only non-ASCII and xn-- labels need ICU
+    int length = label.length();
+    boolean ldh = true;
+    for (int i = 0; i < length; i++) {
+      char c = label.charAt(i);
+      if (!isAscii(c)) {
+        return ofNonASCII(label);
       }
-      return new NonASCIILabel.ULabel(result.toString());
+      ldh = ldh && isLDH(c);
+    }
+    if (length > MAX_LENGTH) {
+      throw new IllegalArgumentException("Label " + label + " is longer than " + MAX_LENGTH + " octets");
     }
     // label contains ascii characters
-    if (!ASCIILabel.LDHLabel.LDH_SET.containsAll(label) || label.startsWith(HYPHEN) || label.endsWith(HYPHEN)) {
+    if (!ldh || label.charAt(0) == '-' || label.charAt(length - 1) == '-') {
       return new ASCIILabel.NONLDHLabel(label);
     }
     // label contains LDH characters and doesn't start or end with with hyphen
-    if (!label.matches("^..--.*")) {
+    if (length < 4 || label.charAt(2) != '-' || label.charAt(3) != '-') {
       return new ASCIILabel.LDHLabel.NonReservedLDHLabel(label);
     }
     // label is reserved
@@ -215,6 +222,43 @@ public abstract class Label {
     return new ASCIILabel.LDHLabel.ReservedLDHLabel(label);
   }
 
+  private static Label ofNonASCII(String label) {
+    String unicode = IDNA_CACHE.toUnicode(label);
+    // the limit applies to the A-label, the form that goes on the wire: IDNA reports LABEL_TOO_LONG when converting
+    IDNA_CACHE.toASCII(unicode);
+    return new NonASCIILabel.ULabel(unicode);
+  }
+
+  /**
+   * @return the cache shared by all IDNA conversions of labels, e.g. to monitor its hit rate
+   */
+  public static IDNACache getIDNACache() {
+    return IDNA_CACHE;
+  }
+
+  /**
+   * Same as ASCIILabel.ASCII_SET: the printable ASCII characters and DEL (32 - 127).
+   */
+  static boolean isAscii(char c) {
+    return c >= 32 && c <= 127;
+  }
+
+  static boolean isAscii(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      if (!isAscii(value.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Same as LDHLabel.LDH_SET: letters, digits and hyphen.
+   */
+  static boolean isLDH(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-';
+  }
+
   public String getStringValue() {
     return value;
   }
@@ -0,0 +1,82 @@
+package be.dnsbelgium.core;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.util.Arrays;
+
+/**
+ * Hands out shared Label instances for labels that occur over and over again ("be", "ns1", "dns", ...), so large sets
+ * of names held in memory do not keep a separate Label and String for each occurrence.
+ *
+ * Labels are immutable, a pooled label can be used anywhere a label from Label.of can. The pool is safe for concurrent
+ * use and bounded to the given number of labels, the least used ones are dropped first (0 keeps nothing).
+ */
+public final class LabelPool {
+
+  private final long maximumSize;
+
+  private final Cache<String, Label> labels;
+
+  public LabelPool(long maximumSize) {
+    this.maximumSize = maximumSize;
+    this.labels = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+  }
+
+  /**
+   * @return the pooled label for the given value, Label.of(value) when the value is not pooled yet
+   */
+  public Label intern(String value) {
+    Label label = labels.getIfPresent(value);
+    if (label == null) {
+      label = Label.of(value);
+      if (label instanceof Label.RootLabel) {
+        return label;
+      }
+      Label previous = labels.asMap().putIfAbsent(value, label);
+      if (previous != null) {
+        label = previous;
+      }
+    }
+    return label;
+  }
+
+  /**
+   * @return the pooled label with the same value, the given label itself when there is none yet
+   */
+  public Label intern(Label label) {
+    if (label instanceof Label.RootLabel) {
+      return label;
+    }
+    Label previous = labels.asMap().putIfAbsent(label.getStringValue(), label);
+    return previous == null ? label : previous;
+  }
+
+  /**
+   * @return the same name, made of pooled labels
+   */
+  public DomainName intern(DomainName domainName) {
+    Label[] result = new Label[domainName.getLabels().size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = intern(domainName.getLabels().get(i));
+    }
+    return new DomainName(Arrays.asList(result));
+  }
+
+  public CacheStats stats() {
+    return labels.stats();
+  }
+
+  public long size() {
+    return labels.size();
+  }
+
+  public long getMaximumSize() {
+    return maximumSize;
+  }
+
+  public void invalidateAll() {
+    labels.invalidateAll();
+  }
+}
@@ -0,0 +1,242 @@
+package be.dnsbelgium.core;
+
+import com.ibm.icu.text.Normalizer2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An immutable index of values on a text, such as entities on their fn, for the partial match searches of RFC 7482
+ * section 4.1.
+ *
+ * Texts are compared in their NFKC case folded form (see normalize), so "MULLER" and "muller" are the same, and so
+ * are the composed and decomposed forms of an accented letter. A pattern holds one or more asterisks, each matching
+ * any number of characters: "john*", "*doe", "*oh*do*".
+ *
+ * The folded texts are kept sorted, a sorted array being a flattened prefix trie: a pattern that starts with a literal
+ * only visits the texts that start with it. Every literal part of three or more characters is looked up in an
+ * InvertedIndex from trigrams to texts, the candidates are the texts holding all trigrams of the pattern, and only
+ * those are matched against it. A pattern with neither a leading literal nor a trigram, like "*ab*", scans the texts
+ * until the visitor stops it.
+ *
+ * Values are visited in the order of their folded text, values with the same text in the order they were added.
+ */
+public final class TextIndex<V> {
+
+  private static final Normalizer2 NFKC_CASEFOLD = Normalizer2.getNFKCCasefoldInstance();
+
+  private static final int GRAM = 3;
+
+  private final String[] texts;
+
+  private final Object[][] values;
+
+  private final InvertedIndex<String> trigrams = new InvertedIndex<>();
+
+  private final int size;
+
+  private TextIndex(Map<String, List<V>> byText, int size) {
+    this.texts = byText.keySet().toArray(new String[0]);
+    Arrays.sort(texts);
+    this.values = new Object[texts.length][];
+    for (int id = 0; id < texts.length; id++) {
+      values[id] = byText.get(texts[id]).toArray();
+      // ids are added in increasing order, so every posting list grows at its end
+      for (int i = 0; i + GRAM <= texts[id].length(); i++) {
+        trigrams.add(texts[id].substring(i, i + GRAM), id);
+      }
+    }
+    this.size = size;
+  }
+
+  /**
+   * @param text the text to index a value on, values without text are left out
+   * @return an index holding all values
+   */
+  public static <V> TextIndex<V> of(Collection<? extends V> values, Function<? super V, String> text) {
+    Map<String, List<V>> byText = new HashMap<>();
+    int size = 0;
+    for (V value : values) {
+      String key = text.apply(value);
+      if (key != null) {
+        byText.computeIfAbsent(normalize(key), k -> new ArrayList<>(1)).add(value);
+        size++;
+      }
+    }
+    return new TextIndex<>(byText, size);
+  }
+
+  /**
+   * @return the NFKC case folded form of text
+   */
+  public static String normalize(String text) {
+    return NFKC_CASEFOLD.normalize(text);
+  }
+
+  /**
+   * @return the values matching the pattern, at most limit
+   * @throws IllegalArgumentException when the pattern holds nothing but asterisks
+   */
+  public List<V> search(String pattern, int limit) {
+    if (limit <= 0) {
+      return Collections.emptyList();
+    }
+    List<V> result = new ArrayList<>();
+    search(pattern, value -> result.add(value) && result.size() < limit);
+    return result;
+  }
+
+  /**
+   * Passes the values matching the pattern to the visitor until it returns false.
+   *
+   * @throws IllegalArgumentException when the pattern holds nothing but asterisks
+   */
+  public void search(String pattern, Predicate<? super V> visitor) {
+    search(pattern, null, false, visitor);
+  }
+
+  /**
+   * Passes the values matching the pattern that come after a given position to the visitor, until it returns false.
+   * This continues a search where a previous one stopped.
+   *
+   * @param after a position returned by an earlier search, null to start at the first value
+   * @param descending true to visit the values in reverse order
+   * @return the position of the last value the visitor returned true for, null if there is none
+   * @throws IllegalArgumentException when the pattern holds nothing but asterisks or after is not a position
+   */
+  public String search(String pattern, String after, boolean descending, Predicate<? super V> visitor) {
+    String afterText = null;
+    int afterIndex = 0;
+    if (after != null) {
+      if (!isPosition(after)) {
+        throw new IllegalArgumentException("Not a position: " + after);
+      }
+      int colon = after.indexOf(':');
+      afterIndex = Integer.parseInt(after.substring(0, colon));
+      afterText = after.substring(colon + 1);
+    }
+    String normalized = normalize(pattern);
+    String[] parts = null;
+    int[] candidates = null;
+    int from;
+    int to;
+    if (normalized.indexOf('*') < 0) {
+      from = lowerBound(normalized);
+      to = from < texts.length && texts[from].equals(normalized) ? from + 1 : from;
+    } else {
+      parts = normalized.split("\\*", -1);
+      Set<String> grams = new LinkedHashSet<>();
+      boolean literal = false;
+      for (String part : parts) {
+        literal |= !part.isEmpty();
+        for (int i = 0; i + GRAM <= part.length(); i++) {
+          grams.add(part.substring(i, i + GRAM));
+        }
+      }
+      if (!literal) {
+        throw new IllegalArgumentException("A pattern needs at least one character besides the asterisks: " + pattern);
+      }
+      // the texts starting with the first part, all of them when the pattern starts with an asterisk
+      from = lowerBound(parts[0]);
+      to = parts[0].isEmpty() ? texts.length : lowerBound(parts[0] + Character.MAX_VALUE);
+      if (!grams.isEmpty()) {
+        candidates = trigrams.intersection(grams);
+      }
+    }
+    if (afterText != null) {
+      // the texts at or past the one of the position
+      if (descending) {
+        to = Math.min(to, upperBound(afterText));
+      } else {
+        from = Math.max(from, lowerBound(afterText));
+      }
+    }
+    int count = candidates == null ? Math.max(0, to - from) : candidates.length;
+    int lastId = -1;
+    int lastIndex = -1;
+    for (int i = 0; i < count; i++) {
+      int id = candidates == null ? (descending ? to - 1 - i : from + i) : candidates[descending ? count - 1 - i : i];
+      if (id < from || id >= to || (parts != null && !matches(texts[id], parts))) {
+        continue;
+      }
+      Object[] group = values[id];
+      boolean continued = texts[id].equals(afterText);
+      int first = descending ? (continued ? afterIndex - 1 : group.length - 1) : (continued ? afterIndex + 1 : 0);
+      for (int index = first; index >= 0 && index < group.length; index += descending ? -1 : 1) {
+        @SuppressWarnings("unchecked")
+        V value = (V) group[index];
+        if (!visitor.test(value)) {
+          return position(lastId, lastIndex);
+        }
+        lastId = id;
+        lastIndex = index;
+      }
+    }
+    return position(lastId, lastIndex);
+  }
+
+  private String position(int id, int index) {
+    return id < 0 ? null : index + ":" + texts[id];
+  }
+
+  /**
+   * @return true when the value has the form of a position returned by search, so it can be passed to search as after
+   */
+  public static boolean isPosition(String value) {
+    int colon = value.indexOf(':');
+    if (colon < 1 || colon > 9) {
+      return false;
+    }
+    for (int i = 0; i < colon; i++) {
+      if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the number of values in the index
+   */
+  public int size() {
+    return size;
+  }
+
+  private int lowerBound(String text) {
+    int index = Arrays.binarySearch(texts, text);
+    return index >= 0 ? index : -index - 1;
+  }
+
+  private int upperBound(String text) {
+    int index = Arrays.binarySearch(texts, text);
+    return index >= 0 ? index + 1 : -index - 1;
+  }
+
+  /**
+   * @param parts the pattern split on its asterisks
+   */
+  static boolean matches(String text, String[] parts) {
+    int last = parts.length - 1;
+    if (!text.startsWith(parts[0])) {
+      return false;
+    }
+    int from = parts[0].length();
+    for (int i = 1; i < last; i++) {
+      int at = text.indexOf(parts[i], from);
+      if (at < 0) {
+        return false;
+      }
+      from = at + parts[i].length();
+    }
+    return text.length() - from >= parts[last].length() && text.endsWith(parts[last]);
+  }
+}
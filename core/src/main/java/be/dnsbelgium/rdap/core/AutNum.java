@@ -16,7 +16,9 @@
 package be.dnsbelgium.rdap.core;
 
 import be.dnsbelgium.core.DomainName;
+import be.dnsbelgium.rdap.jackson.UnsignedIntSerializer;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.util.List;
 
@@ -83,10 +85,18 @@ public final class AutNum extends Common {
     return handle;
   }
 
+  /**
+   * @return the first AS number of the block, an unsigned 32 bit value
+   */
+  @JsonSerialize(using = UnsignedIntSerializer.class)
   public int getStartAutnum() {
     return startAutnum;
   }
 
+  /**
+   * @return the last AS number of the block, an unsigned 32 bit value
+   */
+  @JsonSerialize(using = UnsignedIntSerializer.class)
   public int getEndAutnum() {
     return endAutnum;
   }
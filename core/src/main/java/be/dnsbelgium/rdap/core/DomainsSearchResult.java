@@ -4,14 +4,12 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
-@JsonPropertyOrder({"rdapConformance"})
-public class DomainsSearchResult {
+@JsonPropertyOrder({"rdapConformance", "domainSearchResults"})
+public class DomainsSearchResult extends SearchResult {
 
-  public Set<String> rdapConformance;
   public List<Domain> domainSearchResults;
 
   @JsonCreator
@@ -19,10 +17,13 @@ public class DomainsSearchResult {
     this.domainSearchResults = domainSearchResults;
   }
 
-  public void addRdapConformance(String conformance) {
-    if (rdapConformance == null) {
-      rdapConformance = new LinkedHashSet<>();
-    }
-    rdapConformance.add(conformance);
+  @Override
+  public List<Domain> getResults() {
+    return domainSearchResults;
+  }
+
+  @Override
+  protected void keepFirst(int size) {
+    domainSearchResults = new ArrayList<>(domainSearchResults.subList(0, size));
   }
 }
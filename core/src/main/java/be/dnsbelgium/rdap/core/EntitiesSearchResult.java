@@ -4,14 +4,12 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
-@JsonPropertyOrder({"rdapConformance"})
-public class EntitiesSearchResult {
+@JsonPropertyOrder({"rdapConformance", "entitySearchResults"})
+public class EntitiesSearchResult extends SearchResult {
 
-  public Set<String> rdapConformance;
   public List<Entity> entitySearchResults;
 
   @JsonCreator
@@ -19,10 +17,13 @@ public class EntitiesSearchResult {
     this.entitySearchResults = entitySearchResults;
   }
 
-  public void addRdapConformance(String conformance) {
-    if (rdapConformance == null) {
-      rdapConformance = new LinkedHashSet<>();
-    }
-    rdapConformance.add(conformance);
+  @Override
+  public List<Entity> getResults() {
+    return entitySearchResults;
+  }
+
+  @Override
+  protected void keepFirst(int size) {
+    entitySearchResults = new ArrayList<>(entitySearchResults.subList(0, size));
   }
 }
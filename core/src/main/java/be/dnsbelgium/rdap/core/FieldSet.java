@@ -0,0 +1,39 @@
+package be.dnsbelgium.rdap.core;
+
+/**
+ * The field sets of RFC 8982: which members of a domain, nameserver or entity a response holds.
+ */
+public enum FieldSet {
+  ID("id", "Only the identifier of every object: the ldhName of a domain or nameserver, the handle of an entity"),
+  BRIEF("brief", "The identifiers, the status and the self link of every object"),
+  FULL("full", "All information about every object");
+
+  private final String name;
+
+  private final String description;
+
+  FieldSet(String name, String description) {
+    this.name = name;
+    this.description = description;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  /**
+   * @return the field set with the given name, null when there is none
+   */
+  public static FieldSet of(String name) {
+    for (FieldSet fieldSet : values()) {
+      if (fieldSet.name.equals(name)) {
+        return fieldSet;
+      }
+    }
+    return null;
+  }
+}
@@ -4,14 +4,12 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
-@JsonPropertyOrder({"rdapConformance"})
-public class NameserversSearchResult {
+@JsonPropertyOrder({"rdapConformance", "nameserverSearchResults"})
+public class NameserversSearchResult extends SearchResult {
 
-  public Set<String> rdapConformance;
   public List<Nameserver> nameserverSearchResults;
 
   @JsonCreator
@@ -19,10 +17,13 @@ public class NameserversSearchResult {
     this.nameserverSearchResults = nameserverSearchResults;
   }
 
-  public void addRdapConformance(String conformance) {
-    if (rdapConformance == null) {
-      rdapConformance = new LinkedHashSet<>();
-    }
-    rdapConformance.add(conformance);
+  @Override
+  public List<Nameserver> getResults() {
+    return nameserverSearchResults;
+  }
+
+  @Override
+  protected void keepFirst(int size) {
+    nameserverSearchResults = new ArrayList<>(nameserverSearchResults.subList(0, size));
   }
 }
@@ -20,12 +20,41 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableList;
 
 import java.util.List;
+import java.util.Locale;
 
 /**
  * A Notice or Remark
  */
 public final class Notice {
 
+  /**
+   * The notice and remark types of the RDAP JSON Values Registry (RFC 9083, section 10.2.1)
+   */
+  public interface Type {
+
+    enum Default implements Type {
+      RESULT_SET_TRUNCATED_DUE_TO_AUTHORIZATION,
+      RESULT_SET_TRUNCATED_DUE_TO_EXCESSIVE_LOAD,
+      RESULT_SET_TRUNCATED_DUE_TO_UNEXPLAINABLE_REASONS,
+      OBJECT_TRUNCATED_DUE_TO_AUTHORIZATION,
+      OBJECT_TRUNCATED_DUE_TO_EXCESSIVE_LOAD,
+      OBJECT_TRUNCATED_DUE_TO_UNEXPLAINABLE_REASONS;
+
+      private final String value;
+
+      Default() {
+        this.value = name().toLowerCase(Locale.ENGLISH).replace("_", " ");
+      }
+
+      @Override
+      public String getValue() {
+        return value;
+      }
+    }
+
+    String getValue();
+  }
+
   private final String title;
 
   private final String type;
@@ -0,0 +1,49 @@
+package be.dnsbelgium.rdap.core;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * The paging_metadata of RFC 8977: where a page is in the results, with a link to the next page.
+ */
+public final class PagingMetadata {
+
+  private final Long totalCount;
+
+  private final int pageSize;
+
+  private final int pageNumber;
+
+  private final List<Link> links;
+
+  @JsonCreator
+  public PagingMetadata(
+      @JsonProperty("totalCount") Long totalCount,
+      @JsonProperty("pageSize") int pageSize,
+      @JsonProperty("pageNumber") int pageNumber,
+      @JsonProperty("links") List<Link> links) {
+    this.totalCount = totalCount;
+    this.pageSize = pageSize;
+    this.pageNumber = pageNumber;
+    this.links = links == null ? null : new ImmutableList.Builder<Link>().addAll(links).build();
+  }
+
+  public Long getTotalCount() {
+    return totalCount;
+  }
+
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  public int getPageNumber() {
+    return pageNumber;
+  }
+
+  public List<Link> getLinks() {
+    return links;
+  }
+}
@@ -55,6 +55,13 @@ public class RDAPError extends Exception {
 
 	private static final long serialVersionUID = 3000647771812593816L;
 
+	// constant errors, shared since they have no stack trace and nothing specific to a request
+	private static final HelpNotFound HELP_NOT_FOUND = new HelpNotFound();
+
+	private static final NotImplemented NOT_IMPLEMENTED = new NotImplemented();
+
+	private static final MethodNotAllowed METHOD_NOT_ALLOWED = new MethodNotAllowed();
+
   private final Set<String> rdapConformance = new LinkedHashSet<>();
 
 	private final int errorCode;
@@ -68,13 +75,34 @@ public class RDAPError extends Exception {
 			@JsonProperty("description") List<String> description) {
 		this.errorCode = errorCode;
 		this.title = title;
-		this.description = description == null ? null : new ImmutableList.Builder<String>().addAll(description).build();
+		this.description = copyOf(description);
     addRdapConformance(DEFAULT_RDAP_CONFORMANCE);
 	}
 
 	public RDAPError(@JsonProperty("errorCode") int errorCode, @JsonProperty("title") String title,
 			@JsonProperty("description") String description) {
-		this(errorCode, title, description == null ? null : Arrays.asList(description));
+		this(errorCode, title, toList(description));
+	}
+
+	/**
+	 * With writableStackTrace false, creates an error without a stack trace or suppressed exceptions.
+	 * The subclasses below use it: they are expected outcomes of a query and filling in their stack trace through the
+	 * dispatcher would only cost time. An error created by this constructor cannot be given a cause.
+	 */
+	protected RDAPError(int errorCode, String title, List<String> description, boolean writableStackTrace) {
+		super(null, null, writableStackTrace, writableStackTrace);
+		this.errorCode = errorCode;
+		this.title = title;
+		this.description = copyOf(description);
+    addRdapConformance(DEFAULT_RDAP_CONFORMANCE);
+	}
+
+	private static List<String> copyOf(List<String> description) {
+		return description == null ? null : new ImmutableList.Builder<String>().addAll(description).build();
+	}
+
+	private static List<String> toList(String description) {
+		return description == null ? null : Arrays.asList(description);
 	}
 
 	public RDAPError(@JsonProperty("errorCode") int errorCode, @JsonProperty("title") String title) {
@@ -134,8 +162,11 @@ public class RDAPError extends Exception {
 		return new EntityNotFound(handle);
 	}
 
+	/**
+	 * @return a shared instance, its body never changes
+	 */
 	public static RDAPError helpNotFound() {
-		return new HelpNotFound();
+		return HELP_NOT_FOUND;
 	}
 
 	public static RDAPError ipNotFound(String ipAddress) {
@@ -146,16 +177,22 @@ public class RDAPError extends Exception {
 		return new NameserverNotFound(domainName);
 	}
 
+	/**
+	 * @return a shared instance, its body never changes
+	 */
 	public static RDAPError notImplemented() {
-		return new NotImplemented();
+		return NOT_IMPLEMENTED;
 	}
 
 	public static RDAPError noResults(String query) {
 		return new NoResults(query);
 	}
 
+	/**
+	 * @return a shared instance, its body never changes
+	 */
 	public static RDAPError methodNotAllowed() {
-		return new MethodNotAllowed();
+		return METHOD_NOT_ALLOWED;
 	}
 
 	public static class NoResults extends RDAPError {
@@ -163,7 +200,7 @@ public class RDAPError extends Exception {
 		private static final long serialVersionUID = -3752099182358813007L;
 
 		private NoResults(String query) {
-			super(HttpStatus.NOT_FOUND, String.format("No results for query %s", query));
+			super(HttpStatus.NOT_FOUND, String.format("No results for query %s", query), null, false);
 		}
 	}
 
@@ -172,11 +209,11 @@ public class RDAPError extends Exception {
 		private static final long serialVersionUID = -7970785038966067523L;
 
 		private BadRequest(String title, String description) {
-			super(HttpStatus.BAD_REQUEST, title, description);
+			super(HttpStatus.BAD_REQUEST, title, toList(description), false);
 		}
 
 		private BadRequest(String title, List<String> description) {
-			super(HttpStatus.BAD_REQUEST, title, description);
+			super(HttpStatus.BAD_REQUEST, title, description, false);
 		}
 	}
 
@@ -185,7 +222,7 @@ public class RDAPError extends Exception {
 		private static final long serialVersionUID = -2365389916154054286L;
 
 		private HelpNotFound() {
-			super(HttpStatus.NOT_FOUND, "Help not found");
+			super(HttpStatus.NOT_FOUND, "Help not found", null, false);
 		}
 	}
 
@@ -194,7 +231,7 @@ public class RDAPError extends Exception {
 		private static final long serialVersionUID = 1908478239735418778L;
 
 		private NotImplemented() {
-			super(HttpStatus.NOT_IMPLEMENTED, "Not implemented");
+			super(HttpStatus.NOT_IMPLEMENTED, "Not implemented", null, false);
 		}
 	}
 
@@ -204,7 +241,7 @@ public class RDAPError extends Exception {
 		private final int autNum;
 
 		private AutNumNotFound(int autNum) {
-			super(HttpStatus.NOT_FOUND, String.format("AutNum %s not found", autNum));
+			super(HttpStatus.NOT_FOUND, String.format("AutNum %s not found", Integer.toUnsignedString(autNum)), null, false);
 			this.autNum = autNum;
 		}
 
@@ -219,7 +256,7 @@ public class RDAPError extends Exception {
 		private final String ipAddress;
 
 		private IPNotFound(String ipAddress) {
-			super(HttpStatus.NOT_FOUND, String.format("IP %s not found", ipAddress));
+			super(HttpStatus.NOT_FOUND, String.format("IP %s not found", ipAddress), null, false);
 			this.ipAddress = ipAddress;
 		}
 
@@ -234,7 +271,7 @@ public class RDAPError extends Exception {
 		private final String handle;
 
 		private EntityNotFound(String handle) {
-			super(HttpStatus.NOT_FOUND, String.format("Entity %s not found", handle));
+			super(HttpStatus.NOT_FOUND, String.format("Entity %s not found", handle), null, false);
 			this.handle = handle;
 		}
 
@@ -248,12 +285,25 @@ public class RDAPError extends Exception {
 		private static final long serialVersionUID = -3617347189246764940L;
 		private final DomainName nameserverName;
 
+		private String title;
+
 		private NameserverNotFound(DomainName nameserverName) {
-			super(HttpStatus.NOT_FOUND,
-					String.format("Nameserver %s not found", nameserverName.toLDH().getStringValue()));
+			super(HttpStatus.NOT_FOUND, null, null, false);
 			this.nameserverName = nameserverName;
 		}
 
+		/**
+		 * Built on first use: the error may be cached and rethrown, or never be serialized at all.
+		 */
+		@Override
+		@JsonProperty
+		public String getTitle() {
+			if (title == null) {
+				title = "Nameserver " + nameserverName.toLDH().getStringValue() + " not found";
+			}
+			return title;
+		}
+
 		public DomainName getNameserverName() {
 			return nameserverName;
 		}
@@ -265,11 +315,25 @@ public class RDAPError extends Exception {
 		private static final long serialVersionUID = -1355753652647945804L;
 		private final DomainName domainName;
 
+		private String title;
+
 		private DomainNotFound(DomainName domainName) {
-			super(HttpStatus.NOT_FOUND, String.format("Domain %s not found", domainName.toLDH().getStringValue()));
+			super(HttpStatus.NOT_FOUND, null, null, false);
 			this.domainName = domainName;
 		}
 
+		/**
+		 * Built on first use: the error may be cached and rethrown, or never be serialized at all.
+		 */
+		@Override
+		@JsonProperty
+		public String getTitle() {
+			if (title == null) {
+				title = "Domain " + domainName.toLDH().getStringValue() + " not found";
+			}
+			return title;
+		}
+
 		public DomainName getDomainName() {
 			return domainName;
 		}
@@ -281,7 +345,7 @@ public class RDAPError extends Exception {
 		private String domainName;
 
 		private NotAuthoritative(String domainName) {
-			super(HttpStatus.MOVED_PERMANENTLY, String.format("Not authoritative for %s", domainName));
+			super(HttpStatus.MOVED_PERMANENTLY, String.format("Not authoritative for %s", domainName), null, false);
 			this.domainName = domainName;
 		}
 
@@ -295,7 +359,7 @@ public class RDAPError extends Exception {
 		private static final long serialVersionUID = 1428932048414525660L;
 
 		private MethodNotAllowed() {
-			super(HttpStatus.METHOD_NOT_ALLOWED, "Method not allowed");
+			super(HttpStatus.METHOD_NOT_ALLOWED, "Method not allowed", null, false);
 		}
 
 	}
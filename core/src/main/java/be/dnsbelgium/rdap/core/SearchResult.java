@@ -0,0 +1,163 @@
+package be.dnsbelgium.rdap.core;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What the domain, nameserver and entity search results have in common: the rdapConformance, the paging and sorting
+ * metadata of RFC 8977 and the subsetting metadata of RFC 8982.
+ *
+ * A service that returns one page of the results sets the nextCursor, from which it can continue, and the totalCount
+ * when it was asked for. Neither is serialized, the controller turns them into paging_metadata.
+ *
+ * A result that does not hold all results, because of a limit on their number or on the time the search may take, is
+ * marked as truncated: it gets the "result set truncated due to excessive load" notice of RFC 9083.
+ */
+public abstract class SearchResult {
+
+  public static final Notice TRUNCATED_NOTICE = new Notice("Result set truncated",
+      Notice.Type.Default.RESULT_SET_TRUNCATED_DUE_TO_EXCESSIVE_LOAD.getValue(),
+      Collections.singletonList("The search was stopped before all results were found, refine it to get fewer results."),
+      null);
+
+  /**
+   * The number of results between two looks at the clock for the deadline of a search, by the services and by a
+   * StreamingSearchResult as it is written
+   */
+  public static final int DEADLINE_CHECK_INTERVAL = 64;
+
+  public Set<String> rdapConformance;
+
+  public List<Notice> notices;
+
+  @JsonProperty("paging_metadata")
+  public PagingMetadata pagingMetadata;
+
+  @JsonProperty("sorting_metadata")
+  public SortingMetadata sortingMetadata;
+
+  @JsonProperty("subsetting_metadata")
+  public SubsettingMetadata subsettingMetadata;
+
+  @JsonIgnore
+  private String nextCursor;
+
+  @JsonIgnore
+  private Long totalCount;
+
+  @JsonIgnore
+  private boolean truncated;
+
+  public void addRdapConformance(String conformance) {
+    if (rdapConformance == null) {
+      rdapConformance = new LinkedHashSet<>();
+    }
+    rdapConformance.add(conformance);
+  }
+
+  public void addNotice(Notice notice) {
+    if (notices == null) {
+      notices = new ArrayList<>();
+    }
+    notices.add(notice);
+  }
+
+  /**
+   * @return the results
+   */
+  @JsonIgnore
+  public abstract List<?> getResults();
+
+  /**
+   * Keeps the first maxResults results, the result is marked as truncated when there were more.
+   */
+  public void limit(int maxResults) {
+    List<?> results = getResults();
+    if (results != null && results.size() > maxResults) {
+      keepFirst(maxResults);
+      markTruncated();
+    }
+  }
+
+  /**
+   * Drops all results but the first size.
+   */
+  protected abstract void keepFirst(int size);
+
+  /**
+   * Adds the TRUNCATED_NOTICE, unless it was added before.
+   */
+  public void markTruncated() {
+    if (!truncated) {
+      truncated = true;
+      addNotice(TRUNCATED_NOTICE);
+    }
+  }
+
+  /**
+   * @return the totalCount of the result, or the number of results it holds when it holds all of them, 0 for null.
+   * null when the count is unknown: the search was truncated, or there are more pages and no totalCount.
+   */
+  public static Long count(SearchResult result) {
+    if (result == null) {
+      return 0L;
+    }
+    if (result.totalCount != null) {
+      return result.totalCount;
+    }
+    if (result.truncated || result.nextCursor != null) {
+      return null;
+    }
+    List<?> results = result.getResults();
+    return results == null ? 0L : (long) results.size();
+  }
+
+  /**
+   * Copies the rdapConformance, notices and metadata of another result, for the same results in another form.
+   */
+  protected void copyMetadata(SearchResult other) {
+    rdapConformance = other.rdapConformance == null ? null : new LinkedHashSet<>(other.rdapConformance);
+    notices = other.notices == null ? null : new ArrayList<>(other.notices);
+    pagingMetadata = other.pagingMetadata;
+    sortingMetadata = other.sortingMetadata;
+    subsettingMetadata = other.subsettingMetadata;
+    nextCursor = other.nextCursor;
+    totalCount = other.totalCount;
+    truncated = other.truncated;
+  }
+
+  /**
+   * @return true when not all results are returned
+   */
+  public boolean isTruncated() {
+    return truncated;
+  }
+
+  /**
+   * @return an opaque value from which the service can continue with the next page, null when this is the last one
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * @return the number of results of all pages together, null when unknown
+   */
+  public Long getTotalCount() {
+    return totalCount;
+  }
+
+  public void setTotalCount(Long totalCount) {
+    this.totalCount = totalCount;
+  }
+}
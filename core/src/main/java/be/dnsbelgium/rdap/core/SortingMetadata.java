@@ -0,0 +1,73 @@
+package be.dnsbelgium.rdap.core;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * The sorting_metadata of RFC 8977: the sort applied to the results and the sorts the server supports.
+ */
+public final class SortingMetadata {
+
+  public static final class Sort {
+
+    private final String property;
+
+    private final String jsonPath;
+
+    private final boolean isDefault;
+
+    private final List<Link> links;
+
+    @JsonCreator
+    public Sort(
+        @JsonProperty("property") String property,
+        @JsonProperty("jsonPath") String jsonPath,
+        @JsonProperty("default") boolean isDefault,
+        @JsonProperty("links") List<Link> links) {
+      this.property = property;
+      this.jsonPath = jsonPath;
+      this.isDefault = isDefault;
+      this.links = links == null ? null : new ImmutableList.Builder<Link>().addAll(links).build();
+    }
+
+    public String getProperty() {
+      return property;
+    }
+
+    public String getJsonPath() {
+      return jsonPath;
+    }
+
+    @JsonProperty("default")
+    public boolean isDefault() {
+      return isDefault;
+    }
+
+    public List<Link> getLinks() {
+      return links;
+    }
+  }
+
+  private final String currentSort;
+
+  private final List<Sort> availableSorts;
+
+  @JsonCreator
+  public SortingMetadata(
+      @JsonProperty("currentSort") String currentSort,
+      @JsonProperty("availableSorts") List<Sort> availableSorts) {
+    this.currentSort = currentSort;
+    this.availableSorts = availableSorts == null ? null : new ImmutableList.Builder<Sort>().addAll(availableSorts).build();
+  }
+
+  public String getCurrentSort() {
+    return currentSort;
+  }
+
+  public List<Sort> getAvailableSorts() {
+    return availableSorts;
+  }
+}
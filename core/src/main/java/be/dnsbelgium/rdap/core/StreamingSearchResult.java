@@ -0,0 +1,151 @@
+package be.dnsbelgium.rdap.core;
+
+import be.dnsbelgium.rdap.jackson.FieldSetSerializer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A search result whose results come from a Stream instead of a List.
+ *
+ * The results are serialized one by one as the stream produces them, between the rdapConformance and the metadata,
+ * so writing a large result takes no more memory than writing a single domain, nameserver or entity. The stream is
+ * closed once it has been written, a result can be written only once.
+ *
+ * The number of results and the time to write them can be limited. When a limit is reached the remaining results are
+ * not read from the stream, and the notices written after the results hold the TRUNCATED_NOTICE.
+ *
+ * With the id or brief field set of RFC 8982 every result is written by the FieldSetSerializer, which only reads the
+ * members of that field set.
+ */
+@JsonSerialize(using = StreamingSearchResult.Serializer.class)
+public final class StreamingSearchResult extends SearchResult implements AutoCloseable {
+
+  public static class Serializer extends JsonSerializer<StreamingSearchResult> {
+
+    @Override
+    public void serialize(StreamingSearchResult value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+      try {
+        jgen.writeStartObject();
+        if (value.rdapConformance != null) {
+          provider.defaultSerializeField("rdapConformance", value.rdapConformance, jgen);
+        }
+        jgen.writeArrayFieldStart(value.resultsName);
+        long count = 0;
+        while (value.results.hasNext()) {
+          // like the services, look at the clock every DEADLINE_CHECK_INTERVAL results and write at least one
+          if (count == value.maxResults || (count > 0 && count % DEADLINE_CHECK_INTERVAL == 0 && value.isExpired())) {
+            value.markTruncated();
+            break;
+          }
+          FieldSetSerializer.write(value.results.next(), value.fieldSet, jgen, provider);
+          count++;
+        }
+        jgen.writeEndArray();
+        // only known now that the results are written
+        if (value.notices != null) {
+          provider.defaultSerializeField("notices", value.notices, jgen);
+        }
+        if (value.pagingMetadata != null) {
+          provider.defaultSerializeField("paging_metadata", value.pagingMetadata, jgen);
+        }
+        if (value.sortingMetadata != null) {
+          provider.defaultSerializeField("sorting_metadata", value.sortingMetadata, jgen);
+        }
+        if (value.subsettingMetadata != null) {
+          provider.defaultSerializeField("subsetting_metadata", value.subsettingMetadata, jgen);
+        }
+        jgen.writeEndObject();
+      } finally {
+        value.close();
+      }
+    }
+  }
+
+  private final String resultsName;
+
+  private final Stream<?> stream;
+
+  private final Iterator<?> results;
+
+  private long maxResults = Long.MAX_VALUE;
+
+  private Instant deadline;
+
+  private FieldSet fieldSet = FieldSet.FULL;
+
+  /**
+   * @param resultsName the member holding the results, such as domainSearchResults
+   */
+  public StreamingSearchResult(String resultsName, Stream<?> results) {
+    this.resultsName = resultsName;
+    this.stream = results;
+    this.results = results.iterator();
+  }
+
+  /**
+   * @return a result that writes the results of a list based result, with the same rdapConformance, notices and metadata
+   */
+  public static StreamingSearchResult of(String resultsName, SearchResult result) {
+    List<?> results = result.getResults();
+    StreamingSearchResult streaming = new StreamingSearchResult(resultsName, results == null ? Stream.empty() : results.stream());
+    streaming.copyMetadata(result);
+    return streaming;
+  }
+
+  /**
+   * @param fieldSet the field set every result is written in
+   */
+  public void setFieldSet(FieldSet fieldSet) {
+    this.fieldSet = fieldSet;
+  }
+
+  public FieldSet getFieldSet() {
+    return fieldSet;
+  }
+
+  /**
+   * @param maxResults the maximum number of results to write
+   * @param deadline the time after which no more results are written, null for no limit
+   */
+  public void setLimits(long maxResults, Instant deadline) {
+    this.maxResults = maxResults;
+    this.deadline = deadline;
+  }
+
+  private boolean isExpired() {
+    return deadline != null && !Instant.now().isBefore(deadline);
+  }
+
+  /**
+   * @return true when the stream has no results, this may have to wait for the first one
+   */
+  public boolean isEmpty() {
+    return !results.hasNext();
+  }
+
+  /**
+   * @return null, the results are only available while they are written
+   */
+  @Override
+  public List<?> getResults() {
+    return null;
+  }
+
+  @Override
+  protected void keepFirst(int size) {
+    setLimits(Math.min(maxResults, size), deadline);
+  }
+
+  @Override
+  public void close() {
+    stream.close();
+  }
+}
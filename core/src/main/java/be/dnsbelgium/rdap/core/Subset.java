@@ -0,0 +1,112 @@
+package be.dnsbelgium.rdap.core;
+
+import be.dnsbelgium.rdap.jackson.FieldSetSerializer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A domain, nameserver or entity lookup answered with a field set of RFC 8982.
+ *
+ * The id and brief field sets are written by the FieldSetSerializer, with the rdapConformance and notices of the
+ * object around it. The full field set is the object as Jackson writes it, with the subsetting rdapConformance and
+ * subsetting_metadata added. The object is never modified, so the object can be shared with a cache.
+ */
+@JsonSerialize(using = Subset.Serializer.class)
+public final class Subset {
+
+  public static final String SUBSETTING_CONFORMANCE = "subsetting";
+
+  public static class Serializer extends JsonSerializer<Subset> {
+
+    @Override
+    public void serialize(Subset value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+      jgen.writeStartObject();
+      Set<String> rdapConformance = new LinkedHashSet<>();
+      if (value.object.getRdapConformance() != null) {
+        rdapConformance.addAll(value.object.getRdapConformance());
+      }
+      rdapConformance.add(SUBSETTING_CONFORMANCE);
+      provider.defaultSerializeField("rdapConformance", rdapConformance, jgen);
+      if (value.fieldSet == FieldSet.FULL) {
+        writeFull(value.object, jgen, provider);
+      } else {
+        FieldSetSerializer.writeFields(value.object, value.fieldSet, jgen, provider);
+        if (value.object.getNotices() != null && !value.object.getNotices().isEmpty()) {
+          provider.defaultSerializeField("notices", value.object.getNotices(), jgen);
+        }
+      }
+      if (value.subsettingMetadata != null) {
+        provider.defaultSerializeField("subsetting_metadata", value.subsettingMetadata, jgen);
+      }
+      jgen.writeEndObject();
+    }
+
+    /**
+     * Writes the members of the object but its rdapConformance, which was written with the subsetting one added. The
+     * properties of the bean serializer of the object write straight to the generator, as it does itself.
+     */
+    private static void writeFull(Common object, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+      for (Iterator<PropertyWriter> properties = provider.findValueSerializer(object.getClass()).properties(); properties.hasNext(); ) {
+        PropertyWriter property = properties.next();
+        if (property.getName().equals("rdapConformance")) {
+          continue;
+        }
+        try {
+          property.serializeAsField(object, jgen, provider);
+        } catch (IOException | RuntimeException e) {
+          throw e;
+        } catch (Exception e) {
+          throw JsonMappingException.wrapWithPath(e, object, property.getName());
+        }
+      }
+    }
+  }
+
+  private final Common object;
+
+  private final FieldSet fieldSet;
+
+  private final SubsettingMetadata subsettingMetadata;
+
+  public Subset(Domain domain, FieldSet fieldSet, SubsettingMetadata subsettingMetadata) {
+    this((Common) domain, fieldSet, subsettingMetadata);
+  }
+
+  public Subset(Nameserver nameserver, FieldSet fieldSet, SubsettingMetadata subsettingMetadata) {
+    this((Common) nameserver, fieldSet, subsettingMetadata);
+  }
+
+  public Subset(Entity entity, FieldSet fieldSet, SubsettingMetadata subsettingMetadata) {
+    this((Common) entity, fieldSet, subsettingMetadata);
+  }
+
+  private Subset(Common object, FieldSet fieldSet, SubsettingMetadata subsettingMetadata) {
+    this.object = object;
+    this.fieldSet = fieldSet;
+    this.subsettingMetadata = subsettingMetadata;
+  }
+
+  /**
+   * @return the domain, nameserver or entity
+   */
+  public Object getObject() {
+    return object;
+  }
+
+  public FieldSet getFieldSet() {
+    return fieldSet;
+  }
+
+  public SubsettingMetadata getSubsettingMetadata() {
+    return subsettingMetadata;
+  }
+}
@@ -0,0 +1,74 @@
+package be.dnsbelgium.rdap.core;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * The subsetting_metadata of RFC 8982: the field set of a response and the ones a client can ask for instead.
+ */
+public final class SubsettingMetadata {
+
+  public static final class AvailableFieldSet {
+
+    private final String name;
+
+    private final String description;
+
+    private final boolean isDefault;
+
+    private final List<Link> links;
+
+    @JsonCreator
+    public AvailableFieldSet(
+        @JsonProperty("name") String name,
+        @JsonProperty("description") String description,
+        @JsonProperty("default") boolean isDefault,
+        @JsonProperty("links") List<Link> links) {
+      this.name = name;
+      this.description = description;
+      this.isDefault = isDefault;
+      this.links = links == null ? null : new ImmutableList.Builder<Link>().addAll(links).build();
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getDescription() {
+      return description;
+    }
+
+    @JsonProperty("default")
+    public boolean isDefault() {
+      return isDefault;
+    }
+
+    public List<Link> getLinks() {
+      return links;
+    }
+  }
+
+  private final String currentFieldSet;
+
+  private final List<AvailableFieldSet> availableFieldSets;
+
+  @JsonCreator
+  public SubsettingMetadata(
+      @JsonProperty("currentFieldSet") String currentFieldSet,
+      @JsonProperty("availableFieldSets") List<AvailableFieldSet> availableFieldSets) {
+    this.currentFieldSet = currentFieldSet;
+    this.availableFieldSets = availableFieldSets == null ? null
+        : new ImmutableList.Builder<AvailableFieldSet>().addAll(availableFieldSets).build();
+  }
+
+  public String getCurrentFieldSet() {
+    return currentFieldSet;
+  }
+
+  public List<AvailableFieldSet> getAvailableFieldSets() {
+    return availableFieldSets;
+  }
+}
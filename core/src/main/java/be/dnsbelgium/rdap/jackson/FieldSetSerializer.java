@@ -0,0 +1,105 @@
+package be.dnsbelgium.rdap.jackson;
+
+import be.dnsbelgium.rdap.core.Domain;
+import be.dnsbelgium.rdap.core.Entity;
+import be.dnsbelgium.rdap.core.FieldSet;
+import be.dnsbelgium.rdap.core.Link;
+import be.dnsbelgium.rdap.core.Nameserver;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes a domain, nameserver or entity in the id or brief field set of RFC 8982.
+ *
+ * Only the members of the field set are read and written, the nested entities, vCards, events and other members are
+ * never visited. The full field set is the object itself, written by Jackson as usual.
+ */
+public final class FieldSetSerializer {
+
+  private static final String SELF = "self";
+
+  private FieldSetSerializer() {
+
+  }
+
+  /**
+   * Writes the object, from start to end.
+   */
+  public static void write(Object value, FieldSet fieldSet, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+    if (fieldSet == FieldSet.FULL) {
+      provider.defaultSerializeValue(value, jgen);
+      return;
+    }
+    jgen.writeStartObject();
+    writeFields(value, fieldSet, jgen, provider);
+    jgen.writeEndObject();
+  }
+
+  /**
+   * Writes the members of the id or brief field set, so a caller can add its own members around them.
+   */
+  public static void writeFields(Object value, FieldSet fieldSet, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+    boolean brief = fieldSet == FieldSet.BRIEF;
+    if (value instanceof Domain) {
+      Domain domain = (Domain) value;
+      jgen.writeStringField("objectClassName", domain.getObjectClassName());
+      if (brief) {
+        writeField("handle", domain.handle, jgen, provider);
+      }
+      writeField("ldhName", domain.ldhName, jgen, provider);
+      if (brief) {
+        writeField("unicodeName", domain.unicodeName, jgen, provider);
+        writeField("status", domain.getStatus(), jgen, provider);
+        writeField("links", selfLinks(domain.getLinks()), jgen, provider);
+      }
+    } else if (value instanceof Nameserver) {
+      Nameserver nameserver = (Nameserver) value;
+      jgen.writeStringField("objectClassName", nameserver.getObjectClassName());
+      if (brief) {
+        writeField("handle", nameserver.handle, jgen, provider);
+      }
+      writeField("ldhName", nameserver.ldhName, jgen, provider);
+      if (brief) {
+        writeField("unicodeName", nameserver.unicodeName, jgen, provider);
+        writeField("status", nameserver.getStatus(), jgen, provider);
+        writeField("links", selfLinks(nameserver.getLinks()), jgen, provider);
+      }
+    } else if (value instanceof Entity) {
+      Entity entity = (Entity) value;
+      jgen.writeStringField("objectClassName", entity.getObjectClassName());
+      writeField("handle", entity.getHandle(), jgen, provider);
+      if (brief) {
+        writeField("roles", entity.getRoles(), jgen, provider);
+        writeField("status", entity.getStatus(), jgen, provider);
+        writeField("links", selfLinks(entity.getLinks()), jgen, provider);
+      }
+    } else {
+      throw new IllegalArgumentException("No field sets for " + (value == null ? null : value.getClass().getSimpleName()));
+    }
+  }
+
+  private static void writeField(String name, Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+    if (value == null || (value instanceof Collection && ((Collection<?>) value).isEmpty())) {
+      return;
+    }
+    provider.defaultSerializeField(name, value, jgen);
+  }
+
+  private static List<Link> selfLinks(List<Link> links) {
+    if (links == null) {
+      return null;
+    }
+    List<Link> self = new ArrayList<>(1);
+    for (Link link : links) {
+      if (SELF.equals(link.getRel())) {
+        self.add(link);
+      }
+    }
+    return self;
+  }
+}
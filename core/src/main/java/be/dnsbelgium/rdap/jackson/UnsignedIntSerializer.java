@@ -0,0 +1,27 @@
+package be.dnsbelgium.rdap.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * Writes an int holding an unsigned 32 bit value, such as an AS number above 2^31, as a positive number.
+ */
+public class UnsignedIntSerializer extends JsonSerializer<Integer> {
+
+  @Override
+  public Class<Integer> handledType() {
+    return Integer.class;
+  }
+
+  @Override
+  public void serialize(Integer value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+    if (value == null) {
+      jgen.writeNull();
+    } else {
+      jgen.writeNumber(Integer.toUnsignedLong(value));
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package be.dnsbelgium.core;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CIDRParserTest {
+
+  @Test
+  public void testIPv4() throws Exception {
+    CIDR cidr = CIDRParser.parse("193.12.32.98");
+    assertTrue(cidr.isIPv4());
+    assertEquals(32, cidr.getSize());
+    assertArrayEquals(InetAddress.getByName("193.12.32.98").getAddress(), cidr.getAddress());
+    assertEquals(CIDR.ofIPv4(0xC10C2000, 24), CIDRParser.parse("193.12.32.0/24"));
+    assertEquals(CIDR.ofIPv4(0, 32), CIDRParser.parse("0.0.0.0"));
+    assertEquals(CIDR.ofIPv4(-1, 32), CIDRParser.parse("255.255.255.255/32"));
+  }
+
+  @Test
+  public void testIPv6() throws Exception {
+    String[] literals = {
+        "2001:db8::1", "2001:DB8:0:0:0:0:0:1", "::", "::1", "1::", "fe80::202:b3ff:fe1e:1111",
+        "FE80:0000:0000:0000:0202:B3FF:FE1E:1111", "1:2:3:4:5:6:7:8", "::ffff:192.0.2.1", "1:2:3:4:5:6:192.0.2.1",
+        "1::8", "1:2:3:4:5:6::8", "1:2:3:4:5:6:7::", "::2:3:4:5:6:7:8"
+    };
+    for (String literal : literals) {
+      CIDR cidr = CIDRParser.parse(literal);
+      assertFalse(literal, cidr.isIPv4());
+      assertEquals(literal, 128, cidr.getSize());
+      byte[] expected = InetAddress.getByName(literal).getAddress();
+      if (expected.length == 16) {
+        assertArrayEquals(expected, cidr.getAddress());
+      }
+    }
+    assertEquals(CIDR.ofIPv6(0x20010db800000000L, 0L, 32), CIDRParser.parse("2001:db8::/32"));
+  }
+
+  @Test
+  public void testIPv4MappedStaysIPv6() {
+    assertEquals(CIDR.ofIPv6(0L, 0xFFFFC0000201L, 128), CIDRParser.parse("::ffff:192.0.2.1"));
+  }
+
+  @Test
+  public void testRejectsNonLiterals() {
+    String[] invalid = {
+        null, "", "localhost", "www.dnsbelgium.be", "1.2.3", "1.2.3.4.5", "1.2.3.256", "01.2.3.4", "1.2.3.4/",
+        "1.2.3.4/33", "1.2.3.4/0", "1.2.3.4/-1", "1.2.3.4/08", "1.2.3.4/1/2", " 1.2.3.4", "1.2.3.4 ", "1.2..4",
+        ":", ":::", "1:", ":1", "1::2::3", "12345::", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7:8::", "1::2:3:4:5:6:7:8",
+        "fe80::1%eth0", "::1/129", "::1/0", "g::", "1.2.3.4::", "::1.2.3", "1:2:3:4:5:6:7:1.2.3.4",
+        "0000000000000000000000000000000000000000000000000000000000000001"
+    };
+    for (String value : invalid) {
+      assertNull(value, CIDRParser.tryParse(value));
+    }
+  }
+}
@@ -18,6 +18,16 @@ package be.dnsbelgium.core;
 import be.dnsbelgium.junit.Assert;
 import org.junit.Test;
 
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 public class CIDRTest {
 
   @Test
@@ -31,4 +41,73 @@ public class CIDRTest {
 
   }
 
+  @Test
+  public void testAddressIsMasked() throws Exception {
+    CIDR cidr = CIDR.of("192.168.1.77/20");
+    assertArrayEquals(new byte[]{(byte) 192, (byte) 168, 0, 0}, cidr.getAddress());
+    assertArrayEquals(new byte[]{(byte) 255, (byte) 255, (byte) 240, 0}, cidr.getMask());
+    assertEquals(CIDR.of("192.168.0.0/20"), cidr);
+    assertEquals(CIDR.of("192.168.0.0/20").hashCode(), cidr.hashCode());
+
+    cidr = CIDR.of("2001:db8:1234:5678::1/60");
+    assertEquals(CIDR.of("2001:db8:1234:5670::/60"), cidr);
+    assertArrayEquals(InetAddress.getByName("ffff:ffff:ffff:fff0::").getAddress(), cidr.getMask());
+  }
+
+  @Test
+  public void testContains() throws Exception {
+    CIDR v4 = CIDR.of("10.0.0.0/8");
+    assertTrue(v4.contains(InetAddress.getByName("10.255.1.2")));
+    assertFalse(v4.contains(InetAddress.getByName("11.0.0.0")));
+    assertTrue(v4.contains(0x0A010203));
+    assertFalse(v4.contains(0, 0x0A010203L));
+    assertTrue(CIDR.of("0.0.0.0/1").contains(0x7FFFFFFF));
+    assertFalse(CIDR.of("0.0.0.0/1").contains(0x80000000));
+
+    CIDR v6 = CIDR.of("2001:db8::/32");
+    assertTrue(v6.contains(InetAddress.getByName("2001:db8:ffff::1")));
+    assertFalse(v6.contains(InetAddress.getByName("2001:db9::")));
+    assertTrue(v6.contains(0x20010db8ffff0000L, 1L));
+    assertTrue(CIDR.of("2001:db8::1/128").contains(0x20010db800000000L, 1L));
+    assertFalse(CIDR.of("2001:db8::1/128").contains(0x20010db800000000L, 2L));
+    assertTrue(CIDR.of("2001:db8::/96").contains(0x20010db800000000L, 0xFFFFFFFFL));
+    assertFalse(CIDR.of("2001:db8::/96").contains(0x20010db800000000L, 0x100000000L));
+  }
+
+  @Test
+  public void testContainsAndOverlapsNetworks() {
+    CIDR wide = CIDR.of("2001:db8::/32");
+    CIDR narrow = CIDR.of("2001:db8:1::/48");
+    assertTrue(wide.contains(narrow));
+    assertFalse(narrow.contains(wide));
+    assertTrue(wide.overlaps(narrow));
+    assertTrue(narrow.overlaps(wide));
+    assertFalse(narrow.overlaps(CIDR.of("2001:db8:2::/48")));
+    assertFalse(CIDR.of("10.0.0.0/8").overlaps(CIDR.of("::/8")));
+  }
+
+  @Test
+  public void testCompareTo() {
+    List<CIDR> networks = new ArrayList<>();
+    for (String cidr : new String[]{"::/8", "10.1.0.0/16", "10.0.0.0/8", "192.168.0.0/16", "10.0.0.0/16", "128.0.0.0/1"}) {
+      networks.add(CIDR.of(cidr));
+    }
+    Collections.sort(networks);
+    assertEquals(CIDR.of("10.0.0.0/8"), networks.get(0));
+    assertEquals(CIDR.of("10.0.0.0/16"), networks.get(1));
+    assertEquals(CIDR.of("10.1.0.0/16"), networks.get(2));
+    assertEquals(CIDR.of("128.0.0.0/1"), networks.get(3));
+    assertEquals(CIDR.of("192.168.0.0/16"), networks.get(4));
+    assertEquals(CIDR.of("::/8"), networks.get(5));
+  }
+
+  @Test
+  public void testPrimitiveFactories() {
+    assertEquals(CIDR.of("192.0.2.0/24"), CIDR.ofIPv4(0xC0000201, 24));
+    assertEquals(CIDR.of("2001:db8::/32"), CIDR.ofIPv6(0x20010db8_00000000L, 0L, 32));
+    assertEquals(0xC0000200L, CIDR.ofIPv4(0xC0000201, 24).getLow());
+    assertTrue(CIDR.ofIPv4(0, 1).isIPv4());
+    assertFalse(CIDR.ofIPv6(0, 0, 1).isIPv4());
+  }
+
 }
@@ -0,0 +1,67 @@
+package be.dnsbelgium.core;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CIDRTrieTest {
+
+  @Test
+  public void testLongestMatch() {
+    Map<CIDR, String> networks = new LinkedHashMap<>();
+    networks.put(CIDR.of("193.0.0.0/8"), "ripe");
+    networks.put(CIDR.of("193.12.0.0/16"), "isp");
+    networks.put(CIDR.of("193.12.32.0/24"), "customer");
+    networks.put(CIDR.of("2001:db8::/32"), "documentation");
+    networks.put(CIDR.of("2001:db8:1::/48"), "site");
+    CIDRTrie<String> trie = CIDRTrie.of(networks);
+
+    assertEquals(5, trie.size());
+    assertEquals("customer", trie.longestMatch(CIDR.of("193.12.32.98")));
+    assertEquals("customer", trie.longestMatch(CIDR.of("193.12.32.0/24")));
+    assertEquals("isp", trie.longestMatch(CIDR.of("193.12.0.0/23")));
+    assertEquals("isp", trie.longestMatch(CIDR.of("193.12.33.1")));
+    assertEquals("ripe", trie.longestMatch(CIDR.of("193.13.0.0/16")));
+    assertNull(trie.longestMatch(CIDR.of("193.0.0.0/7")));
+    assertNull(trie.longestMatch(CIDR.of("10.0.0.1")));
+
+    assertEquals("site", trie.longestMatch(CIDR.of("2001:db8:1::1")));
+    assertEquals("documentation", trie.longestMatch(CIDR.of("2001:db8:2::1")));
+    assertNull(trie.longestMatch(CIDR.of("2001:db9::1")));
+    // IPv4 and IPv6 are kept apart
+    assertNull(trie.longestMatch(CIDR.of("::c10c:2062")));
+  }
+
+  @Test
+  public void testInsertionOrderDoesNotMatter() {
+    CIDRTrie<String> trie = new CIDRTrie<>();
+    trie.put(CIDR.of("10.1.2.0/24"), "c");
+    trie.put(CIDR.of("10.1.3.0/24"), "d");
+    trie.put(CIDR.of("10.0.0.0/8"), "a");
+    trie.put(CIDR.of("10.1.0.0/16"), "b");
+    assertEquals(4, trie.size());
+    assertEquals("c", trie.longestMatch(CIDR.of("10.1.2.3")));
+    assertEquals("d", trie.longestMatch(CIDR.of("10.1.3.3")));
+    assertEquals("b", trie.longestMatch(CIDR.of("10.1.4.3")));
+    assertEquals("a", trie.longestMatch(CIDR.of("10.2.0.0")));
+  }
+
+  @Test
+  public void testGetAndReplace() {
+    CIDRTrie<String> trie = new CIDRTrie<>();
+    trie.put(CIDR.of("10.1.2.0/24"), "c");
+    trie.put(CIDR.of("10.1.3.0/24"), "d");
+    // the fork between both /24 networks is not a network itself
+    assertNull(trie.get(CIDR.of("10.1.2.0/23")));
+    trie.put(CIDR.of("10.1.2.0/23"), "b");
+    trie.put(CIDR.of("10.1.2.0/24"), "c2");
+    assertEquals(3, trie.size());
+    assertEquals("b", trie.get(CIDR.of("10.1.2.0/23")));
+    assertEquals("c2", trie.get(CIDR.of("10.1.2.0/24")));
+    assertNull(trie.get(CIDR.of("10.1.2.0/25")));
+  }
+}
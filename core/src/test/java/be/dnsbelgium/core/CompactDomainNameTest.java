@@ -0,0 +1,124 @@
+package be.dnsbelgium.core;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static be.dnsbelgium.junit.Assert.assertThrows;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompactDomainNameTest {
+
+  @Test
+  public void testRoundTrip() {
+    for (String name : new String[]{"www.dnsbelgium.be", "www.dnsbelgium.be.", "_dmarc.example.be", "be"}) {
+      DomainName domainName = DomainName.of(name);
+      CompactDomainName compact = CompactDomainName.of(domainName);
+      assertEquals(domainName, compact.toDomainName());
+      assertEquals(domainName.isFQDN(), compact.toDomainName().isFQDN());
+      assertEquals(domainName.getLevelSize(), compact.getLevelSize());
+    }
+    assertEquals("www.dnsbelgium.be.", CompactDomainName.of("www.dnsbelgium.be.").toString());
+  }
+
+  @Test
+  public void testIDNIsKeptAsALabel() {
+    CompactDomainName compact = CompactDomainName.of("belgië.be");
+    assertEquals("xn--belgi-rsa.be", compact.toString());
+    assertEquals(DomainName.of("belgië.be"), compact.toDomainName());
+    assertEquals("belgië.be", compact.toDomainName().toUnicode().getStringValue());
+  }
+
+  @Test
+  public void testWire() {
+    byte[] wire = {3, 'd', 'n', 's', 2, 'b', 'e', 0};
+    assertArrayEquals(wire, CompactDomainName.of("dns.be").toWire());
+    assertArrayEquals(wire, CompactDomainName.of("dns.be.").toWire());
+    assertEquals(CompactDomainName.of("dns.be."), CompactDomainName.fromWire(wire));
+    assertThrows(new be.dnsbelgium.junit.Assert.Closure() {
+      @Override
+      public void execute() throws Throwable {
+        CompactDomainName.fromWire(new byte[]{3, 'd', 'n', 's'});
+      }
+    }, IllegalArgumentException.class, "Should throw IllegalArgumentException");
+  }
+
+  @Test
+  public void testEqualsIgnoresCase() {
+    CompactDomainName lower = CompactDomainName.of("www.dnsbelgium.be");
+    CompactDomainName upper = CompactDomainName.of("WWW.DNSBelgium.BE");
+    assertEquals(lower, upper);
+    assertEquals(lower.hashCode(), upper.hashCode());
+    assertFalse(lower.equals(CompactDomainName.of("www.dnsbelgium.be.")));
+  }
+
+  @Test
+  public void testLabelIteration() {
+    CompactDomainName compact = CompactDomainName.of("ns1.dns.be.");
+    StringBuilder sb = new StringBuilder();
+    for (int offset = compact.firstLabel(); offset >= 0; offset = compact.nextLabel(offset)) {
+      for (int i = 0; i < compact.labelLength(offset); i++) {
+        sb.append(compact.charAt(offset, i));
+      }
+      sb.append('|');
+    }
+    assertEquals("ns1|dns|be|", sb.toString());
+  }
+
+  @Test
+  public void testIsSubdomainOf() {
+    CompactDomainName name = CompactDomainName.of("www.dnsbelgium.be");
+    assertTrue(name.isSubdomainOf(CompactDomainName.of("be")));
+    assertTrue(name.isSubdomainOf(CompactDomainName.of("DNSBELGIUM.be.")));
+    assertTrue(name.isSubdomainOf(name));
+    DomainName root = new DomainName(Collections.<Label>singletonList(Label.RootLabel.getInstance()));
+    assertTrue(name.isSubdomainOf(CompactDomainName.of(root)));
+    assertFalse(name.isSubdomainOf(CompactDomainName.of("belgium.be")));
+    assertFalse(name.isSubdomainOf(CompactDomainName.of("nl")));
+    assertFalse(CompactDomainName.of("be").isSubdomainOf(name));
+  }
+
+  @Test
+  public void testCanonicalOrder() {
+    List<CompactDomainName> names = new ArrayList<>();
+    for (String name : new String[]{"z.a.be", "a.be", "B.be", "be", "a-b.be", "a.nl", "aa.be"}) {
+      names.add(CompactDomainName.of(name));
+    }
+    Collections.sort(names);
+    assertEquals("[be, a.be, z.a.be, a-b.be, aa.be, B.be, a.nl]", names.toString());
+  }
+
+  @Test
+  public void testCompareFQDN() {
+    assertTrue(CompactDomainName.of("a.be").compareTo(CompactDomainName.of("a.be.")) < 0);
+    assertTrue(CompactDomainName.of("a.be.").compareTo(CompactDomainName.of("b.a.be")) < 0);
+    assertEquals(0, CompactDomainName.of("A.be.").compareTo(CompactDomainName.of("a.BE.")));
+  }
+
+  @Test
+  public void testCompareDoesNotAllocate() {
+    // only HotSpot counts the bytes a thread allocates
+    if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+      return;
+    }
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    CompactDomainName name = CompactDomainName.of("www.sub.dnsbelgium.be");
+    CompactDomainName other = CompactDomainName.of("www.sub.dnsbelgium.be.");
+    int result = 0;
+    long before = threads.getCurrentThreadAllocatedBytes();
+    for (int i = 0; i < 100_000; i++) {
+      result += name.compareTo(other);
+    }
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+    assertEquals(-100_000, result);
+    // a single array per comparison would take more than a megabyte, what is left is the measurement itself
+    assertTrue("allocated " + allocated + " bytes", allocated < 10_000);
+  }
+}
@@ -16,6 +16,7 @@
 package be.dnsbelgium.core;
 
 import be.dnsbelgium.junit.Assert;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
 import static be.dnsbelgium.junit.Assert.assertThrows;
@@ -50,6 +51,33 @@ public class DomainNameTest {
     }, IllegalArgumentException.class, "Should throw IllegalArgumentException");
   }
 
+  @Test
+  public void testMaxLength() {
+    // 4 labels of 62 characters and their dots: 251 characters
+    final String name = StringUtils.repeat(StringUtils.repeat('a', 62), ".", 4);
+    assertEquals(5, DomainName.of(name + ".b").getLevelSize());
+    assertEquals(5, DomainName.of(name + ".b.").getLevelSize());
+    assertThrows(new Assert.Closure() {
+      @Override
+      public void execute() throws Throwable {
+        DomainName.of(name + ".bc");
+      }
+    }, IllegalArgumentException.class, "Should throw IllegalArgumentException");
+  }
+
+  @Test
+  public void testMaxLengthIDN() {
+    // 100 labels é: 199 characters, but 799 as A-labels (xn--9ca)
+    final String name = StringUtils.repeat("\u00e9", ".", 100);
+    assertEquals(30, DomainName.of(StringUtils.repeat("\u00e9", ".", 30)).getLevelSize());
+    assertThrows(new Assert.Closure() {
+      @Override
+      public void execute() throws Throwable {
+        DomainName.of(name);
+      }
+    }, IllegalArgumentException.class, "Should throw IllegalArgumentException");
+  }
+
   @Test
   public void testLevelSize() {
     assertEquals(3, DomainName.of("www.example.com").getLevelSize());
@@ -69,4 +97,28 @@ public class DomainNameTest {
     assertEquals("www.example.com.", dn.toFQDN().getStringValue());
   }
 
+  @Test
+  public void testCanonicalValue() {
+    assertEquals("www.example.com", DomainName.of("WWW.Example.com").getCanonicalValue());
+    assertEquals("xn--belgi-rsa.be", DomainName.of("belgië.be").getCanonicalValue());
+    assertEquals("Example.com", DomainName.of("Example.com").getStringValue());
+  }
+
+  @Test
+  public void testEqualsIgnoresCaseAndLabelForm() {
+    DomainName dn = DomainName.of("xn--belgi-rsa.be");
+    assertEquals(dn, DomainName.of("belgië.be"));
+    assertEquals(dn, DomainName.of("XN--BELGI-RSA.BE"));
+    assertEquals(dn.hashCode(), DomainName.of("belgië.be").hashCode());
+    assertNotEquals(dn, DomainName.of("belgie.be"));
+    assertNotEquals(DomainName.of("example.com"), DomainName.of("example.com."));
+  }
+
+  @Test
+  public void testToLDHIsCached() {
+    DomainName dn = DomainName.of("belgië.be");
+    assertSame(dn.toLDH(), dn.toLDH());
+    assertSame(dn.getStringValue(), dn.getStringValue());
+  }
+
 }
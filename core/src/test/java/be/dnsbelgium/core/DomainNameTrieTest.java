@@ -0,0 +1,134 @@
+package be.dnsbelgium.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DomainNameTrieTest {
+
+  private DomainNameTrie<String> trie;
+
+  @Before
+  public void setUp() {
+    Map<DomainName, String> names = new LinkedHashMap<>();
+    for (String name : new String[]{"example.be", "exams.be", "Examen.be", "other.be", "example.eu", "exam.nl",
+        "ns1.dns.be", "ns2.dns.be", "www.example.be", "belgi\u00EB.be"}) {
+      names.put(DomainName.of(name), name);
+    }
+    trie = DomainNameTrie.of(names);
+  }
+
+  @Test
+  public void testGet() {
+    assertEquals(10, trie.size());
+    assertEquals("example.be", trie.get(DomainName.of("example.be")));
+    assertEquals("example.be", trie.get(DomainName.of("EXAMPLE.be.")));
+    assertEquals("belgi\u00EB.be", trie.get(DomainName.of("xn--belgi-rsa.be")));
+    assertNull(trie.get(DomainName.of("dns.be")));
+    assertNull(trie.get(DomainName.of("be")));
+    assertNull(trie.get(DomainName.of("example.com")));
+  }
+
+  @Test
+  public void testExactSearch() {
+    assertEquals(Collections.singletonList("ns1.dns.be"), trie.search("ns1.dns.be"));
+    assertEquals(Collections.singletonList("belgi\u00EB.be"), trie.search("belgi\u00EB.be"));
+    assertEquals(Collections.emptyList(), trie.search("dns.be"));
+  }
+
+  @Test
+  public void testTrailingWildcard() {
+    assertEquals(Arrays.asList("Examen.be", "example.be", "exams.be"), trie.search("exam*.be"));
+    assertEquals(Arrays.asList("Examen.be", "example.be", "exams.be"), trie.search("EXAM*.BE."));
+    assertEquals(Arrays.asList("example.be", "example.eu"), trie.search("example*"));
+    assertEquals(Arrays.asList("exam.nl"), trie.search("exam*.nl"));
+    assertEquals(Collections.emptyList(), trie.search("exam*.com"));
+    assertEquals(Collections.singletonList("www.example.be"), trie.search("w*.example.be"));
+  }
+
+  @Test
+  public void testSuffix() {
+    assertEquals(Arrays.asList("ns1.dns.be", "ns2.dns.be"), trie.search("*.dns.be"));
+    assertEquals(Arrays.asList("ns1.dns.be", "ns2.dns.be"), trie.search("ns*.dns.be"));
+    // dns.be itself is not in the trie, only the names below it
+    assertEquals(Arrays.asList("Examen.be", "example.be", "exams.be", "other.be", "belgi\u00EB.be"), trie.search("*.be"));
+  }
+
+  @Test
+  public void testVisitorCanStop() {
+    List<String> result = new ArrayList<>();
+    trie.search("*.be", value -> result.add(value) && result.size() < 2);
+    assertEquals(Arrays.asList("Examen.be", "example.be"), result);
+  }
+
+  @Test
+  public void testContinueAfter() {
+    for (String pattern : new String[]{"*.be", "exam*", "e*", "*.dns.be", "example.be"}) {
+      for (boolean descending : new boolean[]{false, true}) {
+        List<String> all = new ArrayList<>(trie.search(pattern));
+        if (descending) {
+          Collections.reverse(all);
+        }
+        // pages of two, each continuing after the last name of the one before
+        List<String> paged = new ArrayList<>();
+        DomainName after = null;
+        while (true) {
+          List<String> page = new ArrayList<>();
+          trie.search(pattern, after, descending, value -> page.add(value) && page.size() < 2);
+          paged.addAll(page);
+          if (page.size() < 2) {
+            break;
+          }
+          after = DomainName.of(page.get(1));
+        }
+        assertEquals(pattern, all, paged);
+      }
+    }
+  }
+
+  @Test
+  public void testOrder() {
+    List<DomainName> names = new ArrayList<>(Arrays.asList(DomainName.of("b.a.be"), DomainName.of("a-b.be"),
+        DomainName.of("a.eu"), DomainName.of("a.be")));
+    names.sort(DomainNameTrie.order());
+    assertEquals(Arrays.asList(DomainName.of("a.be"), DomainName.of("b.a.be"), DomainName.of("a-b.be"),
+        DomainName.of("a.eu")), names);
+    Map<DomainName, DomainName> entries = new LinkedHashMap<>();
+    for (int i = names.size() - 1; i >= 0; i--) {
+      entries.put(names.get(i), names.get(i));
+    }
+    assertEquals(names, DomainNameTrie.of(entries).values());
+  }
+
+  @Test
+  public void testInvalidPatterns() {
+    for (String pattern : new String[]{"ex*ple.be", "exam**.be", "www.exam*.be", "ex*.*.be", "belgi\u00EB*.be", "", "a..be"}) {
+      try {
+        trie.search(pattern);
+        throw new AssertionError("expected IllegalArgumentException for " + pattern);
+      } catch (IllegalArgumentException e) {
+        assertTrue(true);
+      }
+    }
+  }
+
+  @Test
+  public void testLastValueWins() {
+    Map<DomainName, String> names = new LinkedHashMap<>();
+    names.put(DomainName.of("example.be"), "first");
+    names.put(DomainName.of("EXAMPLE.be"), "second");
+    DomainNameTrie<String> trie = DomainNameTrie.of(names);
+    assertEquals(1, trie.size());
+    assertEquals("second", trie.get(DomainName.of("example.be")));
+  }
+}
@@ -0,0 +1,112 @@
+package be.dnsbelgium.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class InvertedIndexTest {
+
+  @Test
+  public void testAddInAnyOrder() {
+    InvertedIndex<String> index = new InvertedIndex<>();
+    for (int id : new int[]{5, 1, 9, 3, 5, 12, 7}) {
+      index.add("ns1.dns.be", id);
+    }
+    index.add("ns2.dns.be", 2);
+    assertArrayEquals(new int[]{1, 3, 5, 7, 9, 12}, index.get("ns1.dns.be"));
+    assertEquals(6, index.count("ns1.dns.be"));
+    assertEquals(2, index.size());
+    assertArrayEquals(new int[0], index.get("unknown"));
+    assertEquals(0, index.count("unknown"));
+  }
+
+  @Test
+  public void testRemove() {
+    InvertedIndex<String> index = new InvertedIndex<>();
+    index.add("a", 1);
+    index.add("a", 2);
+    index.add("a", 3);
+    index.remove("a", 2);
+    index.remove("a", 4);
+    index.remove("b", 1);
+    assertArrayEquals(new int[]{1, 3}, index.get("a"));
+    index.add("a", 4);
+    assertArrayEquals(new int[]{1, 3, 4}, index.get("a"));
+    index.remove("a", 1);
+    index.remove("a", 3);
+    index.remove("a", 4);
+    assertEquals(0, index.size());
+  }
+
+  @Test
+  public void testGetIsASnapshot() {
+    InvertedIndex<String> index = new InvertedIndex<>();
+    index.add("a", 1);
+    int[] before = index.get("a");
+    index.add("a", 2);
+    assertArrayEquals(new int[]{1}, before);
+    List<Integer> visited = new ArrayList<>();
+    index.forEach("a", id -> visited.add(id) && false);
+    assertEquals(Collections.singletonList(1), visited);
+  }
+
+  @Test
+  public void testUnion() {
+    InvertedIndex<String> index = new InvertedIndex<>();
+    index.add("a", 1);
+    index.add("a", 4);
+    index.add("b", 4);
+    index.add("b", 2);
+    assertArrayEquals(new int[]{1, 2, 4}, index.union(Arrays.asList("a", "b", "c")));
+    assertArrayEquals(new int[]{1, 4}, index.union(Collections.singletonList("a")));
+    assertArrayEquals(new int[0], index.union(Collections.<String>emptyList()));
+  }
+
+  @Test
+  public void testIntersection() {
+    InvertedIndex<String> index = new InvertedIndex<>();
+    for (int id : new int[]{1, 2, 4, 8, 9}) {
+      index.add("a", id);
+    }
+    for (int id : new int[]{2, 3, 8, 9, 10}) {
+      index.add("b", id);
+    }
+    index.add("c", 9);
+    assertArrayEquals(new int[]{2, 8, 9}, index.intersection(Arrays.asList("a", "b")));
+    assertArrayEquals(new int[]{9}, index.intersection(Arrays.asList("a", "b", "c")));
+    assertArrayEquals(new int[0], index.intersection(Arrays.asList("a", "d")));
+    assertArrayEquals(new int[0], index.intersection(Collections.<String>emptyList()));
+  }
+
+  @Test
+  public void testRandomUpdates() {
+    Random random = new Random(42);
+    InvertedIndex<Integer> index = new InvertedIndex<>();
+    List<TreeSet<Integer>> expected = new ArrayList<>();
+    for (int key = 0; key < 8; key++) {
+      expected.add(new TreeSet<>());
+    }
+    for (int i = 0; i < 20000; i++) {
+      int key = random.nextInt(8);
+      int id = random.nextInt(500);
+      if (random.nextInt(3) == 0) {
+        index.remove(key, id);
+        expected.get(key).remove(id);
+      } else {
+        index.add(key, id);
+        expected.get(key).add(id);
+      }
+    }
+    for (int key = 0; key < 8; key++) {
+      assertArrayEquals(expected.get(key).stream().mapToInt(Integer::intValue).toArray(), index.get(key));
+    }
+  }
+}
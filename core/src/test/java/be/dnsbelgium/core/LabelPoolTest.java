@@ -0,0 +1,51 @@
+package be.dnsbelgium.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LabelPoolTest {
+
+  @Test
+  public void testIntern() {
+    LabelPool pool = new LabelPool(100);
+    Label label = pool.intern("be");
+    assertSame(label, pool.intern("be"));
+    assertSame(label, pool.intern(Label.of("be")));
+    assertNotSame(label, pool.intern("BE"));
+    assertEquals(1, pool.stats().hitCount());
+  }
+
+  @Test
+  public void testRootLabelIsNotPooled() {
+    LabelPool pool = new LabelPool(100);
+    assertSame(Label.RootLabel.getInstance(), pool.intern(""));
+    assertEquals(0, pool.size());
+  }
+
+  @Test
+  public void testDomainNames() {
+    LabelPool pool = new LabelPool(100);
+    DomainName first = DomainName.of("ns1.dns.be.", pool);
+    DomainName second = DomainName.of("ns2.dns.be.", pool);
+    assertSame(first.getLabels().get(1), second.getLabels().get(1));
+    assertSame(first.getTLDLabel(), second.getTLDLabel());
+    assertEquals(4, pool.size());
+
+    DomainName interned = pool.intern(DomainName.of("www.dns.be"));
+    assertEquals(DomainName.of("www.dns.be"), interned);
+    assertSame(first.getTLDLabel(), interned.getTLDLabel());
+  }
+
+  @Test
+  public void testBounded() {
+    LabelPool pool = new LabelPool(10);
+    for (int i = 0; i < 100; i++) {
+      pool.intern("label" + i);
+    }
+    assertTrue(pool.size() <= 10);
+  }
+}
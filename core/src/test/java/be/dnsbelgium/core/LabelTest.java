@@ -17,9 +17,11 @@ package be.dnsbelgium.core;
 
 import be.dnsbelgium.junit.Assert;
 import com.ibm.icu.text.UnicodeSet;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class LabelTest {
@@ -40,6 +42,43 @@ public class LabelTest {
     assertTrue(label instanceof Label.ASCIILabel.NONLDHLabel);
     label = Label.of("example-");
     assertTrue(label instanceof Label.ASCIILabel.NONLDHLabel);
+    label = Label.of("ab--cd");
+    assertTrue(label instanceof Label.ASCIILabel.LDHLabel.ReservedLDHLabel);
+    label = Label.of("a--b");
+    assertTrue(label instanceof Label.ASCIILabel.LDHLabel.NonReservedLDHLabel);
+    label = Label.of("ab--");
+    assertTrue(label instanceof Label.ASCIILabel.NONLDHLabel);
+    label = Label.of("a b");
+    assertTrue(label instanceof Label.ASCIILabel.NONLDHLabel);
+    label = Label.of("x");
+    assertTrue(label instanceof Label.ASCIILabel.LDHLabel.NonReservedLDHLabel);
+    label = Label.of("b\u00FCcher");
+    assertTrue(label instanceof Label.NonASCIILabel.ULabel);
+  }
+
+  @Test
+  public void testMaxLength() {
+    final String max = StringUtils.repeat('a', Label.MAX_LENGTH);
+    assertEquals(max, Label.of(max).getStringValue());
+    Assert.assertThrows(new Assert.Closure() {
+      @Override
+      public void execute() throws Throwable {
+        Label.of(max + "a");
+      }
+    }, IllegalArgumentException.class, "expects IllegalArgumentException");
+  }
+
+  @Test
+  public void testMaxLengthULabel() {
+    // 40 characters, 47 as an A-label
+    assertEquals("xn--" + StringUtils.repeat('a', 39) + "-eqd", Label.of(StringUtils.repeat('a', 39) + "\u00e9").toLDH().getStringValue());
+    // 60 characters, but more than 63 as an A-label
+    Assert.assertThrows(new Assert.Closure() {
+      @Override
+      public void execute() throws Throwable {
+        Label.of(StringUtils.repeat("\u00e9", 60));
+      }
+    }, LabelException.IDNParseException.class, "expects IDNParseException");
   }
 
   @Test
@@ -58,6 +97,28 @@ public class LabelTest {
     assertEquals("b\u00FCcher", label.getStringValue());
   }
 
+  @Test
+  public void testConversionsAreCached() {
+    Label aLabel = Label.of("xn--bcher-kva");
+    assertSame(aLabel.toUnicode(), aLabel.toUnicode());
+    Label uLabel = Label.of("b\u00FCcher");
+    assertSame(uLabel.toLDH(), uLabel.toLDH());
+
+    IDNACache cache = Label.getIDNACache();
+    long hits = cache.stats().hitCount();
+    assertEquals("xn--bcher-kva", Label.of("b\u00FCcher").toLDH().getStringValue());
+    assertTrue(cache.stats().hitCount() > hits);
+  }
+
+  @Test
+  public void testFakeALabelErrorsAreCached() {
+    Label first = Label.of("xn--bcher-aaa");
+    Label second = Label.of("xn--bcher-aaa");
+    assertTrue(second instanceof Label.ASCIILabel.LDHLabel.ReservedLDHLabel.FakeALabel);
+    assertEquals(((Label.ASCIILabel.LDHLabel.ReservedLDHLabel.FakeALabel) first).getErrors(),
+        ((Label.ASCIILabel.LDHLabel.ReservedLDHLabel.FakeALabel) second).getErrors());
+  }
+
   @Test
   public void testControlCharacters() {
     for (final String s : new UnicodeSet(0, 31)) {
@@ -0,0 +1,157 @@
+package be.dnsbelgium.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TextIndexTest {
+
+  private TextIndex<String> index;
+
+  @Before
+  public void setUp() {
+    index = TextIndex.of(Arrays.asList("John Doe", "Jane Doe", "JOHNNY Walker", "DNS Belgium", "Müller GmbH",
+        "Müller AG", "Doe Holding"), Function.identity());
+  }
+
+  @Test
+  public void testExact() {
+    assertEquals(Collections.singletonList("John Doe"), index.search("john doe", 10));
+    assertEquals(Collections.emptyList(), index.search("john", 10));
+  }
+
+  @Test
+  public void testPrefix() {
+    assertEquals(Arrays.asList("John Doe", "JOHNNY Walker"), index.search("John*", 10));
+    assertEquals(Arrays.asList("DNS Belgium", "Doe Holding"), index.search("d*", 10));
+    assertEquals(Collections.singletonList("John Doe"), index.search("John*", 1));
+  }
+
+  @Test
+  public void testUnanchored() {
+    assertEquals(Arrays.asList("Jane Doe", "John Doe"), index.search("*doe", 10));
+    assertEquals(Arrays.asList("Doe Holding", "Jane Doe", "John Doe"), index.search("*doe*", 10));
+    assertEquals(Arrays.asList("John Doe", "JOHNNY Walker"), index.search("j*h*", 10));
+    assertEquals(Collections.singletonList("JOHNNY Walker"), index.search("*n*alk*", 10));
+    assertEquals(Collections.singletonList("DNS Belgium"), index.search("*s b*", 10));
+  }
+
+  @Test
+  public void testFolding() {
+    // the composed and the decomposed u umlaut
+    assertEquals(Arrays.asList("Müller AG", "Müller GmbH"), index.search("MÜLLER*", 10));
+    assertEquals(Arrays.asList("Müller AG", "Müller GmbH"), index.search("*üller*", 10));
+    assertEquals("doe", TextIndex.normalize("DOE"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOnlyAsterisks() {
+    index.search("**", 10);
+  }
+
+  @Test
+  public void testMatches() {
+    assertTrue(TextIndex.matches("abcabc", "abc*abc".split("\\*", -1)));
+    assertFalse(TextIndex.matches("abc", "abc*abc".split("\\*", -1)));
+    assertTrue(TextIndex.matches("abc", "*b*".split("\\*", -1)));
+    assertFalse(TextIndex.matches("abc", "*c*a".split("\\*", -1)));
+  }
+
+  @Test
+  public void testAgainstScan() {
+    Random random = new Random(42);
+    List<String> texts = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      texts.add(randomText(random, 2 + random.nextInt(10)));
+    }
+    TextIndex<String> index = TextIndex.of(texts, Function.identity());
+    for (int i = 0; i < 500; i++) {
+      String pattern = randomPattern(random);
+      String[] parts = pattern.split("\\*", -1);
+      List<String> expected = new ArrayList<>();
+      for (String text : texts) {
+        if (parts.length == 1 ? text.equals(pattern) : TextIndex.matches(text, parts)) {
+          expected.add(text);
+        }
+      }
+      List<String> actual = index.search(pattern, Integer.MAX_VALUE);
+      Collections.sort(expected);
+      List<String> sorted = new ArrayList<>(actual);
+      Collections.sort(sorted);
+      assertEquals(pattern, expected, sorted);
+    }
+  }
+
+  @Test
+  public void testIsPosition() {
+    assertTrue(TextIndex.isPosition("0:doe"));
+    assertTrue(TextIndex.isPosition("12:a:b"));
+    assertFalse(TextIndex.isPosition("doe"));
+    assertFalse(TextIndex.isPosition(":doe"));
+    assertFalse(TextIndex.isPosition("-1:doe"));
+    assertFalse(TextIndex.isPosition("x:doe"));
+    assertFalse(TextIndex.isPosition("99999999999:doe"));
+  }
+
+  @Test
+  public void testContinueAfter() {
+    Random random = new Random(7);
+    List<String> texts = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      // few distinct texts, so that many values share one
+      texts.add(randomText(random, 2 + random.nextInt(3)));
+    }
+    TextIndex<String> index = TextIndex.of(texts, Function.identity());
+    for (int i = 0; i < 100; i++) {
+      String pattern = randomPattern(random);
+      for (boolean descending : new boolean[]{false, true}) {
+        List<String> all = index.search(pattern, Integer.MAX_VALUE);
+        if (descending) {
+          Collections.reverse(all);
+        }
+        List<String> paged = new ArrayList<>();
+        String after = null;
+        do {
+          List<String> page = new ArrayList<>();
+          after = index.search(pattern, after, descending, value -> page.size() < 3 && page.add(value));
+          paged.addAll(page);
+        } while (after != null);
+        assertEquals(pattern, all, paged);
+      }
+    }
+  }
+
+  private static String randomPattern(Random random) {
+    StringBuilder pattern = new StringBuilder();
+    int parts = 1 + random.nextInt(3);
+    for (int i = 0; i < parts; i++) {
+      if (i > 0 || random.nextBoolean()) {
+        pattern.append('*');
+      }
+      pattern.append(randomText(random, 1 + random.nextInt(4)));
+    }
+    if (random.nextBoolean()) {
+      pattern.append('*');
+    }
+    return pattern.toString();
+  }
+
+  private static String randomText(Random random, int length) {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      text.append((char) ('a' + random.nextInt(4)));
+    }
+    return text.toString().toLowerCase(Locale.ROOT);
+  }
+}
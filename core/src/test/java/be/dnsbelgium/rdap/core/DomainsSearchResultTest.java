@@ -8,6 +8,8 @@ import java.util.List;
 import static be.dnsbelgium.rdap.core.Common.DEFAULT_RDAP_CONFORMANCE;
 import static be.dnsbelgium.rdap.core.Common.REDACTED_EXTENSION_CONFORMANCE;
 import static be.dnsbelgium.rdap.jackson.TestObjectMapper.assertJsonMapping;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class DomainsSearchResultTest {
 
@@ -74,4 +76,31 @@ public class DomainsSearchResultTest {
     assertJsonMapping(domainSearchResult, sample);
   }
 
+  @Test
+  public void testLimitAddsTruncatedNotice() throws JsonProcessingException {
+    String sample = """
+        {
+          "rdapConformance" : [ "rdap_level_0" ],
+          "domainSearchResults" : [ {
+            "objectClassName" : "domain",
+            "handle" : "abc-123"
+          } ],
+          "notices" : [ {
+            "title" : "Result set truncated",
+            "type" : "result set truncated due to excessive load",
+            "description" : [ "The search was stopped before all results were found, refine it to get fewer results." ]
+          } ]
+        }""";
+
+    DomainsSearchResult domainSearchResult = new DomainsSearchResult(List.of(unredactedDomain1, unredactedDomain2));
+    domainSearchResult.addRdapConformance(DEFAULT_RDAP_CONFORMANCE);
+    domainSearchResult.limit(2);
+    assertFalse(domainSearchResult.isTruncated());
+    domainSearchResult.limit(1);
+    domainSearchResult.markTruncated();
+    assertTrue(domainSearchResult.isTruncated());
+
+    assertJsonMapping(domainSearchResult, sample);
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package be.dnsbelgium.rdap.core;
+
+import be.dnsbelgium.core.DomainName;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.Test;
+
+import static be.dnsbelgium.rdap.jackson.TestObjectMapper.assertJsonMapping;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RDAPErrorTest {
+
+  @Test
+  public void testExpectedErrorsHaveNoStackTrace() {
+    assertEquals(0, RDAPError.domainNotFound(DomainName.of("example.be")).getStackTrace().length);
+    assertEquals(0, RDAPError.badRequest("Invalid domain name", "description").getStackTrace().length);
+    assertEquals(0, RDAPError.methodNotAllowed().getStackTrace().length);
+    assertEquals(0, RDAPError.noResults("example").getStackTrace().length);
+  }
+
+  @Test
+  public void testPublicConstructorKeepsStackTrace() {
+    RDAPError error = new RDAPError(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+
+    assertTrue(error.getStackTrace().length > 0);
+  }
+
+  @Test
+  public void testDomainNotFoundTitleUsesLdhName() throws JsonProcessingException {
+    String sample = """
+        {
+          "rdapConformance" : [ "rdap_level_0" ],
+          "errorCode" : 404,
+          "title" : "Domain xn--belgi-rsa.be not found"
+        }""";
+
+    assertJsonMapping(RDAPError.domainNotFound(DomainName.of("belgië.be")), sample);
+  }
+
+  @Test
+  public void testNameserverNotFoundTitle() {
+    assertEquals("Nameserver ns.xn--belgi-rsa.be not found",
+        RDAPError.nameserverNotFound(DomainName.of("ns.belgië.be")).getTitle());
+  }
+
+}
@@ -0,0 +1,154 @@
+package be.dnsbelgium.rdap.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static be.dnsbelgium.rdap.core.Common.DEFAULT_RDAP_CONFORMANCE;
+import static be.dnsbelgium.rdap.jackson.TestObjectMapper.OBJECT_MAPPER;
+import static be.dnsbelgium.rdap.jackson.TestObjectMapper.assertJsonMapping;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingSearchResultTest {
+
+  private final Domain domain1 = new Domain(null, null, null, null, null,
+      null, null, "abc-123", null, null, null, null,
+      null, null, null, null);
+  private final Domain domain2 = new Domain(null, null, null, null, null,
+      null, null, "xyz-789", null, null, null, null,
+      null, null, null, null);
+
+  @Test
+  public void testSameJsonAsDomainsSearchResult() throws JsonProcessingException {
+    String sample = """
+        {
+          "rdapConformance" : [ "rdap_level_0" ],
+          "domainSearchResults" : [ {
+            "objectClassName" : "domain",
+            "handle" : "abc-123"
+          }, {
+            "objectClassName" : "domain",
+            "handle" : "xyz-789"
+          } ]
+        }""";
+
+    DomainsSearchResult domainsSearchResult = new DomainsSearchResult(List.of(domain1, domain2));
+    domainsSearchResult.addRdapConformance(DEFAULT_RDAP_CONFORMANCE);
+    assertJsonMapping(domainsSearchResult, sample);
+
+    StreamingSearchResult streamingSearchResult = new StreamingSearchResult("domainSearchResults", Stream.of(domain1, domain2));
+    streamingSearchResult.addRdapConformance(DEFAULT_RDAP_CONFORMANCE);
+    assertJsonMapping(streamingSearchResult, sample);
+  }
+
+  @Test
+  public void testMetadataAfterResults() throws JsonProcessingException {
+    String sample = """
+        {
+          "rdapConformance" : [ "rdap_level_0", "paging" ],
+          "domainSearchResults" : [ {
+            "objectClassName" : "domain",
+            "handle" : "abc-123"
+          } ],
+          "paging_metadata" : {
+            "pageSize" : 1,
+            "pageNumber" : 1
+          }
+        }""";
+
+    StreamingSearchResult result = new StreamingSearchResult("domainSearchResults", Stream.of(domain1));
+    result.addRdapConformance(DEFAULT_RDAP_CONFORMANCE);
+    result.addRdapConformance("paging");
+    result.pagingMetadata = new PagingMetadata(null, 1, 1, null);
+    assertJsonMapping(result, sample);
+  }
+
+  @Test
+  public void testStreamIsClosedAfterWriting() throws JsonProcessingException {
+    AtomicBoolean closed = new AtomicBoolean();
+    StreamingSearchResult result = new StreamingSearchResult("domainSearchResults",
+        Stream.of(domain1).onClose(() -> closed.set(true)));
+    assertFalse(result.isEmpty());
+    assertFalse(closed.get());
+    assertJsonMapping(result, """
+        {
+          "domainSearchResults" : [ {
+            "objectClassName" : "domain",
+            "handle" : "abc-123"
+          } ]
+        }""");
+    assertTrue(closed.get());
+  }
+
+  @Test
+  public void testLimitedStream() throws JsonProcessingException {
+    String sample = """
+        {
+          "domainSearchResults" : [ {
+            "objectClassName" : "domain",
+            "handle" : "abc-123"
+          } ],
+          "notices" : [ {
+            "title" : "Result set truncated",
+            "type" : "result set truncated due to excessive load",
+            "description" : [ "The search was stopped before all results were found, refine it to get fewer results." ]
+          } ]
+        }""";
+
+    StreamingSearchResult result = new StreamingSearchResult("domainSearchResults", Stream.of(domain1, domain2));
+    result.setLimits(1, null);
+    assertJsonMapping(result, sample);
+    assertTrue(result.isTruncated());
+
+    List<Domain> domains = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      domains.add(domain1);
+    }
+    StreamingSearchResult expired = new StreamingSearchResult("domainSearchResults", domains.stream());
+    expired.setLimits(Long.MAX_VALUE, Instant.now().minusSeconds(1));
+    JsonNode json = OBJECT_MAPPER.readTree(OBJECT_MAPPER.writeValueAsString(expired));
+    assertEquals(64, json.get("domainSearchResults").size());
+    assertEquals("Result set truncated", json.get("notices").get(0).get("title").asText());
+  }
+
+  @Test
+  public void testFieldSet() throws JsonProcessingException {
+    StreamingSearchResult result = StreamingSearchResult.of("domainSearchResults",
+        new DomainsSearchResult(List.of(domain1, domain2)));
+    result.setFieldSet(FieldSet.BRIEF);
+    assertJsonMapping(result, """
+        {
+          "domainSearchResults" : [ {
+            "objectClassName" : "domain",
+            "handle" : "abc-123"
+          }, {
+            "objectClassName" : "domain",
+            "handle" : "xyz-789"
+          } ]
+        }""");
+
+    StreamingSearchResult ids = new StreamingSearchResult("domainSearchResults", Stream.of(domain1));
+    ids.setFieldSet(FieldSet.ID);
+    assertJsonMapping(ids, """
+        {
+          "domainSearchResults" : [ {
+            "objectClassName" : "domain"
+          } ]
+        }""");
+  }
+
+  @Test
+  public void testEmpty() {
+    StreamingSearchResult result = new StreamingSearchResult("domainSearchResults", Collections.emptyList().stream());
+    assertTrue(result.isEmpty());
+  }
+}
@@ -0,0 +1,129 @@
+package be.dnsbelgium.rdap.core;
+
+import be.dnsbelgium.core.DomainName;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+
+import static be.dnsbelgium.rdap.core.Common.DEFAULT_RDAP_CONFORMANCE;
+import static be.dnsbelgium.rdap.jackson.TestObjectMapper.assertJsonMapping;
+
+public class SubsetTest {
+
+  private final Link self = new Link(URI.create("https://rdap.example/domain/example.be"), "self",
+      URI.create("https://rdap.example/domain/example.be"), null, null, null, "application/rdap+json");
+  private final Link related = new Link(URI.create("https://rdap.example/domain/example.be"), "related",
+      URI.create("https://registrar.example/"), null, null, null, null);
+  private final Entity registrant = new Entity(null, null, null, null, Entity.OBJECT_CLASS_NAME, null, null, null,
+      "REG-1", null, List.of(Entity.Role.Default.REGISTRANT), null, null, null);
+  private final Domain domain = new Domain(List.of(self, related),
+      List.of(new Notice("Terms of use", null, List.of("Use it well"), null)), null, "en", null,
+      List.of(Status.Default.ACTIVE), null, "D-1", DomainName.of("example.be"), DomainName.of("example.be"), null,
+      null, null, List.of(registrant), null, null);
+
+  @Test
+  public void testIdDomain() throws JsonProcessingException {
+    domain.addRdapConformance(DEFAULT_RDAP_CONFORMANCE);
+    assertJsonMapping(new Subset(domain, FieldSet.ID, null), """
+        {
+          "rdapConformance" : [ "rdap_level_0", "subsetting" ],
+          "objectClassName" : "domain",
+          "ldhName" : "example.be",
+          "notices" : [ {
+            "title" : "Terms of use",
+            "description" : [ "Use it well" ]
+          } ]
+        }""");
+  }
+
+  @Test
+  public void testBriefDomain() throws JsonProcessingException {
+    SubsettingMetadata metadata = new SubsettingMetadata("brief", Collections.singletonList(
+        new SubsettingMetadata.AvailableFieldSet("full", "All", true, null)));
+    assertJsonMapping(new Subset(domain, FieldSet.BRIEF, metadata), """
+        {
+          "rdapConformance" : [ "subsetting" ],
+          "objectClassName" : "domain",
+          "handle" : "D-1",
+          "ldhName" : "example.be",
+          "unicodeName" : "example.be",
+          "status" : [ "active" ],
+          "links" : [ {
+            "value" : "https://rdap.example/domain/example.be",
+            "rel" : "self",
+            "href" : "https://rdap.example/domain/example.be",
+            "type" : "application/rdap+json"
+          } ],
+          "notices" : [ {
+            "title" : "Terms of use",
+            "description" : [ "Use it well" ]
+          } ],
+          "subsetting_metadata" : {
+            "currentFieldSet" : "brief",
+            "availableFieldSets" : [ {
+              "name" : "full",
+              "description" : "All",
+              "default" : true
+            } ]
+          }
+        }""");
+  }
+
+  @Test
+  public void testFullDomain() throws JsonProcessingException {
+    domain.addRdapConformance(DEFAULT_RDAP_CONFORMANCE);
+    SubsettingMetadata metadata = new SubsettingMetadata("full", Collections.singletonList(
+        new SubsettingMetadata.AvailableFieldSet("full", "All", true, null)));
+    assertJsonMapping(new Subset(domain, FieldSet.FULL, metadata), """
+        {
+          "rdapConformance" : [ "rdap_level_0", "subsetting" ],
+          "objectClassName" : "domain",
+          "links" : [ {
+            "value" : "https://rdap.example/domain/example.be",
+            "rel" : "self",
+            "href" : "https://rdap.example/domain/example.be",
+            "type" : "application/rdap+json"
+          }, {
+            "value" : "https://rdap.example/domain/example.be",
+            "rel" : "related",
+            "href" : "https://registrar.example/"
+          } ],
+          "notices" : [ {
+            "title" : "Terms of use",
+            "description" : [ "Use it well" ]
+          } ],
+          "lang" : "en",
+          "status" : [ "active" ],
+          "handle" : "D-1",
+          "ldhName" : "example.be",
+          "unicodeName" : "example.be",
+          "entities" : [ {
+            "objectClassName" : "entity",
+            "handle" : "REG-1",
+            "roles" : [ "registrant" ]
+          } ],
+          "subsetting_metadata" : {
+            "currentFieldSet" : "full",
+            "availableFieldSets" : [ {
+              "name" : "full",
+              "description" : "All",
+              "default" : true
+            } ]
+          }
+        }""");
+  }
+
+  @Test
+  public void testBriefEntity() throws JsonProcessingException {
+    assertJsonMapping(new Subset(registrant, FieldSet.BRIEF, null), """
+        {
+          "rdapConformance" : [ "subsetting" ],
+          "objectClassName" : "entity",
+          "handle" : "REG-1",
+          "roles" : [ "registrant" ]
+        }""");
+  }
+}
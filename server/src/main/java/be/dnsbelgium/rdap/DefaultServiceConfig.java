@@ -1,39 +1,62 @@
 package be.dnsbelgium.rdap;
 
 import be.dnsbelgium.rdap.service.*;
+import be.dnsbelgium.rdap.service.cache.*;
 import be.dnsbelgium.rdap.service.impl.*;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 @Configuration
 public class DefaultServiceConfig {
+
+  @Autowired
+  private Environment environment;
+
   @Bean
   public DomainService getDomainService() {
-  return new DefaultDomainService();
-}
+    return new CachingDomainService(new DefaultDomainService(), cacheSettings("domain"), notFoundCacheSettings("domain"));
+  }
 
   @Bean
   public NameserverService getNameserverService() {
-    return new DefaultNameserverService();
+    return new CachingNameserverService(new DefaultNameserverService(), cacheSettings("nameserver"), notFoundCacheSettings("nameserver"));
   }
 
   @Bean
   public EntityService getEntityService() {
-    return new DefaultEntityService();
+    return new CachingEntityService(new DefaultEntityService(), cacheSettings("entity"), notFoundCacheSettings("entity"));
   }
 
   @Bean
   public IPService getIPService() {
-    return new DefaultIPService();
+    return new CachingIPService(new DefaultIPService(), cacheSettings("ip"), notFoundCacheSettings("ip"));
   }
 
   @Bean
   public AutNumService getAutNumService() {
-    return new DefaultAutNumService();
+    return new CachingAutNumService(new DefaultAutNumService(), cacheSettings("autnum"), notFoundCacheSettings("autnum"));
   }
 
   @Bean
   public HelpService getHelpService() {
-    return new DefaultHelpService();
+    return new CachingHelpService(new DefaultHelpService());
+  }
+
+  /**
+   * Settings of the lookup cache for the given object type, read from the properties
+   * cache.&lt;type&gt;.maximumSize and cache.&lt;type&gt;.timeToLiveSeconds.
+   */
+  protected CacheSettings cacheSettings(String type) {
+    return CacheSettings.of(environment, "cache." + type);
+  }
+
+  /**
+   * Settings of the cache for lookups of the given object type that found nothing, read from the properties
+   * cache.&lt;type&gt;.notFound.maximumSize and cache.&lt;type&gt;.notFound.timeToLiveSeconds.
+   */
+  protected CacheSettings notFoundCacheSettings(String type) {
+    return CacheSettings.of(environment, "cache." + type + ".notFound");
   }
 }
@@ -15,10 +15,19 @@
  */
 package be.dnsbelgium.rdap;
 
+import be.dnsbelgium.rdap.http.CacheControlResponseBodyAdvice;
+import be.dnsbelgium.rdap.http.ETagResponseBodyAdvice;
+import be.dnsbelgium.rdap.http.FreshnessPolicies;
+import be.dnsbelgium.rdap.http.PrerenderedResponses;
+import be.dnsbelgium.rdap.http.RdapJsonHttpMessageConverter;
+import be.dnsbelgium.rdap.http.ResponseBodyCache;
 import be.dnsbelgium.rdap.jackson.CustomObjectMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
@@ -32,6 +41,12 @@ import java.util.List;
 @Configuration
 public class WebConfig extends WebMvcConfigurationSupport {
 
+  @Autowired
+  private Environment environment;
+
+  @Value("${cache.response.maximumBytes:67108864}")
+  private long responseCacheMaximumBytes;
+
   @Override
   protected void addResourceHandlers(ResourceHandlerRegistry registry) {
     registry.addResourceHandler("/robots.txt").addResourceLocations("classpath:/static/");
@@ -75,9 +90,41 @@ public class WebConfig extends WebMvcConfigurationSupport {
 
   @Bean
   MappingJackson2HttpMessageConverter converter() {
-    MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
-    converter.setObjectMapper(getObjectMapper());
-    return converter;
+    return new RdapJsonHttpMessageConverter(getObjectMapper(), responseBodyCache());
+  }
+
+  /**
+   * Serialized lookup results, bounded by the property cache.response.maximumBytes (64 MiB by default, 0 disables it).
+   */
+  @Bean
+  public ResponseBodyCache responseBodyCache() {
+    return new ResponseBodyCache(getObjectMapper(), responseCacheMaximumBytes);
+  }
+
+  @Bean
+  public ETagResponseBodyAdvice eTagResponseBodyAdvice() {
+    return new ETagResponseBodyAdvice(responseBodyCache());
+  }
+
+  /**
+   * Cache-Control and Expires policies, read from the http.cache.* properties.
+   */
+  @Bean
+  public FreshnessPolicies freshnessPolicies() {
+    return new FreshnessPolicies(environment);
+  }
+
+  /**
+   * The constant error responses, serialized at startup and used by the ExceptionAdvice.
+   */
+  @Bean
+  public PrerenderedResponses prerenderedResponses() {
+    return new PrerenderedResponses(getObjectMapper(), freshnessPolicies());
+  }
+
+  @Bean
+  public CacheControlResponseBodyAdvice cacheControlResponseBodyAdvice() {
+    return new CacheControlResponseBodyAdvice(freshnessPolicies());
   }
 
   @Bean
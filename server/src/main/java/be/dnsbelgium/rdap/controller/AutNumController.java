@@ -27,13 +27,33 @@ public class AutNumController {
 
   @RequestMapping(value = "/{autnum}", method = RequestMethod.GET)
   @ResponseBody
-  public AutNum get(@PathVariable("autnum") int autNum) throws RDAPError {
-    logger.debug("Query(GET) for autnum {}", autNum);
+  public AutNum get(@PathVariable("autnum") String autNumParam) throws RDAPError {
+    logger.debug("Query(GET) for autnum {}", autNumParam);
+    int autNum = parseAutNum(autNumParam);
     AutNum result = autNumService.getAutNum(autNum);
     if (result == null) {
-      logger.debug("AutNum result for {} is null. Throwing AutNumNotFound Error", autNum);
+      logger.debug("AutNum result for {} is null. Throwing AutNumNotFound Error", autNumParam);
       throw RDAPError.autNumNotFound(autNum);
     }
     return result;
   }
+
+  /**
+   * @return the AS number as an unsigned 32 bit value, numbers from 2^31 to 2^32 - 1 are negative ints
+   */
+  static int parseAutNum(String autNum) throws RDAPError {
+    // at most 10 digits, so the value fits in a long before the range check
+    int length = autNum.length();
+    boolean valid = length > 0 && length <= 10;
+    long value = 0;
+    for (int i = 0; valid && i < length; i++) {
+      char c = autNum.charAt(i);
+      valid = c >= '0' && c <= '9';
+      value = value * 10 + (c - '0');
+    }
+    if (!valid || value > 0xFFFFFFFFL) {
+      throw RDAPError.badRequest("Invalid autnum", "%s is not a valid AS number".formatted(autNum));
+    }
+    return (int) value;
+  }
 }
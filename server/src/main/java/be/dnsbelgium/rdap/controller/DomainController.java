@@ -33,6 +33,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import be.dnsbelgium.core.DomainName;
@@ -58,9 +59,12 @@ public class DomainController {
 
 	@RequestMapping(value = "/{domainName}", method = RequestMethod.GET)
 	@ResponseBody
-	public Domain get(@PathVariable("domainName") final String domainName) throws RDAPError {
+	public Object get(@PathVariable("domainName") final String domainName,
+			@RequestParam(value = "fieldSet", required = false) final String fieldSet) throws RDAPError {
 		logger.debug("Query(GET) for domain {}", domainName);
-    return getDomain(domainName);
+		Subsetting subsetting = Subsetting.of(fieldSet);
+		Domain domain = getDomain(domainName);
+		return subsetting == null ? domain : subsetting.apply(domain);
 	}
 
 	private Domain getDomain(String domainName) throws RDAPError {
@@ -80,10 +84,13 @@ public class DomainController {
 	}
 
 	@RequestMapping(value = "/{domainName}", method = RequestMethod.HEAD)
-	public ResponseEntity<Void> head(@PathVariable("domainName") final String domainName) throws RDAPError {
+	public ResponseEntity<Object> head(@PathVariable("domainName") final String domainName,
+			@RequestParam(value = "fieldSet", required = false) final String fieldSet) throws RDAPError {
 		logger.debug("Query(HEAD) for domain {}", domainName);
-    getDomain(domainName);
-    return new ResponseEntity<>(null, new HttpHeaders(), HttpStatus.OK);
+		Subsetting subsetting = Subsetting.of(fieldSet);
+		Domain domain = getDomain(domainName);
+    // the body is never sent for HEAD, but it yields the ETag and Content-Length of the GET response
+    return new ResponseEntity<>(subsetting == null ? domain : subsetting.apply(domain), new HttpHeaders(), HttpStatus.OK);
 	}
 
 	@ExceptionHandler(value = RDAPError.NotAuthoritative.class)
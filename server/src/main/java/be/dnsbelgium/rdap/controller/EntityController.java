@@ -27,25 +27,31 @@ public class EntityController {
 
 	@RequestMapping(value = "/{handle}", method = RequestMethod.GET)
 	@ResponseBody
-	public Entity get(@PathVariable("handle") final String handle) throws RDAPError {
+	public Object get(@PathVariable("handle") final String handle,
+			@RequestParam(value = "fieldSet", required = false) final String fieldSet) throws RDAPError {
 		logger.debug("Query(GET) for entity with handle: {}", handle);
+		Subsetting subsetting = Subsetting.of(fieldSet);
 		Entity entity = entityService.getEntity(handle);
 		if (entity == null) {
 			logger.debug("Entity result for {} is null. Throwing EntityNotFound Error", handle);
 			throw RDAPError.entityNotFound(handle);
 		}
-		return entity;
+		return subsetting == null ? entity : subsetting.apply(entity);
 	}
 	
 	@RequestMapping(value = "/{handle}", method = RequestMethod.HEAD)
-	public ResponseEntity<Void> head(@PathVariable("handle") final String handle) throws RDAPError {
+	public ResponseEntity<Object> head(@PathVariable("handle") final String handle,
+			@RequestParam(value = "fieldSet", required = false) final String fieldSet) throws RDAPError {
 		logger.debug("Query(HEAD) for entity with handle: {}", handle);
+		Subsetting subsetting = Subsetting.of(fieldSet);
 		Entity entity = entityService.getEntity(handle);
 		if (entity == null) {
 			logger.debug("Entity result for {} is null. Throwing EntityNotFound Error", handle);
 			throw RDAPError.entityNotFound(handle);
 		}
-		return new ResponseEntity<Void>(null, new HttpHeaders(), HttpStatus.OK);
+		// the body is never sent for HEAD, but it yields the ETag and Content-Length of the GET response
+		return new ResponseEntity<Object>(subsetting == null ? entity : subsetting.apply(entity), new HttpHeaders(),
+				HttpStatus.OK);
 	}
 
 	@RequestMapping(value = "/{handle}", method = { RequestMethod.DELETE, RequestMethod.PUT, RequestMethod.OPTIONS,
@@ -55,9 +55,16 @@ public class IPController {
   }
 
   private IPNetwork getNetwork(String ipAddress) throws RDAPError {
+    final CIDR cidr;
+    try {
+      cidr = CIDR.of(ipAddress);
+    } catch (IllegalArgumentException e) {
+      logger.debug("IP address {} is not valid", ipAddress);
+      throw RDAPError.badRequest("Invalid IP address", "%s is not a valid IP address or network".formatted(ipAddress));
+    }
     IPNetwork ipNetwork;
     try {
-      ipNetwork = ipService.getIPNetwork(CIDR.of(ipAddress));
+      ipNetwork = ipService.getIPNetwork(cidr);
       if (ipNetwork == null) {
         logger.debug("IP result for {} is null. Throwing IPNotFound Error", ipAddress);
         throw RDAPError.ipNotFound(ipAddress);
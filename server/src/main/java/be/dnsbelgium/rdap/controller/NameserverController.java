@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import jakarta.servlet.http.HttpServletResponse;
@@ -46,17 +47,24 @@ public class NameserverController {
 
 	@RequestMapping(value = "/{nameserverName}", method = RequestMethod.GET)
 	@ResponseBody
-	public Nameserver get(@PathVariable("nameserverName") final String nameserverName) throws RDAPError {
+	public Object get(@PathVariable("nameserverName") final String nameserverName,
+			@RequestParam(value = "fieldSet", required = false) final String fieldSet) throws RDAPError {
 		logger.debug("Query(GET) for nameserver {}", nameserverName);
+		Subsetting subsetting = Subsetting.of(fieldSet);
 		final DomainName domainName;
 		try {
-			domainName = DomainName.of(nameserverName);
+			try {
+				domainName = DomainName.of(nameserverName);
+			} catch (IllegalArgumentException e) {
+				logger.warn("Nameserver name {} is not valid", nameserverName, e);
+				throw RDAPError.badRequest("Invalid nameserver name", "Nameserver name %s is not valid".formatted(nameserverName));
+			}
 			Nameserver nameserver = nameserverService.getNameserver(domainName);
 			if (nameserver == null) {
 				logger.debug("Query(GET) result for {} is null. Throwing NameserverNotFound Error", nameserverName);
 				throw RDAPError.nameserverNotFound(domainName);
 			}
-			return nameserver;
+			return subsetting == null ? nameserver : subsetting.apply(nameserver);
 		} catch (LabelException.IDNParseException e) {
 			List<String> description = new ArrayList<String>(e.getErrors().size());
 			for (IDNA.Error error : e.getErrors()) {
@@ -72,17 +80,26 @@ public class NameserverController {
 	}
 
 	@RequestMapping(value = "/{nameserverName}", method = RequestMethod.HEAD)
-	public ResponseEntity<Void> head(@PathVariable("nameserverName") final String nameserverName) throws RDAPError {
+	public ResponseEntity<Object> head(@PathVariable("nameserverName") final String nameserverName,
+			@RequestParam(value = "fieldSet", required = false) final String fieldSet) throws RDAPError {
 		logger.debug("Query(HEAD) for nameserver {}", nameserverName);
+		Subsetting subsetting = Subsetting.of(fieldSet);
 		final DomainName domainName;
 		try {
-			domainName = DomainName.of(nameserverName);
+			try {
+				domainName = DomainName.of(nameserverName);
+			} catch (IllegalArgumentException e) {
+				logger.warn("Nameserver name {} is not valid", nameserverName, e);
+				throw RDAPError.badRequest("Invalid nameserver name", "Nameserver name %s is not valid".formatted(nameserverName));
+			}
 			Nameserver nameserver = nameserverService.getNameserver(domainName);
 			if (nameserver == null) {
 				logger.debug("Query(HEAD) result for {} is null. Throwing NameserverNotFound Error", nameserverName);
 				throw RDAPError.nameserverNotFound(domainName);
 			}
-			return new ResponseEntity<Void>(null, new HttpHeaders(), HttpStatus.OK);
+			// the body is never sent for HEAD, but it yields the ETag and Content-Length of the GET response
+			return new ResponseEntity<Object>(subsetting == null ? nameserver : subsetting.apply(nameserver), new HttpHeaders(),
+					HttpStatus.OK);
 		} catch (LabelException.IDNParseException e) {
 			List<String> description = new ArrayList<String>(e.getErrors().size());
 			for (IDNA.Error error : e.getErrors()) {
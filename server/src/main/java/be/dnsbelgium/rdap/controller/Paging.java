@@ -0,0 +1,219 @@
+package be.dnsbelgium.rdap.controller;
+
+import be.dnsbelgium.rdap.RdapMediaType;
+import be.dnsbelgium.rdap.core.Link;
+import be.dnsbelgium.rdap.core.PagingMetadata;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.core.SearchResult;
+import be.dnsbelgium.rdap.core.SortingMetadata;
+import be.dnsbelgium.rdap.core.StreamingSearchResult;
+import be.dnsbelgium.rdap.service.PageRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The count, sort and cursor parameters of RFC 8977 and the paging_metadata and sorting_metadata they lead to.
+ *
+ * The cursor a client gets is the cursor of the service, prefixed with the page number and base64url encoded.
+ *
+ * When the client does not page and the server does not page all searches, but searches are limited (see
+ * SearchSettings), a single page holds all results up to the limits. A cursor of the service then only means the
+ * search was cut short, and the result is marked truncated instead of linking to a next page.
+ *
+ * count=only, an extension of the count parameter, asks for the totalCount alone: the controller then calls the count
+ * method of the service, with the limits of a search in a PageRequest (see countRequest), and answers with an empty
+ * page (see countOnly).
+ */
+final class Paging {
+
+  static final String PAGING_CONFORMANCE = "paging";
+
+  static final String SORTING_CONFORMANCE = "sorting";
+
+  static final String COUNT_ONLY = "only";
+
+  /**
+   * The size of a page when a client asks for paging and the server does not page all searches
+   */
+  static final int DEFAULT_PAGE_SIZE = 100;
+
+  private final PageRequest request;
+
+  private final int pageNumber;
+
+  private final String sort;
+
+  private final String sortProperty;
+
+  private final boolean paged;
+
+  private final int maxResults;
+
+  private Paging(PageRequest request, int pageNumber, String sort, String sortProperty, boolean paged, int maxResults) {
+    this.request = request;
+    this.pageNumber = pageNumber;
+    this.sort = sort;
+    this.sortProperty = sortProperty;
+    this.paged = paged;
+    this.maxResults = maxResults;
+  }
+
+  /**
+   * @param sortProperty the one property the results can be sorted on
+   * @return null when the search returns all results at once, without limits
+   * @throws RDAPError when a parameter is not valid
+   */
+  static Paging of(SearchSettings settings, String count, String sort, String cursor, String sortProperty) throws RDAPError {
+    int pageSize = settings.getPageSize();
+    int maxResults = settings.getMaxResults();
+    Instant deadline = deadline(settings);
+    if (pageSize <= 0 && count == null && sort == null && cursor == null) {
+      if (!settings.isLimited()) {
+        return null;
+      }
+      PageRequest request = new PageRequest(maxResults > 0 ? maxResults : Integer.MAX_VALUE, null, null, false, false, deadline);
+      return new Paging(request, 1, null, sortProperty, false, maxResults);
+    }
+    boolean descending = false;
+    if (sort != null) {
+      String property = sort;
+      int colon = sort.indexOf(':');
+      if (colon >= 0) {
+        property = sort.substring(0, colon);
+        String order = sort.substring(colon + 1);
+        if (!order.equals("a") && !order.equals("d")) {
+          throw RDAPError.badRequest("Invalid sort", "The sort order of '%s' must be a or d".formatted(sort));
+        }
+        descending = order.equals("d");
+      }
+      if (!property.equals(sortProperty)) {
+        throw RDAPError.badRequest("Invalid sort", "'%s' is not supported, results can only be sorted on %s".formatted(sort, sortProperty));
+      }
+    }
+    if (count != null && !count.equals("true") && !count.equals("false")) {
+      throw RDAPError.badRequest("Invalid count", "count must be true, false or only");
+    }
+    int pageNumber = 1;
+    String serviceCursor = null;
+    if (cursor != null) {
+      try {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int colon = decoded.indexOf(':');
+        pageNumber = Integer.parseInt(decoded.substring(0, colon));
+        serviceCursor = decoded.substring(colon + 1);
+      } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+        throw invalidCursor();
+      }
+      if (pageNumber < 1) {
+        throw invalidCursor();
+      }
+    }
+    int size = pageSize > 0 ? pageSize : DEFAULT_PAGE_SIZE;
+    if (maxResults > 0) {
+      size = Math.min(size, maxResults);
+    }
+    PageRequest request = new PageRequest(size, serviceCursor, sort == null ? null : sortProperty, descending,
+        "true".equals(count), deadline);
+    return new Paging(request, pageNumber, sort, sortProperty, true, maxResults);
+  }
+
+  private static RDAPError invalidCursor() {
+    return RDAPError.badRequest("Invalid cursor", "The cursor was not returned by this server");
+  }
+
+  /**
+   * @return the time by which a search must return, null when searches have no time budget
+   */
+  static Instant deadline(SearchSettings settings) {
+    return settings.getTimeBudget().isZero() ? null : Instant.now().plus(settings.getTimeBudget());
+  }
+
+  /**
+   * @return the PageRequest of a count method: its size is the maximum number of results, its deadline the time budget
+   */
+  static PageRequest countRequest(SearchSettings settings) {
+    int maxResults = settings.getMaxResults();
+    return new PageRequest(maxResults > 0 ? maxResults : Integer.MAX_VALUE, null, null, false, true, deadline(settings));
+  }
+
+  /**
+   * @param totalCount the count of the service, null when it stopped at the limits of the search
+   * @return a result without results, with the totalCount in the paging_metadata, or marked as truncated without it
+   */
+  static SearchResult countOnly(String resultsName, String rdapConformance, Long totalCount) {
+    StreamingSearchResult result = new StreamingSearchResult(resultsName, Stream.empty());
+    result.addRdapConformance(rdapConformance);
+    result.addRdapConformance(PAGING_CONFORMANCE);
+    result.pagingMetadata = new PagingMetadata(totalCount, 0, 1, null);
+    if (totalCount == null) {
+      result.markTruncated();
+    }
+    return result;
+  }
+
+  /**
+   * Applies the maximum number of results and the time budget to a streamed search.
+   */
+  static void limit(StreamingSearchResult result, SearchSettings settings) {
+    result.setLimits(settings.getMaxResults() > 0 ? settings.getMaxResults() : Long.MAX_VALUE, deadline(settings));
+  }
+
+  PageRequest getRequest() {
+    return request;
+  }
+
+  /**
+   * @return true when the results are paged as in RFC 8977, false when there is a single page up to the limits
+   */
+  boolean isPaged() {
+    return paged;
+  }
+
+  /**
+   * Applies the maximum number of results, for services that ignore the PageRequest, and adds the metadata when the
+   * client pages.
+   *
+   * @param jsonPath the JSONPath of the sort property in the results
+   */
+  void complete(SearchResult result, String jsonPath) {
+    if (maxResults > 0) {
+      result.limit(maxResults);
+    }
+    if (paged) {
+      addMetadata(result, jsonPath);
+    } else if (result.getNextCursor() != null) {
+      result.setNextCursor(null);
+      result.markTruncated();
+    }
+  }
+
+  /**
+   * Adds the paging_metadata and sorting_metadata, with a link to the next page when there is one.
+   *
+   * @param jsonPath the JSONPath of the sort property in the results
+   */
+  private void addMetadata(SearchResult result, String jsonPath) {
+    List<Link> links = null;
+    if (result.getNextCursor() != null) {
+      String next = Base64.getUrlEncoder().withoutPadding()
+          .encodeToString(((pageNumber + 1) + ":" + result.getNextCursor()).getBytes(StandardCharsets.UTF_8));
+      ServletUriComponentsBuilder current = ServletUriComponentsBuilder.fromCurrentRequest();
+      URI value = current.build().toUri();
+      URI href = current.replaceQueryParam("cursor", next).build().toUri();
+      links = Collections.singletonList(new Link(value, "next", href, null, null, null, RdapMediaType.APPLICATION_RDAP_JSON_VALUE));
+    }
+    List<?> results = result.getResults();
+    result.pagingMetadata = new PagingMetadata(result.getTotalCount(), results == null ? 0 : results.size(), pageNumber, links);
+    result.sortingMetadata = new SortingMetadata(sort,
+        Collections.singletonList(new SortingMetadata.Sort(sortProperty, jsonPath, true, null)));
+    result.addRdapConformance(PAGING_CONFORMANCE);
+    result.addRdapConformance(SORTING_CONFORMANCE);
+  }
+}
@@ -1,41 +1,87 @@
 package be.dnsbelgium.rdap.controller;
 
+import be.dnsbelgium.rdap.core.Domain;
 import be.dnsbelgium.rdap.core.DomainsSearchResult;
 import be.dnsbelgium.rdap.core.Nameserver;
 import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.core.SearchResult;
+import be.dnsbelgium.rdap.core.StreamingSearchResult;
 import be.dnsbelgium.rdap.service.DomainService;
+import be.dnsbelgium.rdap.service.PageRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.stream.Stream;
+
 @Controller
 @RequestMapping(value = "domains")
 public class SearchDomainsController {
 
 	private final static Logger logger = LoggerFactory.getLogger(SearchDomainsController.class);
 
+	private static final String RESULTS_NAME = "domainSearchResults";
+
+	private static final String SORT_JSON_PATH = "$.domainSearchResults[*].ldhName";
+
 	private final DomainService domainService;
 
-	@Autowired
+	private final SearchSettings settings;
+
 	public SearchDomainsController(DomainService domainService) {
+		this(domainService, SearchSettings.defaults());
+	}
+
+	/**
+	 * Reads the settings from the search.* properties, see SearchSettings.
+	 */
+	@Autowired
+	public SearchDomainsController(DomainService domainService, Environment environment) {
+		this(domainService, SearchSettings.of(environment, "search"));
+	}
+
+	public SearchDomainsController(DomainService domainService, SearchSettings settings) {
 		this.domainService = domainService;
+		this.settings = settings;
 	}
 
 	@RequestMapping(method = RequestMethod.GET)
 	@ResponseBody
-	public DomainsSearchResult search(@RequestParam(value = "name", required = false) final String name,
+	public SearchResult search(@RequestParam(value = "name", required = false) final String name,
 			@RequestParam(value = "nsLdhName", required = false) final String nsLdhName,
-			@RequestParam(value = "nsIp", required = false) final String nsIp) throws RDAPError {
+			@RequestParam(value = "nsIp", required = false) final String nsIp,
+			@RequestParam(value = "count", required = false) final String count,
+			@RequestParam(value = "sort", required = false) final String sort,
+			@RequestParam(value = "cursor", required = false) final String cursor,
+			@RequestParam(value = "fieldSet", required = false) final String fieldSet) throws RDAPError {
 		checkParams(name, nsLdhName, nsIp);
+		if (Paging.COUNT_ONLY.equals(count)) {
+			return handleCountOnly(name, nsLdhName, nsIp);
+		}
+		Paging paging = Paging.of(settings, count, sort, cursor, "name");
+		Subsetting subsetting = Subsetting.of(fieldSet);
+		if (settings.isStreaming() && (paging == null || !paging.isPaged())) {
+			return subset(handleStreamingSearch(name, nsLdhName, nsIp), subsetting);
+		}
+		DomainsSearchResult domains;
 		if (name != null) {
-			return handleByNameSearch(name);
+			domains = handleByNameSearch(name, paging);
+		} else if (nsLdhName != null) {
+			domains = handleByNsLdhNameSearch(nsLdhName, paging);
+		} else {
+			domains = handleByNsIpSearch(nsIp, paging);
 		}
-		if (nsLdhName != null) {
-			return handleByNsLdhNameSearch(nsLdhName);
+		if (paging != null) {
+			paging.complete(domains, SORT_JSON_PATH);
 		}
-		return handleByNsIpSearch(nsIp);
+		return subset(domains, subsetting);
+	}
+
+	private static SearchResult subset(SearchResult result, Subsetting subsetting) {
+		return subsetting == null ? result : subsetting.apply(result, RESULTS_NAME);
 	}
 
 	@RequestMapping(method = { RequestMethod.DELETE, RequestMethod.PUT, RequestMethod.OPTIONS, RequestMethod.PATCH,
@@ -47,24 +93,68 @@ public class SearchDomainsController {
 		throw RDAPError.methodNotAllowed();
 	}
 
-	private DomainsSearchResult handleByNsIpSearch(String nsIp) throws RDAPError {
-		DomainsSearchResult domains = domainService.searchDomainsByNsIp(nsIp);
+	/**
+	 * Returns the number of domains the search finds, without the domains.
+	 */
+	private SearchResult handleCountOnly(String name, String nsLdhName, String nsIp) throws RDAPError {
+		PageRequest page = Paging.countRequest(settings);
+		Long count;
+		if (name != null) {
+			count = domainService.countDomainsByName(name, page);
+		} else if (nsLdhName != null) {
+			count = domainService.countDomainsByNsLdhName(nsLdhName, page);
+		} else {
+			count = domainService.countDomainsByNsIp(nsIp, page);
+		}
+		return Paging.countOnly(RESULTS_NAME, Domain.DEFAULT_RDAP_CONFORMANCE, count);
+	}
+
+	/**
+	 * Returns the domains as the service streams them, with the same 404 as the other searches when there are none.
+	 */
+	private SearchResult handleStreamingSearch(String name, String nsLdhName, String nsIp) throws RDAPError {
+		Stream<Domain> domains;
+		if (name != null) {
+			domains = domainService.streamDomainsByName(name);
+		} else if (nsLdhName != null) {
+			domains = domainService.streamDomainsByNsLdhName(nsLdhName);
+		} else {
+			domains = domainService.streamDomainsByNsIp(nsIp);
+		}
+		if (domains == null) {
+			throw RDAPError.noResults(name != null ? name : nsLdhName != null ? nsLdhName : nsIp);
+		}
+		StreamingSearchResult result = new StreamingSearchResult(RESULTS_NAME, domains);
+		if (name != null && result.isEmpty()) {
+			result.close();
+			throw RDAPError.noResults(name);
+		}
+		result.addRdapConformance(Domain.DEFAULT_RDAP_CONFORMANCE);
+		Paging.limit(result, settings);
+		return result;
+	}
+
+	private DomainsSearchResult handleByNsIpSearch(String nsIp, Paging paging) throws RDAPError {
+		DomainsSearchResult domains = paging == null ? domainService.searchDomainsByNsIp(nsIp)
+				: domainService.searchDomainsByNsIp(nsIp, paging.getRequest());
 		if (domains == null) {
 			throw RDAPError.noResults(nsIp);
 		}
 		return domains;
 	}
 
-	private DomainsSearchResult handleByNsLdhNameSearch(String nsLdhName) throws RDAPError {
-		DomainsSearchResult domains = domainService.searchDomainsByNsLdhName(nsLdhName);
+	private DomainsSearchResult handleByNsLdhNameSearch(String nsLdhName, Paging paging) throws RDAPError {
+		DomainsSearchResult domains = paging == null ? domainService.searchDomainsByNsLdhName(nsLdhName)
+				: domainService.searchDomainsByNsLdhName(nsLdhName, paging.getRequest());
 		if (domains == null) {
 			throw RDAPError.noResults(nsLdhName);
 		}
 		return domains;
 	}
 
-	private DomainsSearchResult handleByNameSearch(String name) throws RDAPError {
-		DomainsSearchResult domains = domainService.searchDomainsByName(name);
+	private DomainsSearchResult handleByNameSearch(String name, Paging paging) throws RDAPError {
+		DomainsSearchResult domains = paging == null ? domainService.searchDomainsByName(name)
+				: domainService.searchDomainsByName(name, paging.getRequest());
 		if (domains == null || domains.domainSearchResults == null || domains.domainSearchResults.isEmpty()) {
 			throw RDAPError.noResults(name);
 		}
@@ -1,43 +1,93 @@
 package be.dnsbelgium.rdap.controller;
 
 import be.dnsbelgium.rdap.core.EntitiesSearchResult;
+import be.dnsbelgium.rdap.core.Entity;
 import be.dnsbelgium.rdap.core.Nameserver;
 import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.core.SearchResult;
+import be.dnsbelgium.rdap.core.StreamingSearchResult;
 import be.dnsbelgium.rdap.service.EntityService;
+import be.dnsbelgium.rdap.service.PageRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import java.util.stream.Stream;
+
 @Controller
 @RequestMapping(value = "entities")
 public class SearchEntitiesController {
 
+	private static final String RESULTS_NAME = "entitySearchResults";
+
+	private static final String FN_JSON_PATH = "$.entitySearchResults[*].vcardArray[1][?(@[0]=='fn')][3]";
+
+	private static final String HANDLE_JSON_PATH = "$.entitySearchResults[*].handle";
+
 	private final EntityService entityService;
 
-	@Autowired
+	private final SearchSettings settings;
+
 	public SearchEntitiesController(EntityService entityService) {
+		this(entityService, SearchSettings.defaults());
+	}
+
+	/**
+	 * Reads the settings from the search.* properties, see SearchSettings.
+	 */
+	@Autowired
+	public SearchEntitiesController(EntityService entityService, Environment environment) {
+		this(entityService, SearchSettings.of(environment, "search"));
+	}
+
+	public SearchEntitiesController(EntityService entityService, SearchSettings settings) {
 		this.entityService = entityService;
+		this.settings = settings;
 	}
 
 	@RequestMapping(method = RequestMethod.GET)
 	@ResponseBody
-	public EntitiesSearchResult search(@RequestParam(value = "fn", required = false) final String fn,
-			@RequestParam(value = "handle", required = false) final String handle) throws RDAPError {
+	public SearchResult search(@RequestParam(value = "fn", required = false) final String fn,
+			@RequestParam(value = "handle", required = false) final String handle,
+			@RequestParam(value = "count", required = false) final String count,
+			@RequestParam(value = "sort", required = false) final String sort,
+			@RequestParam(value = "cursor", required = false) final String cursor,
+			@RequestParam(value = "fieldSet", required = false) final String fieldSet) throws RDAPError {
 		EntitiesSearchResult result = null;
 		String query = checkParams(fn, handle);
+		if (Paging.COUNT_ONLY.equals(count)) {
+			PageRequest page = Paging.countRequest(settings);
+			Long total = fn != null ? entityService.countByFn(fn, page) : entityService.countByHandle(handle, page);
+			return Paging.countOnly(RESULTS_NAME, Entity.DEFAULT_RDAP_CONFORMANCE, total);
+		}
+		// entities are sorted on the property they are searched on
+		Paging paging = Paging.of(settings, count, sort, cursor, fn != null ? "fn" : "handle");
+		Subsetting subsetting = Subsetting.of(fieldSet);
+		if (settings.isStreaming() && (paging == null || !paging.isPaged())) {
+			return subset(handleStreamingSearch(fn, handle, query), subsetting);
+		}
 		if (fn != null) {
-			result = entityService.searchByFn(fn);
+			result = paging == null ? entityService.searchByFn(fn) : entityService.searchByFn(fn, paging.getRequest());
 		}
 		if (handle != null) {
-			result = entityService.searchByHandle(handle);
+			result = paging == null ? entityService.searchByHandle(handle)
+					: entityService.searchByHandle(handle, paging.getRequest());
 		}
 		if (result == null || result.entitySearchResults == null || result.entitySearchResults.isEmpty()) {
 			throw RDAPError.noResults(query);
 		}
-		return result;
+		if (paging != null) {
+			paging.complete(result, fn != null ? FN_JSON_PATH : HANDLE_JSON_PATH);
+		}
+		return subset(result, subsetting);
+	}
+
+	private static SearchResult subset(SearchResult result, Subsetting subsetting) {
+		return subsetting == null ? result : subsetting.apply(result, RESULTS_NAME);
 	}
 
 	@RequestMapping(method = { RequestMethod.DELETE, RequestMethod.PUT, RequestMethod.OPTIONS, RequestMethod.PATCH,
@@ -48,6 +98,24 @@ public class SearchEntitiesController {
 		throw RDAPError.methodNotAllowed();
 	}
 
+	/**
+	 * Returns the entities as the service streams them, with the same 404 as the other searches when there are none.
+	 */
+	private SearchResult handleStreamingSearch(String fn, String handle, String query) throws RDAPError {
+		Stream<Entity> entities = fn != null ? entityService.streamByFn(fn) : entityService.streamByHandle(handle);
+		if (entities == null) {
+			throw RDAPError.noResults(query);
+		}
+		StreamingSearchResult result = new StreamingSearchResult(RESULTS_NAME, entities);
+		if (result.isEmpty()) {
+			result.close();
+			throw RDAPError.noResults(query);
+		}
+		result.addRdapConformance(Entity.DEFAULT_RDAP_CONFORMANCE);
+		Paging.limit(result, settings);
+		return result;
+	}
+
 	private String checkParams(String fn, String handle) throws RDAPError {
 		if (fn == null && handle == null) {
 			throw RDAPError.badRequest("Param missing", "One and only one of 'fn' or 'handle' should be provided");
@@ -3,41 +3,88 @@ package be.dnsbelgium.rdap.controller;
 import be.dnsbelgium.rdap.core.Nameserver;
 import be.dnsbelgium.rdap.core.NameserversSearchResult;
 import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.core.SearchResult;
+import be.dnsbelgium.rdap.core.StreamingSearchResult;
 import be.dnsbelgium.rdap.service.NameserverService;
+import be.dnsbelgium.rdap.service.PageRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import java.util.stream.Stream;
+
 @Controller
 @RequestMapping(value = "nameservers")
 public class SearchNameserversController {
 
+	private static final String RESULTS_NAME = "nameserverSearchResults";
+
+	private static final String SORT_JSON_PATH = "$.nameserverSearchResults[*].ldhName";
+
 	private final NameserverService nameserverService;
 
-	@Autowired
+	private final SearchSettings settings;
+
 	public SearchNameserversController(NameserverService nameserverService) {
+		this(nameserverService, SearchSettings.defaults());
+	}
+
+	/**
+	 * Reads the settings from the search.* properties, see SearchSettings.
+	 */
+	@Autowired
+	public SearchNameserversController(NameserverService nameserverService, Environment environment) {
+		this(nameserverService, SearchSettings.of(environment, "search"));
+	}
+
+	public SearchNameserversController(NameserverService nameserverService, SearchSettings settings) {
 		this.nameserverService = nameserverService;
+		this.settings = settings;
 	}
 
 	@RequestMapping(method = RequestMethod.GET)
 	@ResponseBody
-	public NameserversSearchResult search(@RequestParam(value = "name", required = false) final String name,
-			@RequestParam(value = "ip", required = false) final String ip) throws RDAPError {
+	public SearchResult search(@RequestParam(value = "name", required = false) final String name,
+			@RequestParam(value = "ip", required = false) final String ip,
+			@RequestParam(value = "count", required = false) final String count,
+			@RequestParam(value = "sort", required = false) final String sort,
+			@RequestParam(value = "cursor", required = false) final String cursor,
+			@RequestParam(value = "fieldSet", required = false) final String fieldSet) throws RDAPError {
 		NameserversSearchResult result = null;
 		String query = checkParams(name, ip);
+		if (Paging.COUNT_ONLY.equals(count)) {
+			PageRequest page = Paging.countRequest(settings);
+			Long total = name != null ? nameserverService.countByName(name, page) : nameserverService.countByIp(ip, page);
+			return Paging.countOnly(RESULTS_NAME, Nameserver.DEFAULT_RDAP_CONFORMANCE, total);
+		}
+		Paging paging = Paging.of(settings, count, sort, cursor, "name");
+		Subsetting subsetting = Subsetting.of(fieldSet);
+		if (settings.isStreaming() && (paging == null || !paging.isPaged())) {
+			return subset(handleStreamingSearch(name, ip, query), subsetting);
+		}
 		if (name != null) {
-			result = nameserverService.searchByName(name);
+			result = paging == null ? nameserverService.searchByName(name)
+					: nameserverService.searchByName(name, paging.getRequest());
 		}
 		if (ip != null) {
-			result = nameserverService.searchByIp(ip);
+			result = paging == null ? nameserverService.searchByIp(ip)
+					: nameserverService.searchByIp(ip, paging.getRequest());
 		}
 		if (result == null || result.nameserverSearchResults == null || result.nameserverSearchResults.isEmpty()) {
 			throw RDAPError.noResults(query);
 		}
-		return result;
+		if (paging != null) {
+			paging.complete(result, SORT_JSON_PATH);
+		}
+		return subset(result, subsetting);
+	}
+
+	private static SearchResult subset(SearchResult result, Subsetting subsetting) {
+		return subsetting == null ? result : subsetting.apply(result, RESULTS_NAME);
 	}
 
 	@RequestMapping(method = { RequestMethod.DELETE, RequestMethod.PUT, RequestMethod.OPTIONS, RequestMethod.PATCH,
@@ -48,6 +95,24 @@ public class SearchNameserversController {
 		throw RDAPError.methodNotAllowed();
 	}
 
+	/**
+	 * Returns the nameservers as the service streams them, with the same 404 as the other searches when there are none.
+	 */
+	private SearchResult handleStreamingSearch(String name, String ip, String query) throws RDAPError {
+		Stream<Nameserver> nameservers = name != null ? nameserverService.streamByName(name) : nameserverService.streamByIp(ip);
+		if (nameservers == null) {
+			throw RDAPError.noResults(query);
+		}
+		StreamingSearchResult result = new StreamingSearchResult(RESULTS_NAME, nameservers);
+		if (result.isEmpty()) {
+			result.close();
+			throw RDAPError.noResults(query);
+		}
+		result.addRdapConformance(Nameserver.DEFAULT_RDAP_CONFORMANCE);
+		Paging.limit(result, settings);
+		return result;
+	}
+
 	private String checkParams(String name, String ip) throws RDAPError {
 		if (name == null && ip == null) {
 			throw RDAPError.badRequest("Param missing", "One and only one of 'name' or 'ip' should be provided");
@@ -0,0 +1,88 @@
+package be.dnsbelgium.rdap.controller;
+
+import org.springframework.core.env.PropertyResolver;
+
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * How the search controllers answer a search.
+ *
+ * A page size of zero only pages the results when the client asks for it (RFC 8977). Streaming writes the results as
+ * the service produces them, instead of collecting them in a list first.
+ *
+ * The maximum number of results and the time budget limit the work a single search can cause, zero means no limit.
+ * A search that reaches a limit returns the results found so far with the "result set truncated" notice.
+ */
+public final class SearchSettings {
+
+  private static final SearchSettings DEFAULTS = new SearchSettings(0, false);
+
+  private final int pageSize;
+
+  private final boolean streaming;
+
+  private final int maxResults;
+
+  private final Duration timeBudget;
+
+  public SearchSettings(int pageSize, boolean streaming) {
+    this(pageSize, streaming, 0, Duration.ZERO);
+  }
+
+  public SearchSettings(int pageSize, boolean streaming, int maxResults, Duration timeBudget) {
+    checkArgument(pageSize >= 0, "pageSize must not be negative");
+    checkArgument(maxResults >= 0, "maxResults must not be negative");
+    checkArgument(timeBudget != null && !timeBudget.isNegative(), "timeBudget must not be negative");
+    this.pageSize = pageSize;
+    this.streaming = streaming;
+    this.maxResults = maxResults;
+    this.timeBudget = timeBudget;
+  }
+
+  public static SearchSettings defaults() {
+    return DEFAULTS;
+  }
+
+  /**
+   * Reads the settings from the properties {@code <prefix>.pageSize}, {@code <prefix>.streaming},
+   * {@code <prefix>.maxResults} and {@code <prefix>.timeBudgetMillis}.
+   */
+  public static SearchSettings of(PropertyResolver properties, String prefix) {
+    int pageSize = properties.getProperty(prefix + ".pageSize", Integer.class, 0);
+    boolean streaming = properties.getProperty(prefix + ".streaming", Boolean.class, false);
+    int maxResults = properties.getProperty(prefix + ".maxResults", Integer.class, 0);
+    long timeBudgetMillis = properties.getProperty(prefix + ".timeBudgetMillis", Long.class, 0L);
+    return new SearchSettings(pageSize, streaming, maxResults, Duration.ofMillis(timeBudgetMillis));
+  }
+
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  public int getMaxResults() {
+    return maxResults;
+  }
+
+  public Duration getTimeBudget() {
+    return timeBudget;
+  }
+
+  /**
+   * @return true when searches are limited in number of results or time
+   */
+  public boolean isLimited() {
+    return maxResults > 0 || !timeBudget.isZero();
+  }
+
+  @Override
+  public String toString() {
+    return "pageSize=[" + pageSize + "] streaming=[" + streaming + "] maxResults=[" + maxResults
+        + "] timeBudget=[" + timeBudget + "]";
+  }
+}
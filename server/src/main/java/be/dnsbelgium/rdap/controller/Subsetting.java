@@ -0,0 +1,95 @@
+package be.dnsbelgium.rdap.controller;
+
+import be.dnsbelgium.rdap.RdapMediaType;
+import be.dnsbelgium.rdap.core.Domain;
+import be.dnsbelgium.rdap.core.Entity;
+import be.dnsbelgium.rdap.core.FieldSet;
+import be.dnsbelgium.rdap.core.Link;
+import be.dnsbelgium.rdap.core.Nameserver;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.core.SearchResult;
+import be.dnsbelgium.rdap.core.StreamingSearchResult;
+import be.dnsbelgium.rdap.core.Subset;
+import be.dnsbelgium.rdap.core.SubsettingMetadata;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The fieldSet parameter of RFC 8982 and the subsetting_metadata it leads to.
+ *
+ * The full field set is the default. The id and brief field sets are written by the FieldSetSerializer straight from
+ * the objects of the service, so the members they leave out are never serialized. A search or lookup that names a
+ * field set, the full one included, gets the subsetting rdapConformance and subsetting_metadata.
+ */
+final class Subsetting {
+
+  private final FieldSet fieldSet;
+
+  private Subsetting(FieldSet fieldSet) {
+    this.fieldSet = fieldSet;
+  }
+
+  /**
+   * @return null when the client does not ask for a field set
+   * @throws RDAPError when the field set is not one of RFC 8982
+   */
+  static Subsetting of(String fieldSet) throws RDAPError {
+    if (fieldSet == null) {
+      return null;
+    }
+    FieldSet value = FieldSet.of(fieldSet);
+    if (value == null) {
+      throw RDAPError.badRequest("Invalid fieldSet", "'%s' is not supported, the field sets are id, brief and full".formatted(fieldSet));
+    }
+    return new Subsetting(value);
+  }
+
+  /**
+   * Applies the field set to a search result, after the paging (see Paging.complete).
+   *
+   * @param resultsName the member holding the results, such as domainSearchResults
+   * @return the result, or a result that writes the same results in the field set
+   */
+  SearchResult apply(SearchResult result, String resultsName) {
+    result.subsettingMetadata = metadata();
+    result.addRdapConformance(Subset.SUBSETTING_CONFORMANCE);
+    if (fieldSet == FieldSet.FULL) {
+      return result;
+    }
+    StreamingSearchResult subset = result instanceof StreamingSearchResult
+        ? (StreamingSearchResult) result : StreamingSearchResult.of(resultsName, result);
+    subset.setFieldSet(fieldSet);
+    return subset;
+  }
+
+  /**
+   * @return the domain in the field set, with the subsetting_metadata
+   */
+  Subset apply(Domain domain) {
+    return new Subset(domain, fieldSet, metadata());
+  }
+
+  Subset apply(Nameserver nameserver) {
+    return new Subset(nameserver, fieldSet, metadata());
+  }
+
+  Subset apply(Entity entity) {
+    return new Subset(entity, fieldSet, metadata());
+  }
+
+  private SubsettingMetadata metadata() {
+    URI value = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    List<SubsettingMetadata.AvailableFieldSet> available = new ArrayList<>();
+    for (FieldSet each : FieldSet.values()) {
+      URI href = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("fieldSet", each.getName()).build().toUri();
+      Link link = new Link(value, "alternate", href, null, null, null, RdapMediaType.APPLICATION_RDAP_JSON_VALUE);
+      available.add(new SubsettingMetadata.AvailableFieldSet(each.getName(), each.getDescription(),
+          each == FieldSet.FULL, Collections.singletonList(link)));
+    }
+    return new SubsettingMetadata(fieldSet.getName(), available);
+  }
+}
@@ -2,12 +2,17 @@ package be.dnsbelgium.rdap.exception;
 
 import be.dnsbelgium.core.LabelException;
 import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.http.FreshnessPolicies;
+import be.dnsbelgium.rdap.http.PrerenderedResponses;
+import be.dnsbelgium.rdap.http.RenderedResponse;
 import com.ibm.icu.text.IDNA;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -23,6 +28,12 @@ import static be.dnsbelgium.rdap.RdapMediaType.APPLICATION_RDAP_JSON_UTF8_VALUE;
 public class ExceptionAdvice extends ResponseEntityExceptionHandler {
   private final Logger logger = LoggerFactory.getLogger(ExceptionAdvice.class);
 
+  @Autowired(required = false)
+  private FreshnessPolicies freshnessPolicies;
+
+  @Autowired(required = false)
+  private PrerenderedResponses prerenderedResponses;
+
   @ExceptionHandler(value = RDAPError.class)
   public HttpEntity<RDAPError> handleRdapError(RDAPError error, HttpServletResponse response) {
     response.setStatus(error.getErrorCode());
@@ -30,6 +41,15 @@ public class ExceptionAdvice extends ResponseEntityExceptionHandler {
     return wrapRdapErrorInHttpEntityAndSetContentType(error);
   }
 
+  @ExceptionHandler(value = {RDAPError.MethodNotAllowed.class, RDAPError.NotImplemented.class, RDAPError.HelpNotFound.class})
+  public HttpEntity<?> handleConstantRdapError(RDAPError error, HttpServletResponse response) {
+    ResponseEntity<RenderedResponse> prerendered = prerenderedResponses == null ? null : prerenderedResponses.forError(error);
+    if (prerendered != null) {
+      return prerendered;
+    }
+    return handleRdapError(error, response);
+  }
+
   @ExceptionHandler(value = LabelException.IDNParseException.class)
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public HttpEntity<RDAPError> handleIDNParseException(LabelException.IDNParseException ipe) {
@@ -52,6 +72,9 @@ public class ExceptionAdvice extends ResponseEntityExceptionHandler {
     // see https://github.com/spring-projects/spring-framework/issues/21927
     HttpHeaders headers = new HttpHeaders();
     headers.add("Content-Type", APPLICATION_RDAP_JSON_UTF8_VALUE);
+    if (freshnessPolicies != null) {
+      freshnessPolicies.applyForError(response.getErrorCode(), headers);
+    }
 
     return new HttpEntity<>(response, headers);
   }
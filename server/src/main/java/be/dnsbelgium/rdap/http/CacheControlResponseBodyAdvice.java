@@ -0,0 +1,47 @@
+package be.dnsbelgium.rdap.http;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds Cache-Control and Expires to the lookup results of GET and HEAD requests, as decided by FreshnessPolicies.
+ *
+ * Runs before the ETagResponseBodyAdvice, so a 304 Not Modified carries the same headers as the full response.
+ */
+@ControllerAdvice
+public class CacheControlResponseBodyAdvice implements ResponseBodyAdvice<Object>, Ordered {
+
+  private final FreshnessPolicies freshnessPolicies;
+
+  public CacheControlResponseBodyAdvice(FreshnessPolicies freshnessPolicies) {
+    this.freshnessPolicies = freshnessPolicies;
+  }
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return RdapJsonHttpMessageConverter.class.isAssignableFrom(converterType);
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                ServerHttpRequest request, ServerHttpResponse response) {
+    HttpMethod method = request.getMethod();
+    if (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method)) {
+      freshnessPolicies.applyForResponse(body, response.getHeaders());
+    }
+    return body;
+  }
+
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE;
+  }
+}
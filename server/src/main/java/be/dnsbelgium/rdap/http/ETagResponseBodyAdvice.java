@@ -0,0 +1,92 @@
+package be.dnsbelgium.rdap.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Adds a strong ETag to the lookup results of GET and HEAD requests and answers 304 Not Modified when it matches
+ * the If-None-Match header of the request.
+ *
+ * The ETag is derived from the serialized body kept by the ResponseBodyCache, so a conditional request for an object
+ * that was rendered before needs no serialization at all.
+ */
+@ControllerAdvice
+public class ETagResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+  private static final String WEAK_PREFIX = "W/";
+
+  private final ResponseBodyCache responseBodyCache;
+
+  public ETagResponseBodyAdvice(ResponseBodyCache responseBodyCache) {
+    this.responseBodyCache = responseBodyCache;
+  }
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return RdapJsonHttpMessageConverter.class.isAssignableFrom(converterType);
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                ServerHttpRequest request, ServerHttpResponse response) {
+    if (!responseBodyCache.isRenderable(body) || !isGetOrHead(request.getMethod())
+        || !RdapJsonHttpMessageConverter.isUtf8(selectedContentType)) {
+      return body;
+    }
+    RenderedResponse rendered;
+    try {
+      rendered = responseBodyCache.render(body);
+    } catch (JsonProcessingException e) {
+      throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+    }
+    String eTag = rendered.getETag();
+    response.getHeaders().setETag(eTag);
+    if (matches(request.getHeaders().getIfNoneMatch(), eTag)) {
+      response.setStatusCode(HttpStatus.NOT_MODIFIED);
+      try {
+        // nothing is written for a null body, flush so the headers still reach the client
+        response.flush();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return null;
+    }
+    return rendered;
+  }
+
+  private static boolean isGetOrHead(HttpMethod method) {
+    return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+  }
+
+  /**
+   * If-None-Match uses the weak comparison (RFC 7232, section 3.2), so a W/ prefix is ignored.
+   */
+  static boolean matches(List<String> ifNoneMatch, String eTag) {
+    for (String candidate : ifNoneMatch) {
+      if ("*".equals(candidate)) {
+        return true;
+      }
+      if (candidate.startsWith(WEAK_PREFIX)) {
+        candidate = candidate.substring(WEAK_PREFIX.length());
+      }
+      if (candidate.equals(eTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,166 @@
+package be.dnsbelgium.rdap.http;
+
+import be.dnsbelgium.rdap.core.AutNum;
+import be.dnsbelgium.rdap.core.Domain;
+import be.dnsbelgium.rdap.core.Entity;
+import be.dnsbelgium.rdap.core.Event;
+import be.dnsbelgium.rdap.core.Help;
+import be.dnsbelgium.rdap.core.IPNetwork;
+import be.dnsbelgium.rdap.core.Nameserver;
+import be.dnsbelgium.rdap.core.Subset;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Decides the freshness policy of every response, configured with properties under the prefix http.cache:
+ * <ul>
+ *   <li>&lt;type&gt;.maxAgeSeconds and &lt;type&gt;.staleWhileRevalidateSeconds for the lookup results, where type
+ *   is domain, nameserver, entity, ip, autnum or help</li>
+ *   <li>error.&lt;status&gt;.maxAgeSeconds and error.&lt;status&gt;.staleWhileRevalidateSeconds for error
+ *   responses, for example error.404.maxAgeSeconds</li>
+ *   <li>rdapDatabaseUpdateIntervalSeconds, the time between two updates of the data behind the RDAP service</li>
+ * </ul>
+ * A type or status without maxAgeSeconds gets no caching headers.
+ *
+ * The max-age of a lookup result is lowered based on its events: it never reaches past the next expected update
+ * of the RDAP database, and is at most 10% of the time since the object was last changed (the heuristic of
+ * RFC 7234, section 4.2.2), so recently changed objects are revalidated sooner.
+ *
+ * Extend this class and override forResponse or forError to supply policies from your own services.
+ */
+public class FreshnessPolicies {
+
+  public static final String PREFIX = "http.cache";
+
+  public static final String[] TYPES = {"domain", "nameserver", "entity", "ip", "autnum", "help"};
+
+  private static final String LAST_CHANGED = Event.Action.Default.LAST_CHANGED.getValue();
+
+  private static final String LAST_UPDATE_OF_RDAP_DATABASE = Event.Action.Default.LAST_UPDATE_OF_RDAP_DATABASE.getValue();
+
+  private final PropertyResolver properties;
+
+  private final Clock clock;
+
+  private final Map<String, FreshnessPolicy> policies = new HashMap<>();
+
+  private final ConcurrentMap<Integer, FreshnessPolicy> errorPolicies = new ConcurrentHashMap<>();
+
+  private final Duration databaseUpdateInterval;
+
+  public FreshnessPolicies(PropertyResolver properties) {
+    this(properties, Clock.systemUTC());
+  }
+
+  public FreshnessPolicies(PropertyResolver properties, Clock clock) {
+    this.properties = properties;
+    this.clock = clock;
+    for (String type : TYPES) {
+      policies.put(type, FreshnessPolicy.of(properties, PREFIX + "." + type));
+    }
+    long interval = properties.getProperty(PREFIX + ".rdapDatabaseUpdateIntervalSeconds", Long.class, 0L);
+    this.databaseUpdateInterval = interval == 0 ? null : Duration.ofSeconds(interval);
+  }
+
+  /**
+   * @return the policy for a lookup result, in any field set, none() for any other body
+   */
+  public FreshnessPolicy forResponse(Object body) {
+    if (body instanceof Subset) {
+      body = ((Subset) body).getObject();
+    }
+    String type = typeOf(body);
+    if (type == null) {
+      return FreshnessPolicy.none();
+    }
+    return withEvents(policies.get(type), eventsOf(body));
+  }
+
+  /**
+   * @return the policy for an error response with the given HTTP status
+   */
+  public FreshnessPolicy forError(int status) {
+    return errorPolicies.computeIfAbsent(status, s -> FreshnessPolicy.of(properties, PREFIX + ".error." + s));
+  }
+
+  public void applyForResponse(Object body, HttpHeaders headers) {
+    forResponse(body).applyTo(headers, clock.millis());
+  }
+
+  public void applyForError(int status, HttpHeaders headers) {
+    forError(status).applyTo(headers, clock.millis());
+  }
+
+  protected FreshnessPolicy withEvents(FreshnessPolicy policy, List<Event> events) {
+    if (policy.isNone() || events == null) {
+      return policy;
+    }
+    long now = clock.millis();
+    for (Event event : events) {
+      if (event.getEventAction() == null || event.getEventDate() == null) {
+        continue;
+      }
+      String action = event.getEventAction().getValue();
+      long date = event.getEventDate().getMillis();
+      if (LAST_CHANGED.equals(action)) {
+        policy = policy.withMaxAgeAtMost(Duration.ofMillis(now - date).dividedBy(10));
+      } else if (LAST_UPDATE_OF_RDAP_DATABASE.equals(action) && databaseUpdateInterval != null) {
+        policy = policy.withMaxAgeAtMost(Duration.ofMillis(date - now).plus(databaseUpdateInterval));
+      }
+    }
+    return policy;
+  }
+
+  private static String typeOf(Object body) {
+    if (body instanceof Domain) {
+      return "domain";
+    }
+    if (body instanceof Nameserver) {
+      return "nameserver";
+    }
+    if (body instanceof Entity) {
+      return "entity";
+    }
+    if (body instanceof IPNetwork) {
+      return "ip";
+    }
+    if (body instanceof AutNum) {
+      return "autnum";
+    }
+    if (body instanceof Help) {
+      return "help";
+    }
+    return null;
+  }
+
+  private static List<Event> eventsOf(Object body) {
+    if (body instanceof Domain) {
+      return ((Domain) body).getEvents();
+    }
+    if (body instanceof Nameserver) {
+      return ((Nameserver) body).getEvents();
+    }
+    if (body instanceof Entity) {
+      return ((Entity) body).getEvents();
+    }
+    if (body instanceof IPNetwork) {
+      return ((IPNetwork) body).getEvents();
+    }
+    if (body instanceof AutNum) {
+      return ((AutNum) body).getEvents();
+    }
+    return null;
+  }
+
+  public Clock getClock() {
+    return clock;
+  }
+}
@@ -0,0 +1,113 @@
+package be.dnsbelgium.rdap.http;
+
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * How long clients and shared caches may reuse a response: the Cache-Control max-age and stale-while-revalidate
+ * directives and the matching Expires header.
+ */
+public final class FreshnessPolicy {
+
+  private static final FreshnessPolicy NONE = new FreshnessPolicy();
+
+  private final Duration maxAge;
+
+  private final Duration staleWhileRevalidate;
+
+  private FreshnessPolicy() {
+    this.maxAge = null;
+    this.staleWhileRevalidate = Duration.ZERO;
+  }
+
+  public FreshnessPolicy(Duration maxAge, Duration staleWhileRevalidate) {
+    checkNotNull(maxAge, "maxAge");
+    checkNotNull(staleWhileRevalidate, "staleWhileRevalidate");
+    checkArgument(!maxAge.isNegative(), "maxAge must not be negative: %s", maxAge);
+    checkArgument(!staleWhileRevalidate.isNegative(), "staleWhileRevalidate must not be negative: %s", staleWhileRevalidate);
+    this.maxAge = maxAge;
+    this.staleWhileRevalidate = staleWhileRevalidate;
+  }
+
+  /**
+   * @return the policy that adds no caching headers at all
+   */
+  public static FreshnessPolicy none() {
+    return NONE;
+  }
+
+  /**
+   * Reads the properties &lt;prefix&gt;.maxAgeSeconds and &lt;prefix&gt;.staleWhileRevalidateSeconds.
+   *
+   * @return the configured policy, or none() when maxAgeSeconds is not set
+   */
+  public static FreshnessPolicy of(PropertyResolver properties, String prefix) {
+    Long maxAge = properties.getProperty(prefix + ".maxAgeSeconds", Long.class);
+    if (maxAge == null) {
+      return NONE;
+    }
+    long staleWhileRevalidate = properties.getProperty(prefix + ".staleWhileRevalidateSeconds", Long.class, 0L);
+    return new FreshnessPolicy(Duration.ofSeconds(maxAge), Duration.ofSeconds(staleWhileRevalidate));
+  }
+
+  public boolean isNone() {
+    return maxAge == null;
+  }
+
+  /**
+   * @return this policy with its max-age lowered to limit (or to 0 when limit is negative), if it is higher
+   */
+  public FreshnessPolicy withMaxAgeAtMost(Duration limit) {
+    if (isNone() || maxAge.compareTo(limit) <= 0) {
+      return this;
+    }
+    return new FreshnessPolicy(limit.isNegative() ? Duration.ZERO : limit, staleWhileRevalidate);
+  }
+
+  /**
+   * Sets Cache-Control and Expires, unless this is the none() policy.
+   *
+   * @param now the time of the response, in milliseconds since the epoch
+   */
+  public void applyTo(HttpHeaders headers, long now) {
+    if (isNone()) {
+      return;
+    }
+    headers.setCacheControl(toCacheControl());
+    headers.setExpires(now + maxAge.toMillis());
+  }
+
+  /**
+   * @return the Cache-Control directives of this policy, null for the none() policy
+   */
+  public CacheControl toCacheControl() {
+    if (isNone()) {
+      return null;
+    }
+    CacheControl cacheControl = CacheControl.maxAge(maxAge);
+    if (!staleWhileRevalidate.isZero()) {
+      cacheControl = cacheControl.staleWhileRevalidate(staleWhileRevalidate);
+    }
+    return cacheControl;
+  }
+
+  public Duration getMaxAge() {
+    return maxAge;
+  }
+
+  public Duration getStaleWhileRevalidate() {
+    return staleWhileRevalidate;
+  }
+
+  @Override
+  public String toString() {
+    return isNone() ? "FreshnessPolicy{none}"
+        : "FreshnessPolicy{maxAge=" + maxAge + ", staleWhileRevalidate=" + staleWhileRevalidate + "}";
+  }
+}
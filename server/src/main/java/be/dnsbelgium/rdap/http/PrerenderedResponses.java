@@ -0,0 +1,61 @@
+package be.dnsbelgium.rdap.http;
+
+import be.dnsbelgium.rdap.RdapMediaType;
+import be.dnsbelgium.rdap.core.RDAPError;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The responses for the constant errors (method not allowed, not implemented and help not found), serialized once at
+ * startup together with their headers.
+ *
+ * Expires is left out of the precomputed headers since it depends on the time of the request, the Cache-Control
+ * max-age of the error policy takes precedence over it anyway.
+ */
+public class PrerenderedResponses {
+
+  private final Map<RDAPError, ResponseEntity<RenderedResponse>> errors = new IdentityHashMap<>();
+
+  public PrerenderedResponses(ObjectMapper objectMapper, FreshnessPolicies freshnessPolicies) {
+    for (RDAPError error : List.of(RDAPError.methodNotAllowed(), RDAPError.notImplemented(), RDAPError.helpNotFound())) {
+      int status = error.getErrorCode();
+      errors.put(error, prerender(objectMapper, error, status, freshnessPolicies.forError(status)));
+    }
+  }
+
+  /**
+   * @return a response entity with the serialized body, to be returned as is for every request
+   */
+  public static ResponseEntity<RenderedResponse> prerender(ObjectMapper objectMapper, Object body, int status,
+                                                           FreshnessPolicy freshnessPolicy) {
+    RenderedResponse rendered;
+    try {
+      rendered = new RenderedResponse(objectMapper.writeValueAsBytes(body));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize " + body, e);
+    }
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(RdapMediaType.APPLICATION_RDAP_JSON_UTF8);
+    headers.setContentLength(rendered.getLength());
+    CacheControl cacheControl = freshnessPolicy.toCacheControl();
+    if (cacheControl != null) {
+      headers.setCacheControl(cacheControl);
+    }
+    return new ResponseEntity<>(rendered, HttpHeaders.readOnlyHttpHeaders(headers), HttpStatusCode.valueOf(status));
+  }
+
+  /**
+   * @return the prerendered response for a constant error, null for any other error
+   */
+  public ResponseEntity<RenderedResponse> forError(RDAPError error) {
+    return errors.get(error);
+  }
+}
@@ -0,0 +1,68 @@
+package be.dnsbelgium.rdap.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Jackson converter that writes lookup results and RenderedResponse bodies as ready-made bytes.
+ *
+ * Cacheable bodies (see ResponseBodyCache) are serialized once and copied to the output stream on later requests.
+ * All other bodies, and responses in a charset other than UTF-8, are written by Jackson as before.
+ */
+public class RdapJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+  private final ResponseBodyCache responseBodyCache;
+
+  public RdapJsonHttpMessageConverter(ObjectMapper objectMapper, ResponseBodyCache responseBodyCache) {
+    super(objectMapper);
+    this.responseBodyCache = responseBodyCache;
+  }
+
+  @Override
+  protected Long getContentLength(Object object, MediaType contentType) throws IOException {
+    RenderedResponse rendered = render(object, contentType);
+    if (rendered == null) {
+      return super.getContentLength(object, contentType);
+    }
+    return (long) rendered.getLength();
+  }
+
+  @Override
+  protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+    RenderedResponse rendered = render(object, outputMessage.getHeaders().getContentType());
+    if (rendered == null) {
+      super.writeInternal(object, type, outputMessage);
+      return;
+    }
+    rendered.writeTo(outputMessage.getBody());
+  }
+
+  private RenderedResponse render(Object object, MediaType contentType) throws IOException {
+    if (!isUtf8(contentType)) {
+      return null;
+    }
+    if (object instanceof RenderedResponse) {
+      return (RenderedResponse) object;
+    }
+    if (responseBodyCache.isRenderable(object)) {
+      return responseBodyCache.render(object);
+    }
+    return null;
+  }
+
+  static boolean isUtf8(MediaType contentType) {
+    Charset charset = contentType == null ? null : contentType.getCharset();
+    return charset == null || StandardCharsets.UTF_8.equals(charset);
+  }
+
+  public ResponseBodyCache getResponseBodyCache() {
+    return responseBodyCache;
+  }
+}
@@ -0,0 +1,67 @@
+package be.dnsbelgium.rdap.http;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A response body that is already serialized to UTF-8 JSON.
+ *
+ * RdapJsonHttpMessageConverter copies the bytes to the response as they are, so controllers and exception handlers
+ * can return an instance of this class to skip serialization altogether. Any other Jackson based converter writes
+ * the body as a raw JSON value.
+ */
+@JsonSerialize(using = RenderedResponse.Serializer.class)
+public final class RenderedResponse {
+
+  public static class Serializer extends JsonSerializer<RenderedResponse> {
+
+    @Override
+    public void serialize(RenderedResponse value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+      jgen.writeRawValue(new String(value.body, StandardCharsets.UTF_8));
+    }
+  }
+
+  private final byte[] body;
+
+  private String eTag;
+
+  public RenderedResponse(byte[] body) {
+    this.body = checkNotNull(body, "body");
+  }
+
+  public int getLength() {
+    return body.length;
+  }
+
+  /**
+   * @return a strong entity tag derived from the serialized body, computed on first use
+   */
+  public String getETag() {
+    String result = eTag;
+    if (result == null) {
+      result = '"' + Hashing.murmur3_128().hashBytes(body).toString() + '"';
+      eTag = result;
+    }
+    return result;
+  }
+
+  public void writeTo(OutputStream outputStream) throws IOException {
+    outputStream.write(body);
+  }
+
+  /**
+   * @return a copy of the serialized body
+   */
+  public byte[] toByteArray() {
+    return body.clone();
+  }
+}
@@ -0,0 +1,112 @@
+package be.dnsbelgium.rdap.http;
+
+import be.dnsbelgium.rdap.core.AutNum;
+import be.dnsbelgium.rdap.core.Domain;
+import be.dnsbelgium.rdap.core.Entity;
+import be.dnsbelgium.rdap.core.Help;
+import be.dnsbelgium.rdap.core.IPNetwork;
+import be.dnsbelgium.rdap.core.Nameserver;
+import be.dnsbelgium.rdap.core.Subset;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.io.UncheckedIOException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Keeps the serialized form of the objects returned by the lookup services.
+ *
+ * Entries are keyed on the identity of the object, so a response object that is served again from a lookup cache is
+ * written without running Jackson. An entry disappears together with its object, or earlier when the total size of
+ * the cached bodies exceeds maximumBytes. Objects must therefore not be modified once they have been returned.
+ *
+ * Search results and errors are not cached: they are created anew for every request. Neither are lookups in a field
+ * set (see Subset), their subsetting_metadata links to the request, but they are rendered once per request (see
+ * isRenderable), so they get an ETag and a Content-Length like the other lookups.
+ */
+public class ResponseBodyCache {
+
+  private final ObjectMapper objectMapper;
+
+  private final long maximumBytes;
+
+  private final Cache<Object, RenderedResponse> cache;
+
+  /**
+   * @param maximumBytes upper bound for the total size of the cached bodies, 0 disables the cache
+   */
+  public ResponseBodyCache(ObjectMapper objectMapper, long maximumBytes) {
+    checkArgument(maximumBytes >= 0, "maximumBytes must not be negative: %s", maximumBytes);
+    this.objectMapper = checkNotNull(objectMapper, "objectMapper");
+    this.maximumBytes = maximumBytes;
+    this.cache = maximumBytes == 0 ? null : Caffeine.newBuilder()
+        .weakKeys()
+        .maximumWeight(maximumBytes)
+        .<Object, RenderedResponse>weigher((body, rendered) -> rendered.getLength())
+        .recordStats()
+        .build();
+  }
+
+  public boolean isCacheable(Object body) {
+    return body instanceof Domain
+        || body instanceof Nameserver
+        || body instanceof Entity
+        || body instanceof IPNetwork
+        || body instanceof AutNum
+        || body instanceof Help;
+  }
+
+  /**
+   * @return true when the body is a lookup result, which is rendered before it is written to derive its ETag
+   */
+  public boolean isRenderable(Object body) {
+    return isCacheable(body) || body instanceof Subset;
+  }
+
+  /**
+   * @return the serialized body, taken from the cache when the body is cacheable and was rendered before
+   */
+  public RenderedResponse render(Object body) throws JsonProcessingException {
+    if (cache == null || !isCacheable(body)) {
+      return serialize(body);
+    }
+    try {
+      return cache.get(body, key -> {
+        try {
+          return serialize(key);
+        } catch (JsonProcessingException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw (JsonProcessingException) e.getCause();
+    }
+  }
+
+  private RenderedResponse serialize(Object body) throws JsonProcessingException {
+    return new RenderedResponse(objectMapper.writeValueAsBytes(body));
+  }
+
+  public void invalidateAll() {
+    if (cache != null) {
+      cache.invalidateAll();
+    }
+  }
+
+  public long size() {
+    return cache == null ? 0 : cache.estimatedSize();
+  }
+
+  public CacheStats stats() {
+    return cache == null ? CacheStats.empty() : cache.stats();
+  }
+
+  public long getMaximumBytes() {
+    return maximumBytes;
+  }
+}
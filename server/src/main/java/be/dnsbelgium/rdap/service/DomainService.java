@@ -19,6 +19,9 @@ import be.dnsbelgium.core.DomainName;
 import be.dnsbelgium.rdap.core.Domain;
 import be.dnsbelgium.rdap.core.DomainsSearchResult;
 import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.core.SearchResult;
+
+import java.util.stream.Stream;
 
 public interface DomainService {
 
@@ -29,4 +32,86 @@ public interface DomainService {
   DomainsSearchResult searchDomainsByNsLdhName(String nsLdhName) throws RDAPError;
 
   DomainsSearchResult searchDomainsByNsIp(String nsLdhName) throws RDAPError;
+
+  /**
+   * One page of the results of searchDomainsByName, see PageRequest. Services that can page override this, the default
+   * ignores the page and returns all results.
+   */
+  default DomainsSearchResult searchDomainsByName(String name, PageRequest page) throws RDAPError {
+    return searchDomainsByName(name);
+  }
+
+  /**
+   * One page of the results of searchDomainsByNsLdhName, see searchDomainsByName(String, PageRequest).
+   */
+  default DomainsSearchResult searchDomainsByNsLdhName(String nsLdhName, PageRequest page) throws RDAPError {
+    return searchDomainsByNsLdhName(nsLdhName);
+  }
+
+  /**
+   * One page of the results of searchDomainsByNsIp, see searchDomainsByName(String, PageRequest).
+   */
+  default DomainsSearchResult searchDomainsByNsIp(String nsIp, PageRequest page) throws RDAPError {
+    return searchDomainsByNsIp(nsIp);
+  }
+
+  /**
+   * The results of searchDomainsByName as a Stream, null when there are none. The controller writes every domain as
+   * it comes out of the stream and closes the stream afterwards, so a service backed by a database can map rows to
+   * domains one by one instead of building a list. The default streams the list of searchDomainsByName.
+   */
+  default Stream<Domain> streamDomainsByName(String name) throws RDAPError {
+    return stream(searchDomainsByName(name));
+  }
+
+  /**
+   * The results of searchDomainsByNsLdhName as a Stream, see streamDomainsByName.
+   */
+  default Stream<Domain> streamDomainsByNsLdhName(String nsLdhName) throws RDAPError {
+    return stream(searchDomainsByNsLdhName(nsLdhName));
+  }
+
+  /**
+   * The results of searchDomainsByNsIp as a Stream, see streamDomainsByName.
+   */
+  default Stream<Domain> streamDomainsByNsIp(String nsIp) throws RDAPError {
+    return stream(searchDomainsByNsIp(nsIp));
+  }
+
+  /**
+   * The number of results of searchDomainsByName, without the domains. A service backed by a database or an index
+   * overrides this to count the matches, with a COUNT query for instance, instead of building a domain for each of
+   * them. A search without results counts 0.
+   *
+   * The page carries the limits of the search: a service may stop counting once there are more than page.getSize()
+   * matches or the deadline has passed, and then returns null, which the client gets as a truncated count.
+   *
+   * The default asks searchDomainsByName(String, PageRequest) for the totalCount of a page of one, by the same
+   * deadline. A service that ignores the PageRequest, like DefaultDomainService, builds all results to count them,
+   * so override this method when a search can match many domains.
+   */
+  default Long countDomainsByName(String name, PageRequest page) throws RDAPError {
+    return SearchResult.count(searchDomainsByName(name, PageRequest.countOnly(page.getDeadline())));
+  }
+
+  /**
+   * The number of results of searchDomainsByNsLdhName, see countDomainsByName.
+   */
+  default Long countDomainsByNsLdhName(String nsLdhName, PageRequest page) throws RDAPError {
+    return SearchResult.count(searchDomainsByNsLdhName(nsLdhName, PageRequest.countOnly(page.getDeadline())));
+  }
+
+  /**
+   * The number of results of searchDomainsByNsIp, see countDomainsByName.
+   */
+  default Long countDomainsByNsIp(String nsIp, PageRequest page) throws RDAPError {
+    return SearchResult.count(searchDomainsByNsIp(nsIp, PageRequest.countOnly(page.getDeadline())));
+  }
+
+  private static Stream<Domain> stream(DomainsSearchResult result) {
+    if (result == null) {
+      return null;
+    }
+    return result.domainSearchResults == null ? Stream.empty() : result.domainSearchResults.stream();
+  }
 }
@@ -18,6 +18,9 @@ package be.dnsbelgium.rdap.service;
 import be.dnsbelgium.rdap.core.EntitiesSearchResult;
 import be.dnsbelgium.rdap.core.Entity;
 import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.core.SearchResult;
+
+import java.util.stream.Stream;
 
 public interface EntityService {
 
@@ -26,4 +29,56 @@ public interface EntityService {
   EntitiesSearchResult searchByFn(String fn) throws RDAPError;
 
   EntitiesSearchResult searchByHandle(String handle) throws RDAPError;
+
+  /**
+   * One page of the results of searchByFn, see PageRequest. Services that can page override this, the default ignores
+   * the page and returns all results.
+   */
+  default EntitiesSearchResult searchByFn(String fn, PageRequest page) throws RDAPError {
+    return searchByFn(fn);
+  }
+
+  /**
+   * One page of the results of searchByHandle, see searchByFn(String, PageRequest).
+   */
+  default EntitiesSearchResult searchByHandle(String handle, PageRequest page) throws RDAPError {
+    return searchByHandle(handle);
+  }
+
+  /**
+   * The results of searchByFn as a Stream, null when there are none. The controller writes every entity as it comes
+   * out of the stream and closes the stream afterwards. The default streams the list of searchByFn.
+   */
+  default Stream<Entity> streamByFn(String fn) throws RDAPError {
+    return stream(searchByFn(fn));
+  }
+
+  /**
+   * The results of searchByHandle as a Stream, see streamByFn.
+   */
+  default Stream<Entity> streamByHandle(String handle) throws RDAPError {
+    return stream(searchByHandle(handle));
+  }
+
+  /**
+   * The number of results of searchByFn, without the entities, null when the limits of the page were reached first.
+   * See DomainService.countDomainsByName: the default builds all results of a service that does not page.
+   */
+  default Long countByFn(String fn, PageRequest page) throws RDAPError {
+    return SearchResult.count(searchByFn(fn, PageRequest.countOnly(page.getDeadline())));
+  }
+
+  /**
+   * The number of results of searchByHandle, see countByFn.
+   */
+  default Long countByHandle(String handle, PageRequest page) throws RDAPError {
+    return SearchResult.count(searchByHandle(handle, PageRequest.countOnly(page.getDeadline())));
+  }
+
+  private static Stream<Entity> stream(EntitiesSearchResult result) {
+    if (result == null) {
+      return null;
+    }
+    return result.entitySearchResults == null ? Stream.empty() : result.entitySearchResults.stream();
+  }
 }
@@ -18,6 +18,9 @@ package be.dnsbelgium.rdap.service;
 import be.dnsbelgium.core.DomainName;
 import be.dnsbelgium.rdap.core.*;
 import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.core.SearchResult;
+
+import java.util.stream.Stream;
 
 public interface NameserverService {
 
@@ -26,4 +29,56 @@ public interface NameserverService {
   NameserversSearchResult searchByName(String name) throws RDAPError;
 
   NameserversSearchResult searchByIp(String ip) throws RDAPError;
+
+  /**
+   * One page of the results of searchByName, see PageRequest. Services that can page override this, the default
+   * ignores the page and returns all results.
+   */
+  default NameserversSearchResult searchByName(String name, PageRequest page) throws RDAPError {
+    return searchByName(name);
+  }
+
+  /**
+   * One page of the results of searchByIp, see searchByName(String, PageRequest).
+   */
+  default NameserversSearchResult searchByIp(String ip, PageRequest page) throws RDAPError {
+    return searchByIp(ip);
+  }
+
+  /**
+   * The results of searchByName as a Stream, null when there are none. The controller writes every nameserver as it
+   * comes out of the stream and closes the stream afterwards. The default streams the list of searchByName.
+   */
+  default Stream<Nameserver> streamByName(String name) throws RDAPError {
+    return stream(searchByName(name));
+  }
+
+  /**
+   * The results of searchByIp as a Stream, see streamByName.
+   */
+  default Stream<Nameserver> streamByIp(String ip) throws RDAPError {
+    return stream(searchByIp(ip));
+  }
+
+  /**
+   * The number of results of searchByName, without the nameservers, null when the limits of the page were reached
+   * first. See DomainService.countDomainsByName: the default builds all results of a service that does not page.
+   */
+  default Long countByName(String name, PageRequest page) throws RDAPError {
+    return SearchResult.count(searchByName(name, PageRequest.countOnly(page.getDeadline())));
+  }
+
+  /**
+   * The number of results of searchByIp, see countByName.
+   */
+  default Long countByIp(String ip, PageRequest page) throws RDAPError {
+    return SearchResult.count(searchByIp(ip, PageRequest.countOnly(page.getDeadline())));
+  }
+
+  private static Stream<Nameserver> stream(NameserversSearchResult result) {
+    if (result == null) {
+      return null;
+    }
+    return result.nameserverSearchResults == null ? Stream.empty() : result.nameserverSearchResults.stream();
+  }
 }
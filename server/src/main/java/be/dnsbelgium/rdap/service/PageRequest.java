@@ -0,0 +1,99 @@
+package be.dnsbelgium.rdap.service;
+
+import java.time.Instant;
+
+/**
+ * Asks a search for one page of its results, see RFC 8977.
+ *
+ * The first page has no cursor, every next page has the nextCursor of the SearchResult before it. A cursor marks the
+ * last result of a page (keyset paging), so a service can continue from an index or with a "WHERE key > ?" query
+ * instead of skipping the results of all previous pages.
+ *
+ * A request can carry a deadline, the budget of the search. A service that passes it stops looking for results and
+ * returns what it has, with a nextCursor to continue from and marked as truncated (see SearchResult.markTruncated).
+ */
+public final class PageRequest {
+
+  private final int size;
+
+  private final String cursor;
+
+  private final String sort;
+
+  private final boolean descending;
+
+  private final boolean count;
+
+  private final Instant deadline;
+
+  /**
+   * @param size the maximum number of results of the page
+   * @param cursor the nextCursor of the previous page, null for the first page
+   * @param sort the property to sort on, null for the default order of the service
+   * @param descending true to sort in descending order
+   * @param count true when the total number of results should be returned as well
+   */
+  public PageRequest(int size, String cursor, String sort, boolean descending, boolean count) {
+    this(size, cursor, sort, descending, count, null);
+  }
+
+  /**
+   * @param deadline the time by which the search should return, null when it may take as long as it needs
+   */
+  public PageRequest(int size, String cursor, String sort, boolean descending, boolean count, Instant deadline) {
+    if (size < 1) {
+      throw new IllegalArgumentException("size must be at least 1");
+    }
+    this.size = size;
+    this.cursor = cursor;
+    this.sort = sort;
+    this.descending = descending;
+    this.count = count;
+    this.deadline = deadline;
+  }
+
+  /**
+   * @return a request for the first page, in the default order, without count
+   */
+  public static PageRequest first(int size) {
+    return new PageRequest(size, null, null, false, false);
+  }
+
+  /**
+   * @return a request for the first result with the total count, what the default count methods of the services ask for
+   */
+  public static PageRequest countOnly(Instant deadline) {
+    return new PageRequest(1, null, null, false, true, deadline);
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public String getCursor() {
+    return cursor;
+  }
+
+  public String getSort() {
+    return sort;
+  }
+
+  public boolean isDescending() {
+    return descending;
+  }
+
+  public boolean isCount() {
+    return count;
+  }
+
+  public Instant getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * @return true when the deadline has passed
+   */
+  public boolean isExpired() {
+    return deadline != null && !Instant.now().isBefore(deadline);
+  }
+}
@@ -0,0 +1,16 @@
+package be.dnsbelgium.rdap.service.cache;
+
+import be.dnsbelgium.core.DomainName;
+
+final class CacheKeys {
+
+  private CacheKeys() {}
+
+  /**
+   * Canonical key of a domain or nameserver name: the lower case LDH form, so that U-label, A-label and mixed case
+   * queries for the same name share one entry.
+   */
+  static String of(DomainName domainName) {
+    return domainName.getCanonicalValue();
+  }
+}
@@ -0,0 +1,64 @@
+package be.dnsbelgium.rdap.service.cache;
+
+import org.springframework.core.env.PropertyResolver;
+
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Size and expiry budget of a {@link LookupCache}.
+ *
+ * A maximum size of zero disables the cache.
+ */
+public final class CacheSettings {
+
+  private static final CacheSettings DISABLED = new CacheSettings(0, Duration.ZERO);
+
+  private final long maximumSize;
+
+  private final Duration timeToLive;
+
+  public CacheSettings(long maximumSize, Duration timeToLive) {
+    checkArgument(maximumSize >= 0, "maximumSize must not be negative");
+    checkNotNull(timeToLive, "timeToLive must not be null");
+    checkArgument(!timeToLive.isNegative(), "timeToLive must not be negative");
+    this.maximumSize = maximumSize;
+    this.timeToLive = timeToLive;
+  }
+
+  public static CacheSettings disabled() {
+    return DISABLED;
+  }
+
+  /**
+   * Reads the settings from the properties {@code <prefix>.maximumSize} and {@code <prefix>.timeToLiveSeconds}.
+   * Missing properties result in a disabled cache.
+   */
+  public static CacheSettings of(PropertyResolver properties, String prefix) {
+    long maximumSize = properties.getProperty(prefix + ".maximumSize", Long.class, 0L);
+    long timeToLiveSeconds = properties.getProperty(prefix + ".timeToLiveSeconds", Long.class, 0L);
+    if (maximumSize == 0 || timeToLiveSeconds == 0) {
+      return DISABLED;
+    }
+    return new CacheSettings(maximumSize, Duration.ofSeconds(timeToLiveSeconds));
+  }
+
+  public boolean isEnabled() {
+    return maximumSize > 0 && !timeToLive.isZero();
+  }
+
+  public long getMaximumSize() {
+    return maximumSize;
+  }
+
+  public Duration getTimeToLive() {
+    return timeToLive;
+  }
+
+  @Override
+  public String toString() {
+    return "maximumSize=[" + maximumSize + "] timeToLive=[" + timeToLive + "]";
+  }
+}
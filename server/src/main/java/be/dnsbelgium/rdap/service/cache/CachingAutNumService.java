@@ -0,0 +1,46 @@
+package be.dnsbelgium.rdap.service.cache;
+
+import be.dnsbelgium.rdap.core.AutNum;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.service.AutNumService;
+
+/**
+ * Caches the autnum lookups of another AutNumService, keyed on the queried AS number.
+ * Lookups that found nothing can be remembered in a separate not-found cache.
+ */
+public class CachingAutNumService implements AutNumService {
+
+  private final AutNumService delegate;
+
+  private final LookupCache<Integer, AutNum> cache;
+
+  public CachingAutNumService(AutNumService delegate, CacheSettings settings) {
+    this(delegate, settings, CacheSettings.disabled());
+  }
+
+  public CachingAutNumService(AutNumService delegate, CacheSettings settings, CacheSettings notFoundSettings) {
+    this.delegate = delegate;
+    this.cache = new LookupCache<>(settings, notFoundSettings);
+  }
+
+  @Override
+  public AutNum getAutNum(int autNum) throws RDAPError {
+    return cache.get(autNum, () -> delegate.getAutNum(autNum));
+  }
+
+  public void invalidate(int autNum) {
+    cache.invalidate(autNum);
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public LookupCache<Integer, AutNum> getCache() {
+    return cache;
+  }
+
+  public AutNumService getDelegate() {
+    return delegate;
+  }
+}
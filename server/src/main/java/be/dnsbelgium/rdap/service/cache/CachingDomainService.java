@@ -0,0 +1,111 @@
+package be.dnsbelgium.rdap.service.cache;
+
+import be.dnsbelgium.core.DomainName;
+import be.dnsbelgium.rdap.core.Domain;
+import be.dnsbelgium.rdap.core.DomainsSearchResult;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.service.DomainService;
+import be.dnsbelgium.rdap.service.PageRequest;
+
+import java.util.stream.Stream;
+
+/**
+ * Caches the domain lookups of another DomainService, keyed on the lower case LDH form of the domain name.
+ * Lookups that found nothing can be remembered in a separate not-found cache. Searches are passed on unchanged.
+ */
+public class CachingDomainService implements DomainService {
+
+  private final DomainService delegate;
+
+  private final LookupCache<String, Domain> cache;
+
+  public CachingDomainService(DomainService delegate, CacheSettings settings) {
+    this(delegate, settings, CacheSettings.disabled());
+  }
+
+  public CachingDomainService(DomainService delegate, CacheSettings settings, CacheSettings notFoundSettings) {
+    this.delegate = delegate;
+    this.cache = new LookupCache<>(settings, notFoundSettings);
+  }
+
+  @Override
+  public Domain getDomain(DomainName domainName) throws RDAPError {
+    return cache.get(CacheKeys.of(domainName), () -> delegate.getDomain(domainName));
+  }
+
+  @Override
+  public DomainsSearchResult searchDomainsByName(String name) throws RDAPError {
+    return delegate.searchDomainsByName(name);
+  }
+
+  @Override
+  public DomainsSearchResult searchDomainsByName(String name, PageRequest page) throws RDAPError {
+    return delegate.searchDomainsByName(name, page);
+  }
+
+  @Override
+  public DomainsSearchResult searchDomainsByNsLdhName(String nsLdhName) throws RDAPError {
+    return delegate.searchDomainsByNsLdhName(nsLdhName);
+  }
+
+  @Override
+  public DomainsSearchResult searchDomainsByNsLdhName(String nsLdhName, PageRequest page) throws RDAPError {
+    return delegate.searchDomainsByNsLdhName(nsLdhName, page);
+  }
+
+  @Override
+  public DomainsSearchResult searchDomainsByNsIp(String nsIp) throws RDAPError {
+    return delegate.searchDomainsByNsIp(nsIp);
+  }
+
+  @Override
+  public DomainsSearchResult searchDomainsByNsIp(String nsIp, PageRequest page) throws RDAPError {
+    return delegate.searchDomainsByNsIp(nsIp, page);
+  }
+
+  @Override
+  public Stream<Domain> streamDomainsByName(String name) throws RDAPError {
+    return delegate.streamDomainsByName(name);
+  }
+
+  @Override
+  public Stream<Domain> streamDomainsByNsLdhName(String nsLdhName) throws RDAPError {
+    return delegate.streamDomainsByNsLdhName(nsLdhName);
+  }
+
+  @Override
+  public Stream<Domain> streamDomainsByNsIp(String nsIp) throws RDAPError {
+    return delegate.streamDomainsByNsIp(nsIp);
+  }
+
+  @Override
+  public Long countDomainsByName(String name, PageRequest page) throws RDAPError {
+    return delegate.countDomainsByName(name, page);
+  }
+
+  @Override
+  public Long countDomainsByNsLdhName(String nsLdhName, PageRequest page) throws RDAPError {
+    return delegate.countDomainsByNsLdhName(nsLdhName, page);
+  }
+
+  @Override
+  public Long countDomainsByNsIp(String nsIp, PageRequest page) throws RDAPError {
+    return delegate.countDomainsByNsIp(nsIp, page);
+  }
+
+  public void invalidate(DomainName domainName) {
+    cache.invalidate(CacheKeys.of(domainName));
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public LookupCache<String, Domain> getCache() {
+    return cache;
+  }
+
+  public DomainService getDelegate() {
+    return delegate;
+  }
+}
@@ -0,0 +1,90 @@
+package be.dnsbelgium.rdap.service.cache;
+
+import be.dnsbelgium.rdap.core.EntitiesSearchResult;
+import be.dnsbelgium.rdap.core.Entity;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.service.EntityService;
+import be.dnsbelgium.rdap.service.PageRequest;
+
+import java.util.stream.Stream;
+
+/**
+ * Caches the entity lookups of another EntityService, keyed on the handle.
+ * Lookups that found nothing can be remembered in a separate not-found cache. Searches are passed on unchanged.
+ */
+public class CachingEntityService implements EntityService {
+
+  private final EntityService delegate;
+
+  private final LookupCache<String, Entity> cache;
+
+  public CachingEntityService(EntityService delegate, CacheSettings settings) {
+    this(delegate, settings, CacheSettings.disabled());
+  }
+
+  public CachingEntityService(EntityService delegate, CacheSettings settings, CacheSettings notFoundSettings) {
+    this.delegate = delegate;
+    this.cache = new LookupCache<>(settings, notFoundSettings);
+  }
+
+  @Override
+  public Entity getEntity(String handle) throws RDAPError {
+    return cache.get(handle, () -> delegate.getEntity(handle));
+  }
+
+  @Override
+  public EntitiesSearchResult searchByFn(String fn) throws RDAPError {
+    return delegate.searchByFn(fn);
+  }
+
+  @Override
+  public EntitiesSearchResult searchByFn(String fn, PageRequest page) throws RDAPError {
+    return delegate.searchByFn(fn, page);
+  }
+
+  @Override
+  public EntitiesSearchResult searchByHandle(String handle) throws RDAPError {
+    return delegate.searchByHandle(handle);
+  }
+
+  @Override
+  public EntitiesSearchResult searchByHandle(String handle, PageRequest page) throws RDAPError {
+    return delegate.searchByHandle(handle, page);
+  }
+
+  @Override
+  public Stream<Entity> streamByFn(String fn) throws RDAPError {
+    return delegate.streamByFn(fn);
+  }
+
+  @Override
+  public Stream<Entity> streamByHandle(String handle) throws RDAPError {
+    return delegate.streamByHandle(handle);
+  }
+
+  @Override
+  public Long countByFn(String fn, PageRequest page) throws RDAPError {
+    return delegate.countByFn(fn, page);
+  }
+
+  @Override
+  public Long countByHandle(String handle, PageRequest page) throws RDAPError {
+    return delegate.countByHandle(handle, page);
+  }
+
+  public void invalidate(String handle) {
+    cache.invalidate(handle);
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public LookupCache<String, Entity> getCache() {
+    return cache;
+  }
+
+  public EntityService getDelegate() {
+    return delegate;
+  }
+}
@@ -0,0 +1,43 @@
+package be.dnsbelgium.rdap.service.cache;
+
+import be.dnsbelgium.rdap.core.Help;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.service.HelpService;
+
+/**
+ * Keeps the help document once the delegate returned one.
+ *
+ * Every request then gets the same Help instance, so its serialized form is taken from the ResponseBodyCache instead
+ * of being rendered again. Errors and null results are not kept.
+ */
+public class CachingHelpService implements HelpService {
+
+  private final HelpService delegate;
+
+  private volatile Help help;
+
+  public CachingHelpService(HelpService delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Help getHelp() throws RDAPError {
+    Help result = help;
+    if (result == null) {
+      result = delegate.getHelp();
+      help = result;
+    }
+    return result;
+  }
+
+  /**
+   * Forgets the help document, the next request loads it again from the delegate.
+   */
+  public void invalidate() {
+    help = null;
+  }
+
+  public HelpService getDelegate() {
+    return delegate;
+  }
+}
@@ -0,0 +1,47 @@
+package be.dnsbelgium.rdap.service.cache;
+
+import be.dnsbelgium.core.CIDR;
+import be.dnsbelgium.rdap.core.IPNetwork;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.service.IPService;
+
+/**
+ * Caches the ip network lookups of another IPService, keyed on the queried (masked) prefix.
+ * Lookups that found nothing can be remembered in a separate not-found cache.
+ */
+public class CachingIPService implements IPService {
+
+  private final IPService delegate;
+
+  private final LookupCache<CIDR, IPNetwork> cache;
+
+  public CachingIPService(IPService delegate, CacheSettings settings) {
+    this(delegate, settings, CacheSettings.disabled());
+  }
+
+  public CachingIPService(IPService delegate, CacheSettings settings, CacheSettings notFoundSettings) {
+    this.delegate = delegate;
+    this.cache = new LookupCache<>(settings, notFoundSettings);
+  }
+
+  @Override
+  public IPNetwork getIPNetwork(CIDR cidr) throws RDAPError {
+    return cache.get(cidr, () -> delegate.getIPNetwork(cidr));
+  }
+
+  public void invalidate(CIDR cidr) {
+    cache.invalidate(cidr);
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public LookupCache<CIDR, IPNetwork> getCache() {
+    return cache;
+  }
+
+  public IPService getDelegate() {
+    return delegate;
+  }
+}
@@ -0,0 +1,91 @@
+package be.dnsbelgium.rdap.service.cache;
+
+import be.dnsbelgium.core.DomainName;
+import be.dnsbelgium.rdap.core.Nameserver;
+import be.dnsbelgium.rdap.core.NameserversSearchResult;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.service.NameserverService;
+import be.dnsbelgium.rdap.service.PageRequest;
+
+import java.util.stream.Stream;
+
+/**
+ * Caches the nameserver lookups of another NameserverService, keyed on the lower case LDH form of the name.
+ * Lookups that found nothing can be remembered in a separate not-found cache. Searches are passed on unchanged.
+ */
+public class CachingNameserverService implements NameserverService {
+
+  private final NameserverService delegate;
+
+  private final LookupCache<String, Nameserver> cache;
+
+  public CachingNameserverService(NameserverService delegate, CacheSettings settings) {
+    this(delegate, settings, CacheSettings.disabled());
+  }
+
+  public CachingNameserverService(NameserverService delegate, CacheSettings settings, CacheSettings notFoundSettings) {
+    this.delegate = delegate;
+    this.cache = new LookupCache<>(settings, notFoundSettings);
+  }
+
+  @Override
+  public Nameserver getNameserver(DomainName domainName) throws RDAPError {
+    return cache.get(CacheKeys.of(domainName), () -> delegate.getNameserver(domainName));
+  }
+
+  @Override
+  public NameserversSearchResult searchByName(String name) throws RDAPError {
+    return delegate.searchByName(name);
+  }
+
+  @Override
+  public NameserversSearchResult searchByName(String name, PageRequest page) throws RDAPError {
+    return delegate.searchByName(name, page);
+  }
+
+  @Override
+  public NameserversSearchResult searchByIp(String ip) throws RDAPError {
+    return delegate.searchByIp(ip);
+  }
+
+  @Override
+  public NameserversSearchResult searchByIp(String ip, PageRequest page) throws RDAPError {
+    return delegate.searchByIp(ip, page);
+  }
+
+  @Override
+  public Stream<Nameserver> streamByName(String name) throws RDAPError {
+    return delegate.streamByName(name);
+  }
+
+  @Override
+  public Stream<Nameserver> streamByIp(String ip) throws RDAPError {
+    return delegate.streamByIp(ip);
+  }
+
+  @Override
+  public Long countByName(String name, PageRequest page) throws RDAPError {
+    return delegate.countByName(name, page);
+  }
+
+  @Override
+  public Long countByIp(String ip, PageRequest page) throws RDAPError {
+    return delegate.countByIp(ip, page);
+  }
+
+  public void invalidate(DomainName domainName) {
+    cache.invalidate(CacheKeys.of(domainName));
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public LookupCache<String, Nameserver> getCache() {
+    return cache;
+  }
+
+  public NameserverService getDelegate() {
+    return delegate;
+  }
+}
@@ -0,0 +1,267 @@
+package be.dnsbelgium.rdap.service.cache;
+
+import be.dnsbelgium.rdap.core.HttpStatus;
+import be.dnsbelgium.rdap.core.RDAPError;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, expiring cache for the results of a single kind of lookup.
+ *
+ * Eviction is frequency aware (W-TinyLFU), so a scan over many cold keys does not flush the hot ones.
+ *
+ * Lookups that return null or throw a 404 RDAPError are remembered in a separate not-found cache with its own
+ * (typically much shorter) time to live and size. Repeating such a lookup returns null or rethrows the same error
+ * without calling the loader. Other errors are never stored.
+ *
+ * Concurrent lookups for the same key are coalesced, also when both caches are disabled: only the first caller runs
+ * the loader, the others wait for it and receive the same result or error. A caller that has waited MAX_WAIT runs
+ * the loader itself.
+ *
+ * invalidate and invalidateAll also apply to the lookups in progress: their result is still returned to the callers
+ * that were waiting for it, but it is not stored, so a purge after an update of the back-end is never undone by a
+ * lookup that read the old data.
+ *
+ * @param <K> the canonical key of the looked up object
+ * @param <V> the looked up object
+ */
+public class LookupCache<K, V> {
+
+  public interface Loader<V> {
+    V load() throws RDAPError;
+  }
+
+  /**
+   * The longest time a lookup waits for an identical lookup in progress
+   */
+  public static final Duration MAX_WAIT = Duration.ofSeconds(30);
+
+  /**
+   * A lookup in progress. It is only stored when it was not invalidated while it ran.
+   */
+  private static final class Call<V> {
+
+    private final CompletableFuture<V> result = new CompletableFuture<>();
+
+    private boolean invalidated;
+  }
+
+  private static final class Miss {
+
+    private static final Miss NULL = new Miss(null);
+
+    private final RDAPError error;
+
+    private Miss(RDAPError error) {
+      this.error = error;
+    }
+  }
+
+  private final CacheSettings settings;
+
+  private final CacheSettings notFoundSettings;
+
+  private final Cache<K, V> cache;
+
+  private final Cache<K, Miss> notFoundCache;
+
+  private final ConcurrentMap<K, Call<V>> inFlight = new ConcurrentHashMap<>();
+
+  private final LongAdder coalescedCount = new LongAdder();
+
+  public LookupCache(CacheSettings settings) {
+    this(settings, CacheSettings.disabled());
+  }
+
+  public LookupCache(CacheSettings settings, CacheSettings notFoundSettings) {
+    this.settings = settings;
+    this.notFoundSettings = notFoundSettings;
+    this.cache = build(settings);
+    this.notFoundCache = build(notFoundSettings);
+  }
+
+  private static <K, V> Cache<K, V> build(CacheSettings settings) {
+    if (!settings.isEnabled()) {
+      return null;
+    }
+    return Caffeine.newBuilder()
+        .maximumSize(settings.getMaximumSize())
+        .expireAfterWrite(settings.getTimeToLive())
+        .recordStats()
+        .build();
+  }
+
+  public V get(K key, Loader<V> loader) throws RDAPError {
+    if (cache != null) {
+      V value = cache.getIfPresent(key);
+      if (value != null) {
+        return value;
+      }
+    }
+    if (notFoundCache != null) {
+      Miss miss = notFoundCache.getIfPresent(key);
+      if (miss != null) {
+        if (miss.error != null) {
+          throw miss.error;
+        }
+        return null;
+      }
+    }
+    Call<V> call = new Call<>();
+    Call<V> running = inFlight.putIfAbsent(key, call);
+    if (running != null) {
+      coalescedCount.increment();
+      try {
+        return await(running.result);
+      } catch (TimeoutException e) {
+        return loader.load();
+      }
+    }
+    try {
+      V value = load(key, loader, call);
+      call.result.complete(value);
+      return value;
+    } catch (Throwable t) {
+      call.result.completeExceptionally(t);
+      throw t;
+    } finally {
+      inFlight.remove(key, call);
+    }
+  }
+
+  private V load(K key, Loader<V> loader, Call<V> call) throws RDAPError {
+    if (cache != null) {
+      // an earlier call may have stored the value between our cache check and becoming the running call,
+      // read through asMap() so this second look is not counted in the statistics
+      V value = cache.asMap().get(key);
+      if (value != null) {
+        return value;
+      }
+    }
+    V value;
+    try {
+      value = loader.load();
+    } catch (RDAPError e) {
+      if (e.getErrorCode() == HttpStatus.NOT_FOUND) {
+        store(key, call, notFoundCache, new Miss(e));
+      }
+      throw e;
+    }
+    if (value == null) {
+      store(key, call, notFoundCache, Miss.NULL);
+    } else {
+      store(key, call, cache, value);
+    }
+    return value;
+  }
+
+  /**
+   * Stores the result of a call, unless the call was invalidated. Both run while holding the entry of the key in
+   * inFlight, so an invalidation either comes first and the result is dropped, or comes after and removes it.
+   */
+  private <T> void store(K key, Call<V> call, Cache<K, T> target, T value) {
+    if (target == null) {
+      return;
+    }
+    inFlight.computeIfPresent(key, (k, current) -> {
+      if (current == call && !call.invalidated) {
+        target.put(key, value);
+      }
+      return current;
+    });
+  }
+
+  private void invalidateCall(K key) {
+    inFlight.computeIfPresent(key, (k, call) -> {
+      call.invalidated = true;
+      return null;
+    });
+  }
+
+  private V await(CompletableFuture<V> running) throws RDAPError, TimeoutException {
+    try {
+      return running.get(MAX_WAIT.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a lookup in progress", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RDAPError) {
+        throw (RDAPError) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  public void invalidate(K key) {
+    invalidateCall(key);
+    if (cache != null) {
+      cache.invalidate(key);
+    }
+    if (notFoundCache != null) {
+      notFoundCache.invalidate(key);
+    }
+  }
+
+  public void invalidateAll() {
+    for (K key : inFlight.keySet()) {
+      invalidateCall(key);
+    }
+    if (cache != null) {
+      cache.invalidateAll();
+    }
+    if (notFoundCache != null) {
+      notFoundCache.invalidateAll();
+    }
+  }
+
+  public long size() {
+    return cache == null ? 0 : cache.estimatedSize();
+  }
+
+  public long notFoundSize() {
+    return notFoundCache == null ? 0 : notFoundCache.estimatedSize();
+  }
+
+  public CacheStats stats() {
+    return cache == null ? CacheStats.empty() : cache.stats();
+  }
+
+  /**
+   * Hits are lookups answered from the not-found cache, misses are lookups that had to call the loader.
+   */
+  public CacheStats notFoundStats() {
+    return notFoundCache == null ? CacheStats.empty() : notFoundCache.stats();
+  }
+
+  /**
+   * Number of lookups that waited for an identical lookup in progress instead of calling the loader themselves.
+   */
+  public long coalescedCount() {
+    return coalescedCount.sum();
+  }
+
+  public CacheSettings getSettings() {
+    return settings;
+  }
+
+  public CacheSettings getNotFoundSettings() {
+    return notFoundSettings;
+  }
+}
@@ -5,6 +5,7 @@ import be.dnsbelgium.rdap.core.Domain;
 import be.dnsbelgium.rdap.core.DomainsSearchResult;
 import be.dnsbelgium.rdap.core.RDAPError;
 import be.dnsbelgium.rdap.service.DomainService;
+import be.dnsbelgium.rdap.service.PageRequest;
 
 public class DefaultDomainService implements DomainService {
   @Override
@@ -25,6 +26,15 @@ public class DefaultDomainService implements DomainService {
     return toReturn;
   }
 
+  @Override
+  public final DomainsSearchResult searchDomainsByName(String name, PageRequest page) throws RDAPError {
+    DomainsSearchResult toReturn = searchDomainsByNameImpl(name, page);
+    if (toReturn != null) {
+      toReturn.addRdapConformance(Domain.DEFAULT_RDAP_CONFORMANCE);
+    }
+    return toReturn;
+  }
+
   @Override
   public final DomainsSearchResult searchDomainsByNsLdhName(String nsLdhName) throws RDAPError {
     DomainsSearchResult toReturn = searchDomainsByNsLdhNameImpl(nsLdhName);
@@ -34,6 +44,15 @@ public class DefaultDomainService implements DomainService {
     return toReturn;
   }
 
+  @Override
+  public final DomainsSearchResult searchDomainsByNsLdhName(String nsLdhName, PageRequest page) throws RDAPError {
+    DomainsSearchResult toReturn = searchDomainsByNsLdhNameImpl(nsLdhName, page);
+    if (toReturn != null) {
+      toReturn.addRdapConformance(Domain.DEFAULT_RDAP_CONFORMANCE);
+    }
+    return toReturn;
+  }
+
   @Override
   public final DomainsSearchResult searchDomainsByNsIp(String nsIp) throws RDAPError {
     DomainsSearchResult toReturn = searchDomainsByNsIpImpl(nsIp);
@@ -43,6 +62,15 @@ public class DefaultDomainService implements DomainService {
     return toReturn;
   }
 
+  @Override
+  public final DomainsSearchResult searchDomainsByNsIp(String nsIp, PageRequest page) throws RDAPError {
+    DomainsSearchResult toReturn = searchDomainsByNsIpImpl(nsIp, page);
+    if (toReturn != null) {
+      toReturn.addRdapConformance(Domain.DEFAULT_RDAP_CONFORMANCE);
+    }
+    return toReturn;
+  }
+
   public Domain getDomainImpl(DomainName domainName) throws RDAPError {
     throw RDAPError.notImplemented();
   }
@@ -51,11 +79,32 @@ public class DefaultDomainService implements DomainService {
     throw RDAPError.notImplemented();
   }
 
+  /**
+   * Ignores the page and returns all results of searchDomainsByNameImpl(String), override it to return one page.
+   */
+  public DomainsSearchResult searchDomainsByNameImpl(String name, PageRequest page) throws RDAPError {
+    return searchDomainsByNameImpl(name);
+  }
+
   public DomainsSearchResult searchDomainsByNsLdhNameImpl(String nsLdhName) throws RDAPError {
     throw RDAPError.notImplemented();
   }
 
+  /**
+   * Ignores the page and returns all results of searchDomainsByNsLdhNameImpl(String), override it to return one page.
+   */
+  public DomainsSearchResult searchDomainsByNsLdhNameImpl(String nsLdhName, PageRequest page) throws RDAPError {
+    return searchDomainsByNsLdhNameImpl(nsLdhName);
+  }
+
   public DomainsSearchResult searchDomainsByNsIpImpl(String nsIp) throws RDAPError {
     throw RDAPError.notImplemented();
   }
+
+  /**
+   * Ignores the page and returns all results of searchDomainsByNsIpImpl(String), override it to return one page.
+   */
+  public DomainsSearchResult searchDomainsByNsIpImpl(String nsIp, PageRequest page) throws RDAPError {
+    return searchDomainsByNsIpImpl(nsIp);
+  }
 }
@@ -4,6 +4,7 @@ import be.dnsbelgium.rdap.core.EntitiesSearchResult;
 import be.dnsbelgium.rdap.core.Entity;
 import be.dnsbelgium.rdap.core.RDAPError;
 import be.dnsbelgium.rdap.service.EntityService;
+import be.dnsbelgium.rdap.service.PageRequest;
 
 public class DefaultEntityService implements EntityService {
 
@@ -25,6 +26,15 @@ public class DefaultEntityService implements EntityService {
     return toReturn;
   }
 
+  @Override
+  public EntitiesSearchResult searchByFn(String fn, PageRequest page) throws RDAPError {
+    EntitiesSearchResult toReturn = searchByFnImpl(fn, page);
+    if (toReturn != null) {
+      toReturn.addRdapConformance(Entity.DEFAULT_RDAP_CONFORMANCE);
+    }
+    return toReturn;
+  }
+
   @Override
   public final EntitiesSearchResult searchByHandle(String handle) throws RDAPError {
     EntitiesSearchResult toReturn = searchByHandleImpl(handle);
@@ -34,6 +44,15 @@ public class DefaultEntityService implements EntityService {
     return toReturn;
   }
 
+  @Override
+  public final EntitiesSearchResult searchByHandle(String handle, PageRequest page) throws RDAPError {
+    EntitiesSearchResult toReturn = searchByHandleImpl(handle, page);
+    if (toReturn != null) {
+      toReturn.addRdapConformance(Entity.DEFAULT_RDAP_CONFORMANCE);
+    }
+    return toReturn;
+  }
+
   public Entity getEntityImpl(String handle) throws RDAPError {
     throw RDAPError.notImplemented();
   }
@@ -42,7 +61,21 @@ public class DefaultEntityService implements EntityService {
     throw RDAPError.notImplemented();
   }
 
+  /**
+   * Ignores the page and returns all results of searchByFnImpl(String), override it to return one page.
+   */
+  public EntitiesSearchResult searchByFnImpl(String fn, PageRequest page) throws RDAPError {
+    return searchByFnImpl(fn);
+  }
+
   public EntitiesSearchResult searchByHandleImpl(String handle) throws RDAPError {
     throw RDAPError.notImplemented();
   }
+
+  /**
+   * Ignores the page and returns all results of searchByHandleImpl(String), override it to return one page.
+   */
+  public EntitiesSearchResult searchByHandleImpl(String handle, PageRequest page) throws RDAPError {
+    return searchByHandleImpl(handle);
+  }
 }
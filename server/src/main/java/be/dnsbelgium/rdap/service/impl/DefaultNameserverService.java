@@ -5,6 +5,7 @@ import be.dnsbelgium.rdap.core.Nameserver;
 import be.dnsbelgium.rdap.core.NameserversSearchResult;
 import be.dnsbelgium.rdap.core.RDAPError;
 import be.dnsbelgium.rdap.service.NameserverService;
+import be.dnsbelgium.rdap.service.PageRequest;
 
 public class DefaultNameserverService implements NameserverService {
 
@@ -26,6 +27,15 @@ public class DefaultNameserverService implements NameserverService {
     return toReturn;
   }
 
+  @Override
+  public final NameserversSearchResult searchByName(String name, PageRequest page) throws RDAPError {
+    NameserversSearchResult toReturn = searchByNameImpl(name, page);
+    if (toReturn != null) {
+      toReturn.addRdapConformance(Nameserver.DEFAULT_RDAP_CONFORMANCE);
+    }
+    return toReturn;
+  }
+
   @Override
   public NameserversSearchResult searchByIp(String ip) throws RDAPError {
     NameserversSearchResult toReturn = searchByIpImpl(ip);
@@ -35,6 +45,15 @@ public class DefaultNameserverService implements NameserverService {
     return toReturn;
   }
 
+  @Override
+  public NameserversSearchResult searchByIp(String ip, PageRequest page) throws RDAPError {
+    NameserversSearchResult toReturn = searchByIpImpl(ip, page);
+    if (toReturn != null) {
+      toReturn.addRdapConformance(Nameserver.DEFAULT_RDAP_CONFORMANCE);
+    }
+    return toReturn;
+  }
+
   public Nameserver getNameserverImpl(DomainName domainName) throws RDAPError {
     throw RDAPError.notImplemented();
   }
@@ -43,8 +62,22 @@ public class DefaultNameserverService implements NameserverService {
     throw RDAPError.notImplemented();
   }
 
+  /**
+   * Ignores the page and returns all results of searchByNameImpl(String), override it to return one page.
+   */
+  public NameserversSearchResult searchByNameImpl(String name, PageRequest page) throws RDAPError {
+    return searchByNameImpl(name);
+  }
+
   public NameserversSearchResult searchByIpImpl(String ip) throws RDAPError {
     throw RDAPError.notImplemented();
   }
+
+  /**
+   * Ignores the page and returns all results of searchByIpImpl(String), override it to return one page.
+   */
+  public NameserversSearchResult searchByIpImpl(String ip, PageRequest page) throws RDAPError {
+    return searchByIpImpl(ip);
+  }
 }
 
@@ -0,0 +1,95 @@
+package be.dnsbelgium.rdap.service.impl;
+
+import be.dnsbelgium.rdap.core.AutNum;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * An AutNumService that answers from AS number blocks held in memory. The blocks are kept sorted on their first AS
+ * number in primitive arrays, a lookup finds the block that holds the requested number with a binary search.
+ *
+ * AS numbers are unsigned 32 bit values held in an int, see AutNum. load replaces all blocks at once, see Snapshots.
+ */
+public class InMemoryAutNumService extends DefaultAutNumService {
+
+  private volatile Index index = new Index(new AutNum[0]);
+
+  public InMemoryAutNumService() {
+
+  }
+
+  public InMemoryAutNumService(Collection<AutNum> autNums) {
+    load(autNums);
+  }
+
+  @Override
+  public AutNum getAutNumImpl(int autNum) {
+    return index.get(autNum);
+  }
+
+  /**
+   * Replaces all blocks.
+   *
+   * @throws IllegalArgumentException when a block ends before it starts or blocks overlap
+   */
+  public void load(Collection<AutNum> autNums) {
+    AutNum[] blocks = autNums.toArray(new AutNum[0]);
+    Arrays.sort(blocks, Comparator.comparingLong(autNum -> Integer.toUnsignedLong(autNum.getStartAutnum())));
+    this.index = Snapshots.build(autNums, autNum -> autNum.addRdapConformance(AutNum.DEFAULT_RDAP_CONFORMANCE),
+        () -> new Index(blocks));
+  }
+
+  /**
+   * @return the number of blocks
+   */
+  public int size() {
+    return index.blocks.length;
+  }
+
+  private static final class Index {
+
+    private final int[] starts;
+
+    private final int[] ends;
+
+    private final AutNum[] blocks;
+
+    private Index(AutNum[] blocks) {
+      this.blocks = blocks;
+      this.starts = new int[blocks.length];
+      this.ends = new int[blocks.length];
+      for (int i = 0; i < blocks.length; i++) {
+        starts[i] = blocks[i].getStartAutnum();
+        ends[i] = blocks[i].getEndAutnum();
+        if (Integer.compareUnsigned(ends[i], starts[i]) < 0) {
+          throw new IllegalArgumentException("AutNum " + blocks[i].getHandle() + " ends before it starts");
+        }
+        if (i > 0 && Integer.compareUnsigned(starts[i], ends[i - 1]) <= 0) {
+          throw new IllegalArgumentException("AutNum " + blocks[i].getHandle() + " overlaps with " + blocks[i - 1].getHandle());
+        }
+      }
+    }
+
+    private AutNum get(int autNum) {
+      // the last block that starts at or before autNum
+      int low = 0;
+      int high = starts.length - 1;
+      int found = -1;
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        if (Integer.compareUnsigned(starts[middle], autNum) <= 0) {
+          found = middle;
+          low = middle + 1;
+        } else {
+          high = middle - 1;
+        }
+      }
+      if (found < 0 || Integer.compareUnsigned(autNum, ends[found]) > 0) {
+        return null;
+      }
+      return blocks[found];
+    }
+  }
+}
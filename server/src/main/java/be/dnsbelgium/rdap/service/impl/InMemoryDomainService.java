@@ -0,0 +1,324 @@
+package be.dnsbelgium.rdap.service.impl;
+
+import be.dnsbelgium.core.CIDR;
+import be.dnsbelgium.core.CIDRParser;
+import be.dnsbelgium.core.DomainName;
+import be.dnsbelgium.core.DomainNameTrie;
+import be.dnsbelgium.core.InvertedIndex;
+import be.dnsbelgium.rdap.core.Domain;
+import be.dnsbelgium.rdap.core.DomainsSearchResult;
+import be.dnsbelgium.rdap.core.Nameserver;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.core.SearchResult;
+import be.dnsbelgium.rdap.service.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A DomainService that answers lookups and searches from domains held in memory.
+ *
+ * Domains are indexed in a DomainNameTrie. A search like "exam*.be" or "*.dns.be" walks the trie to the suffix and then
+ * only visits the matching names, so it costs in proportion to the number of results instead of a scan over all
+ * domains. See DomainNameTrie for the supported patterns, other patterns are a bad request.
+ *
+ * Searches by nsLdhName and nsIp use InvertedIndexes from the names and addresses of the nameservers of every domain to
+ * the ids of the domains, their position in the order of DomainNameTrie.order(). nsLdhName takes the same patterns as a
+ * name search, nsIp takes a single address.
+ *
+ * All results are sorted on name, the one sort a PageRequest can ask for. The cursor of a page is the name of its last
+ * domain: the next page starts after that name, with a binary search, so it stays valid when the domains are reloaded.
+ *
+ * The stream methods fetch the results in pages of Pages.STREAM_PAGE_SIZE, or map the ids to domains one by one, so
+ * they never hold all results. The count methods count the matching names in the trie, up to the deadline and the
+ * size of the PageRequest, or take the number of ids from the InvertedIndexes, which costs no more than the lookup.
+ *
+ * load replaces all domains at once, see Snapshots.
+ */
+public class InMemoryDomainService extends DefaultDomainService {
+
+  /**
+   * The one property results can be sorted on: the name, in the order of DomainNameTrie.order()
+   */
+  public static final String SORT_NAME = "name";
+
+  private static final Comparator<DomainName> NAME_ORDER = DomainNameTrie.order();
+
+  private volatile Index index = new Index(Collections.<Domain>emptyList());
+
+  public InMemoryDomainService() {
+
+  }
+
+  public InMemoryDomainService(Collection<Domain> domains) {
+    load(domains);
+  }
+
+  @Override
+  public Domain getDomainImpl(DomainName domainName) throws RDAPError {
+    return index.names.get(domainName);
+  }
+
+  @Override
+  public DomainsSearchResult searchDomainsByNameImpl(String name) throws RDAPError {
+    try {
+      return new DomainsSearchResult(index.names.search(name));
+    } catch (IllegalArgumentException e) {
+      throw RDAPError.badRequest("Invalid search pattern", e.getMessage());
+    }
+  }
+
+  @Override
+  public DomainsSearchResult searchDomainsByNameImpl(String name, PageRequest page) throws RDAPError {
+    Pages.checkSort(page, SORT_NAME);
+    DomainNameTrie<Domain> names = index.names;
+    Pages.Collector<Domain> collector = new Pages.Collector<>(page);
+    Pages.Counter<Domain> counter = new Pages.Counter<>(page);
+    try {
+      names.search(name, Pages.cursorName(page), page.isDescending(), collector);
+      if (page.isCount()) {
+        names.search(name, counter);
+      }
+    } catch (IllegalArgumentException e) {
+      throw RDAPError.badRequest("Invalid search pattern", e.getMessage());
+    }
+    DomainsSearchResult result = new DomainsSearchResult(collector.results);
+    if (collector.more) {
+      result.setNextCursor(nameOf(collector.results.get(collector.results.size() - 1)).getCanonicalValue());
+    }
+    if (collector.expired) {
+      result.markTruncated();
+    }
+    if (page.isCount() && !counter.expired) {
+      result.setTotalCount(counter.count);
+    }
+    return result;
+  }
+
+  @Override
+  public DomainsSearchResult searchDomainsByNsLdhNameImpl(String nsLdhName) throws RDAPError {
+    Index current = index;
+    return new DomainsSearchResult(current.domains(idsByNsLdhName(current, nsLdhName)));
+  }
+
+  @Override
+  public DomainsSearchResult searchDomainsByNsLdhNameImpl(String nsLdhName, PageRequest page) throws RDAPError {
+    Index current = index;
+    return current.page(idsByNsLdhName(current, nsLdhName), page);
+  }
+
+  @Override
+  public DomainsSearchResult searchDomainsByNsIpImpl(String nsIp) throws RDAPError {
+    Index current = index;
+    return new DomainsSearchResult(current.domains(idsByNsIp(current, nsIp)));
+  }
+
+  @Override
+  public DomainsSearchResult searchDomainsByNsIpImpl(String nsIp, PageRequest page) throws RDAPError {
+    Index current = index;
+    return current.page(idsByNsIp(current, nsIp), page);
+  }
+
+  @Override
+  public Long countDomainsByName(String name, PageRequest page) throws RDAPError {
+    Pages.Counter<Domain> counter = Pages.Counter.upTo(page);
+    try {
+      index.names.search(name, counter);
+    } catch (IllegalArgumentException e) {
+      throw RDAPError.badRequest("Invalid search pattern", e.getMessage());
+    }
+    return counter.total();
+  }
+
+  @Override
+  public Long countDomainsByNsLdhName(String nsLdhName, PageRequest page) throws RDAPError {
+    return (long) idsByNsLdhName(index, nsLdhName).length;
+  }
+
+  @Override
+  public Long countDomainsByNsIp(String nsIp, PageRequest page) throws RDAPError {
+    return (long) index.byNameserverAddress.count(address(nsIp));
+  }
+
+  @Override
+  public Stream<Domain> streamDomainsByName(String name) throws RDAPError {
+    return Pages.stream(page -> searchDomainsByNameImpl(name, page));
+  }
+
+  @Override
+  public Stream<Domain> streamDomainsByNsLdhName(String nsLdhName) throws RDAPError {
+    Index current = index;
+    return current.stream(idsByNsLdhName(current, nsLdhName));
+  }
+
+  @Override
+  public Stream<Domain> streamDomainsByNsIp(String nsIp) throws RDAPError {
+    Index current = index;
+    return current.stream(idsByNsIp(current, nsIp));
+  }
+
+  private static int[] idsByNsLdhName(Index index, String nsLdhName) throws RDAPError {
+    try {
+      return index.byNameserverName.union(index.nameserverNames.search(nsLdhName));
+    } catch (IllegalArgumentException e) {
+      throw RDAPError.badRequest("Invalid search pattern", e.getMessage());
+    }
+  }
+
+  private static int[] idsByNsIp(Index index, String nsIp) throws RDAPError {
+    return index.byNameserverAddress.get(address(nsIp));
+  }
+
+  private static CIDR address(String nsIp) throws RDAPError {
+    CIDR address = CIDRParser.tryParse(nsIp);
+    if (address == null || address.getSize() != (address.isIPv4() ? 32 : 128)) {
+      throw RDAPError.badRequest("Invalid IP address", "'%s' is not an IP address".formatted(nsIp));
+    }
+    return address;
+  }
+
+  /**
+   * Replaces all domains, each domain is indexed on its ldhName, or its unicodeName when it has no ldhName, and on the
+   * names and addresses of its nameservers.
+   *
+   * @throws IllegalArgumentException when a domain has no name or a nameserver address is not valid
+   */
+  public void load(Collection<Domain> domains) {
+    this.index = Snapshots.build(domains, domain -> domain.addRdapConformance(Domain.DEFAULT_RDAP_CONFORMANCE),
+        () -> new Index(domains));
+  }
+
+  /**
+   * @return the number of domains
+   */
+  public int size() {
+    return index.names.size();
+  }
+
+  private static final class Index {
+
+    private final Domain[] byId;
+
+    private final DomainNameTrie<Domain> names;
+
+    private final DomainNameTrie<DomainName> nameserverNames;
+
+    private final InvertedIndex<DomainName> byNameserverName = new InvertedIndex<>();
+
+    private final InvertedIndex<CIDR> byNameserverAddress = new InvertedIndex<>();
+
+    private Index(Collection<Domain> domains) {
+      Map<DomainName, Domain> byName = new LinkedHashMap<>();
+      for (Domain domain : domains) {
+        byName.put(nameOf(domain), domain);
+      }
+      this.names = DomainNameTrie.of(byName);
+      // ids in the order of the names, so that the results of every search by nameserver are sorted on name as well
+      this.byId = names.values().toArray(new Domain[0]);
+      Map<DomainName, DomainName> nameservers = new LinkedHashMap<>();
+      for (int id = 0; id < byId.length; id++) {
+        Domain domain = byId[id];
+        DomainName name = nameOf(domain);
+        if (domain.nameservers == null) {
+          continue;
+        }
+        for (Nameserver nameserver : domain.nameservers) {
+          DomainName nameserverName = nameOf(nameserver.ldhName, nameserver.unicodeName, "Nameserver of " + name.getStringValue());
+          nameservers.put(nameserverName, nameserverName);
+          // ids are added in increasing order, so every posting list grows at its end
+          byNameserverName.add(nameserverName, id);
+          if (nameserver.ipAddresses != null) {
+            for (String address : nameserver.ipAddresses.getV4()) {
+              byNameserverAddress.add(CIDR.of(address), id);
+            }
+            for (String address : nameserver.ipAddresses.getV6()) {
+              byNameserverAddress.add(CIDR.of(address), id);
+            }
+          }
+        }
+      }
+      this.nameserverNames = DomainNameTrie.of(nameservers);
+    }
+
+    private List<Domain> domains(int[] ids) {
+      List<Domain> result = new ArrayList<>(ids.length);
+      for (int id : ids) {
+        result.add(byId[id]);
+      }
+      return result;
+    }
+
+    private Stream<Domain> stream(int[] ids) {
+      return Arrays.stream(ids).mapToObj(id -> byId[id]);
+    }
+
+    /**
+     * @param ids the ids of all results, in ascending order
+     */
+    private DomainsSearchResult page(int[] ids, PageRequest page) throws RDAPError {
+      Pages.checkSort(page, SORT_NAME);
+      DomainName after = Pages.cursorName(page);
+      // ascending: the first id after the cursor, descending: the first one not before it, so the one before is next
+      int start = after == null ? (page.isDescending() ? ids.length : 0) : firstId(ids, after, page.isDescending() ? 0 : 1);
+      List<Domain> results = new ArrayList<>(Math.min(page.getSize(), ids.length));
+      int i = start;
+      boolean expired = false;
+      while (results.size() < page.getSize() && (page.isDescending() ? i > 0 : i < ids.length)) {
+        if (!results.isEmpty() && results.size() % SearchResult.DEADLINE_CHECK_INTERVAL == 0 && page.isExpired()) {
+          expired = true;
+          break;
+        }
+        results.add(byId[ids[page.isDescending() ? --i : i++]]);
+      }
+      DomainsSearchResult result = new DomainsSearchResult(results);
+      if (page.isDescending() ? i > 0 : i < ids.length) {
+        result.setNextCursor(nameOf(results.get(results.size() - 1)).getCanonicalValue());
+      }
+      if (expired) {
+        result.markTruncated();
+      }
+      if (page.isCount()) {
+        result.setTotalCount((long) ids.length);
+      }
+      return result;
+    }
+
+    /**
+     * @return the index of the first id whose name compared to after has at least minimum as sign
+     */
+    private int firstId(int[] ids, DomainName after, int minimum) {
+      int low = 0;
+      int high = ids.length;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (Integer.signum(NAME_ORDER.compare(nameOf(byId[ids[middle]]), after)) < minimum) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+  }
+
+  private static DomainName nameOf(Domain domain) {
+    return nameOf(domain.ldhName, domain.unicodeName, "Domain " + domain.handle);
+  }
+
+  private static DomainName nameOf(DomainName ldhName, DomainName unicodeName, String description) {
+    if (ldhName != null) {
+      return ldhName;
+    }
+    if (unicodeName != null) {
+      return unicodeName;
+    }
+    throw new IllegalArgumentException(description + " has no name");
+  }
+}
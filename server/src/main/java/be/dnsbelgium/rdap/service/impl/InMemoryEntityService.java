@@ -0,0 +1,216 @@
+package be.dnsbelgium.rdap.service.impl;
+
+import be.dnsbelgium.core.TextIndex;
+import be.dnsbelgium.rdap.core.EntitiesSearchResult;
+import be.dnsbelgium.rdap.core.Entity;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.service.PageRequest;
+import be.dnsbelgium.vcard.Contact;
+import be.dnsbelgium.vcard.datatype.Text;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * An EntityService that answers lookups and fn and handle searches from entities held in memory.
+ *
+ * Searches go through a TextIndex on the fn of the vCard and one on the handle: they are case insensitive, compare the
+ * NFKC case folded forms and take asterisks anywhere in the pattern ("john*", "*doe*"). A search returns at most
+ * maxResults entities, ordered on the folded fn or handle. A lookup by handle is an exact match.
+ *
+ * A PageRequest can only ask for that same order, ascending or descending. The cursor of a page is the position of its
+ * last entity in the TextIndex. A page holds up to the page size entities, and never more than maxResults. A stream
+ * returns the same maxResults entities as a search, fetched a page at a time.
+ *
+ * load replaces all entities at once, see Snapshots.
+ */
+public class InMemoryEntityService extends DefaultEntityService {
+
+  /**
+   * The property the results of an fn search are sorted on
+   */
+  public static final String SORT_FN = "fn";
+
+  /**
+   * The property the results of a handle search are sorted on
+   */
+  public static final String SORT_HANDLE = "handle";
+
+  public static final int DEFAULT_MAX_RESULTS = 100;
+
+  private final int maxResults;
+
+  private volatile Index index = new Index(Collections.<Entity>emptyList());
+
+  public InMemoryEntityService() {
+    this(DEFAULT_MAX_RESULTS);
+  }
+
+  public InMemoryEntityService(int maxResults) {
+    if (maxResults < 1) {
+      throw new IllegalArgumentException("maxResults must be at least 1");
+    }
+    this.maxResults = maxResults;
+  }
+
+  public InMemoryEntityService(Collection<Entity> entities) {
+    this();
+    load(entities);
+  }
+
+  @Override
+  public Entity getEntityImpl(String handle) throws RDAPError {
+    return index.byHandle.get(handle);
+  }
+
+  @Override
+  public EntitiesSearchResult searchByFnImpl(String fn) throws RDAPError {
+    return search(index.fns, fn);
+  }
+
+  @Override
+  public EntitiesSearchResult searchByHandleImpl(String handle) throws RDAPError {
+    return search(index.handles, handle);
+  }
+
+  @Override
+  public EntitiesSearchResult searchByFnImpl(String fn, PageRequest page) throws RDAPError {
+    Pages.checkSort(page, SORT_FN);
+    return search(index.fns, fn, page);
+  }
+
+  @Override
+  public EntitiesSearchResult searchByHandleImpl(String handle, PageRequest page) throws RDAPError {
+    Pages.checkSort(page, SORT_HANDLE);
+    return search(index.handles, handle, page);
+  }
+
+  @Override
+  public Stream<Entity> streamByFn(String fn) throws RDAPError {
+    TextIndex<Entity> fns = index.fns;
+    return Pages.<Entity>stream(page -> search(fns, fn, page)).limit(maxResults);
+  }
+
+  @Override
+  public Stream<Entity> streamByHandle(String handle) throws RDAPError {
+    TextIndex<Entity> handles = index.handles;
+    return Pages.<Entity>stream(page -> search(handles, handle, page)).limit(maxResults);
+  }
+
+  @Override
+  public Long countByFn(String fn, PageRequest page) throws RDAPError {
+    return count(index.fns, fn, page);
+  }
+
+  @Override
+  public Long countByHandle(String handle, PageRequest page) throws RDAPError {
+    return count(index.handles, handle, page);
+  }
+
+  /**
+   * @return the number of matches, like the totalCount of a page it is not bounded by maxResults, null when the
+   * deadline or the size of the page was reached first
+   */
+  private static Long count(TextIndex<Entity> entities, String pattern, PageRequest page) throws RDAPError {
+    Pages.Counter<Entity> counter = Pages.Counter.upTo(page);
+    try {
+      entities.search(pattern, counter);
+    } catch (IllegalArgumentException e) {
+      throw RDAPError.badRequest("Invalid search pattern", e.getMessage());
+    }
+    return counter.total();
+  }
+
+  private EntitiesSearchResult search(TextIndex<Entity> entities, String pattern, PageRequest page) throws RDAPError {
+    Pages.Collector<Entity> collector = new Pages.Collector<>(Math.min(page.getSize(), maxResults), page);
+    Pages.Counter<Entity> counter = new Pages.Counter<>(page);
+    if (page.getCursor() != null && !TextIndex.isPosition(page.getCursor())) {
+      throw Pages.invalidCursor();
+    }
+    String last;
+    try {
+      last = entities.search(pattern, page.getCursor(), page.isDescending(), collector);
+    } catch (IllegalArgumentException e) {
+      throw RDAPError.badRequest("Invalid search pattern", e.getMessage());
+    }
+    EntitiesSearchResult result = new EntitiesSearchResult(collector.results);
+    if (collector.more) {
+      result.setNextCursor(last);
+    }
+    if (collector.expired) {
+      result.markTruncated();
+    }
+    if (page.isCount()) {
+      entities.search(pattern, counter);
+      if (!counter.expired) {
+        result.setTotalCount(counter.count);
+      }
+    }
+    return result;
+  }
+
+  private EntitiesSearchResult search(TextIndex<Entity> entities, String pattern) throws RDAPError {
+    try {
+      return new EntitiesSearchResult(entities.search(pattern, maxResults));
+    } catch (IllegalArgumentException e) {
+      throw RDAPError.badRequest("Invalid search pattern", e.getMessage());
+    }
+  }
+
+  /**
+   * Replaces all entities.
+   */
+  public void load(Collection<Entity> entities) {
+    this.index = Snapshots.build(entities, entity -> entity.addRdapConformance(Entity.DEFAULT_RDAP_CONFORMANCE),
+        () -> new Index(entities));
+  }
+
+  /**
+   * @return the number of entities, by handle
+   */
+  public int size() {
+    return index.byHandle.size();
+  }
+
+  public int getMaxResults() {
+    return maxResults;
+  }
+
+  /**
+   * @return the value of the first fn property of the vCard of entity, null if it has none
+   */
+  static String fnOf(Entity entity) {
+    Contact contact = entity.getvcardArray();
+    if (contact == null) {
+      return null;
+    }
+    for (Contact.Property property : contact.getProperties("fn")) {
+      if (property.getValue() instanceof Text) {
+        return ((Text) property.getValue()).getStringValue();
+      }
+    }
+    return null;
+  }
+
+  private static final class Index {
+
+    private final Map<String, Entity> byHandle = new HashMap<>();
+
+    private final TextIndex<Entity> fns;
+
+    private final TextIndex<Entity> handles;
+
+    private Index(Collection<Entity> entities) {
+      for (Entity entity : entities) {
+        if (entity.getHandle() != null) {
+          byHandle.put(entity.getHandle(), entity);
+        }
+      }
+      this.fns = TextIndex.of(entities, InMemoryEntityService::fnOf);
+      this.handles = TextIndex.of(byHandle.values(), Entity::getHandle);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package be.dnsbelgium.rdap.service.impl;
+
+import be.dnsbelgium.core.CIDR;
+import be.dnsbelgium.core.CIDRTrie;
+import be.dnsbelgium.rdap.core.IPNetwork;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An IPService that answers from networks held in memory. A lookup returns the most specific network that contains the
+ * requested address or prefix, found in a CIDRTrie in at most one step per bit of the prefix.
+ *
+ * load replaces all networks at once, see Snapshots.
+ */
+public class InMemoryIPService extends DefaultIPService {
+
+  private volatile CIDRTrie<IPNetwork> networks = new CIDRTrie<>();
+
+  public InMemoryIPService() {
+
+  }
+
+  public InMemoryIPService(Collection<IPNetwork> networks) {
+    load(networks);
+  }
+
+  @Override
+  public IPNetwork getIPNetworkImpl(CIDR cidr) {
+    return networks.longestMatch(cidr);
+  }
+
+  /**
+   * Replaces all networks, each network is indexed on the prefix spanned by its start and end address.
+   *
+   * @throws IllegalArgumentException when the start and end address of a network do not span a prefix
+   */
+  public void load(Collection<IPNetwork> networks) {
+    Map<CIDR, IPNetwork> byPrefix = new LinkedHashMap<>();
+    for (IPNetwork network : networks) {
+      byPrefix.put(cidrOf(network), network);
+    }
+    load(byPrefix);
+  }
+
+  /**
+   * Replaces all networks.
+   */
+  public void load(Map<CIDR, IPNetwork> networks) {
+    this.networks = Snapshots.build(networks.values(),
+        network -> network.addRdapConformance(IPNetwork.DEFAULT_RDAP_CONFORMANCE), () -> CIDRTrie.of(networks));
+  }
+
+  /**
+   * @return the number of networks
+   */
+  public int size() {
+    return networks.size();
+  }
+
+  static CIDR cidrOf(IPNetwork network) {
+    byte[] start = network.getStartAddress().getAddress();
+    byte[] end = network.getEndAddress().getAddress();
+    if (start.length != end.length) {
+      throw new IllegalArgumentException("Start and end address of " + network.getHandle() + " are of another type");
+    }
+    int width = start.length * 8;
+    CIDR first = new CIDR(start, width);
+    CIDR last = new CIDR(end, width);
+    // the host bits: a prefix has only ones after the first one, and the start address has zeros there
+    long hostHigh = first.getHigh() ^ last.getHigh();
+    long hostLow = first.getLow() ^ last.getLow();
+    boolean contiguous = hostHigh == 0 ? (hostLow & (hostLow + 1)) == 0 : hostLow == -1L && (hostHigh & (hostHigh + 1)) == 0;
+    if (!contiguous || (first.getHigh() & hostHigh) != 0 || (first.getLow() & hostLow) != 0) {
+      throw new IllegalArgumentException("Start and end address of " + network.getHandle() + " do not span a prefix");
+    }
+    return new CIDR(start, width - Long.bitCount(hostHigh) - Long.bitCount(hostLow));
+  }
+}
@@ -0,0 +1,115 @@
+package be.dnsbelgium.rdap.service.impl;
+
+import be.dnsbelgium.core.DomainName;
+import be.dnsbelgium.core.DomainNameTrie;
+import be.dnsbelgium.rdap.core.Nameserver;
+import be.dnsbelgium.rdap.core.NameserversSearchResult;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.service.PageRequest;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A NameserverService that answers lookups and name searches from nameservers held in memory, indexed in a
+ * DomainNameTrie. See InMemoryDomainService, searches by name, their pages and streams work the same way.
+ *
+ * load replaces all nameservers at once, see Snapshots.
+ */
+public class InMemoryNameserverService extends DefaultNameserverService {
+
+  private volatile DomainNameTrie<Nameserver> nameservers = DomainNameTrie.of(new LinkedHashMap<DomainName, Nameserver>());
+
+  public InMemoryNameserverService() {
+
+  }
+
+  public InMemoryNameserverService(Collection<Nameserver> nameservers) {
+    load(nameservers);
+  }
+
+  @Override
+  public Nameserver getNameserverImpl(DomainName domainName) throws RDAPError {
+    return nameservers.get(domainName);
+  }
+
+  @Override
+  public NameserversSearchResult searchByNameImpl(String name) throws RDAPError {
+    try {
+      return new NameserversSearchResult(nameservers.search(name));
+    } catch (IllegalArgumentException e) {
+      throw RDAPError.badRequest("Invalid search pattern", e.getMessage());
+    }
+  }
+
+  @Override
+  public NameserversSearchResult searchByNameImpl(String name, PageRequest page) throws RDAPError {
+    Pages.checkSort(page, InMemoryDomainService.SORT_NAME);
+    DomainNameTrie<Nameserver> current = nameservers;
+    Pages.Collector<Nameserver> collector = new Pages.Collector<>(page);
+    Pages.Counter<Nameserver> counter = new Pages.Counter<>(page);
+    try {
+      current.search(name, Pages.cursorName(page), page.isDescending(), collector);
+      if (page.isCount()) {
+        current.search(name, counter);
+      }
+    } catch (IllegalArgumentException e) {
+      throw RDAPError.badRequest("Invalid search pattern", e.getMessage());
+    }
+    NameserversSearchResult result = new NameserversSearchResult(collector.results);
+    if (collector.more) {
+      Nameserver last = collector.results.get(collector.results.size() - 1);
+      result.setNextCursor((last.ldhName != null ? last.ldhName : last.unicodeName).getCanonicalValue());
+    }
+    if (collector.expired) {
+      result.markTruncated();
+    }
+    if (page.isCount() && !counter.expired) {
+      result.setTotalCount(counter.count);
+    }
+    return result;
+  }
+
+  @Override
+  public Long countByName(String name, PageRequest page) throws RDAPError {
+    Pages.Counter<Nameserver> counter = Pages.Counter.upTo(page);
+    try {
+      nameservers.search(name, counter);
+    } catch (IllegalArgumentException e) {
+      throw RDAPError.badRequest("Invalid search pattern", e.getMessage());
+    }
+    return counter.total();
+  }
+
+  @Override
+  public Stream<Nameserver> streamByName(String name) throws RDAPError {
+    return Pages.stream(page -> searchByNameImpl(name, page));
+  }
+
+  /**
+   * Replaces all nameservers, each nameserver is indexed on its ldhName, or its unicodeName when it has no ldhName.
+   *
+   * @throws IllegalArgumentException when a nameserver has no name
+   */
+  public void load(Collection<Nameserver> nameservers) {
+    Map<DomainName, Nameserver> byName = new LinkedHashMap<>();
+    for (Nameserver nameserver : nameservers) {
+      DomainName name = nameserver.ldhName != null ? nameserver.ldhName : nameserver.unicodeName;
+      if (name == null) {
+        throw new IllegalArgumentException("Nameserver " + nameserver.handle + " has no name");
+      }
+      byName.put(name, nameserver);
+    }
+    this.nameservers = Snapshots.build(nameservers,
+        nameserver -> nameserver.addRdapConformance(Nameserver.DEFAULT_RDAP_CONFORMANCE), () -> DomainNameTrie.of(byName));
+  }
+
+  /**
+   * @return the number of nameservers
+   */
+  public int size() {
+    return nameservers.size();
+  }
+}
@@ -0,0 +1,201 @@
+package be.dnsbelgium.rdap.service.impl;
+
+import be.dnsbelgium.core.DomainName;
+import be.dnsbelgium.core.LabelException;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.core.SearchResult;
+import be.dnsbelgium.rdap.service.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * What the in-memory services share to answer a PageRequest.
+ */
+final class Pages {
+
+  /**
+   * The number of results a stream fetches at once
+   */
+  static final int STREAM_PAGE_SIZE = 256;
+
+  private Pages() {
+
+  }
+
+  /**
+   * Returns one page of a search.
+   */
+  interface Source {
+
+    SearchResult page(PageRequest page) throws RDAPError;
+  }
+
+  /**
+   * @return the results of all pages of a search, in the default order. A page is only fetched when the stream gets to
+   * it, so no more than one page is held at a time.
+   * @throws RDAPError when the first page can not be fetched, because the pattern is not valid for instance
+   */
+  static <T> Stream<T> stream(Source source) throws RDAPError {
+    SearchResult first = source.page(PageRequest.first(STREAM_PAGE_SIZE));
+    Iterator<T> iterator = new Iterator<T>() {
+
+      private SearchResult current = first;
+
+      private int next;
+
+      @Override
+      public boolean hasNext() {
+        while (next == current.getResults().size()) {
+          if (current.getNextCursor() == null) {
+            return false;
+          }
+          try {
+            current = source.page(new PageRequest(STREAM_PAGE_SIZE, current.getNextCursor(), null, false, false));
+          } catch (RDAPError e) {
+            // the search was accepted for the first page, so this is not the fault of the client
+            throw new IllegalStateException("Could not fetch the next page", e);
+          }
+          next = 0;
+        }
+        return true;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public T next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return (T) current.getResults().get(next++);
+      }
+    };
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  /**
+   * Collects the results of one page, and whether there is at least one more. It stops early, with at least one result,
+   * when the deadline of the page has passed.
+   */
+  static final class Collector<T> implements Predicate<T> {
+
+    final List<T> results = new ArrayList<>();
+
+    private final int size;
+
+    private final PageRequest page;
+
+    boolean more;
+
+    boolean expired;
+
+    Collector(PageRequest page) {
+      this(page.getSize(), page);
+    }
+
+    Collector(int size, PageRequest page) {
+      this.size = size;
+      this.page = page;
+    }
+
+    @Override
+    public boolean test(T result) {
+      if (results.size() == size) {
+        more = true;
+        return false;
+      }
+      if (!results.isEmpty() && results.size() % SearchResult.DEADLINE_CHECK_INTERVAL == 0 && page.isExpired()) {
+        more = true;
+        expired = true;
+        return false;
+      }
+      results.add(result);
+      return true;
+    }
+  }
+
+  /**
+   * Counts the results it is passed, until the deadline of the page has passed or, for a count method, until there are
+   * more than the page size.
+   */
+  static final class Counter<T> implements Predicate<T> {
+
+    private final PageRequest page;
+
+    private final long limit;
+
+    long count;
+
+    boolean expired;
+
+    /**
+     * Counts the totalCount of a search, up to the deadline of its page
+     */
+    Counter(PageRequest page) {
+      this(page, Long.MAX_VALUE);
+    }
+
+    private Counter(PageRequest page, long limit) {
+      this.page = page;
+      this.limit = limit;
+    }
+
+    /**
+     * @return a Counter for a count method, up to the deadline and the size of the page
+     */
+    static <T> Counter<T> upTo(PageRequest page) {
+      return new Counter<>(page, page.getSize());
+    }
+
+    @Override
+    public boolean test(T result) {
+      if (count == limit || (count > 0 && count % SearchResult.DEADLINE_CHECK_INTERVAL == 0 && page.isExpired())) {
+        expired = true;
+        return false;
+      }
+      count++;
+      return true;
+    }
+
+    /**
+     * @return the count, null when it was stopped before all results were counted
+     */
+    Long total() {
+      return expired ? null : count;
+    }
+  }
+
+  /**
+   * @throws RDAPError when the page asks for another sort than the one property the results are in
+   */
+  static void checkSort(PageRequest page, String property) throws RDAPError {
+    if (page.getSort() != null && !page.getSort().equals(property)) {
+      throw RDAPError.badRequest("Invalid sort", "'%s' is not supported, results can only be sorted on %s".formatted(page.getSort(), property));
+    }
+  }
+
+  /**
+   * @return the name a page of names starts after, null for the first page
+   */
+  static DomainName cursorName(PageRequest page) throws RDAPError {
+    if (page.getCursor() == null) {
+      return null;
+    }
+    try {
+      return DomainName.of(page.getCursor());
+    } catch (LabelException | IllegalArgumentException e) {
+      throw invalidCursor();
+    }
+  }
+
+  static RDAPError invalidCursor() {
+    return RDAPError.badRequest("Invalid cursor", "The cursor does not belong to this search");
+  }
+}
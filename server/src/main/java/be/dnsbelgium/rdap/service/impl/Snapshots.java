@@ -0,0 +1,35 @@
+package be.dnsbelgium.rdap.service.impl;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * What the in-memory services share to replace all their objects at once.
+ *
+ * load builds a new index aside and then assigns it to a volatile field, so requests see either the old or the new
+ * objects, never a mix. A load that fails, because the index rejects an object, leaves the old index in place and the
+ * objects it was given unchanged.
+ *
+ * The getX methods of the services add the DEFAULT_RDAP_CONFORMANCE of the object to every result. It is added once,
+ * when the objects are loaded, so the objects that lookups return are not modified by concurrent lookups.
+ */
+final class Snapshots {
+
+  private Snapshots() {
+
+  }
+
+  /**
+   * Builds the index of the objects, then adds the rdapConformance to every object.
+   *
+   * @param addRdapConformance adds the DEFAULT_RDAP_CONFORMANCE to one object
+   * @return the index, for the service to swap in
+   * @throws IllegalArgumentException when the index rejects an object, before any object is modified
+   */
+  static <T, I> I build(Collection<T> objects, Consumer<? super T> addRdapConformance, Supplier<I> index) {
+    I built = index.get();
+    objects.forEach(addRdapConformance);
+    return built;
+  }
+}
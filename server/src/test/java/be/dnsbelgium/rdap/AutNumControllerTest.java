@@ -70,6 +70,23 @@ public class AutNumControllerTest extends AbstractControllerTest {
             .andExpect(status().isBadRequest());
   }
 
+  @Test
+  public void testAutNumAbove31Bits() throws Exception {
+    AutNum autNum = new AutNum(null, null, null, "en", null, null, null, "AutNumHandle", (int) 4200000000L, (int) 4294967294L, null, null, null);
+    when(autNumService.getAutNum((int) 4200000001L)).thenReturn(autNum);
+    mockMvc.perform(get("/autnum/4200000001").accept(APPLICATION_RDAP_JSON))
+        .andExpect(status().isOk())
+        .andExpect(content().string("{\"objectClassName\":\"autnum\",\"lang\":\"en\",\"handle\":\"AutNumHandle\",\"startAutnum\":4200000000,\"endAutnum\":4294967294}"));
+  }
+
+  @Test
+  public void testAutNumOutOfRange() throws Exception {
+    mockMvc.perform(get("/autnum/4294967296").accept(APPLICATION_RDAP_JSON))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/autnum/-1").accept(APPLICATION_RDAP_JSON))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   public void testMinimalJson() throws Exception {
     performAutNumTest(APPLICATION_JSON);
@@ -0,0 +1,253 @@
+package be.dnsbelgium.rdap;
+
+import be.dnsbelgium.core.DomainName;
+import be.dnsbelgium.rdap.core.Domain;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.service.DomainService;
+import be.dnsbelgium.rdap.service.cache.CacheSettings;
+import be.dnsbelgium.rdap.service.cache.CachingDomainService;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CachingDomainServiceTest {
+
+  private static final DomainName DOMAIN_NAME = DomainName.of("example.be");
+
+  private DomainService delegate;
+
+  private CachingDomainService service;
+
+  @Before
+  public void setUp() {
+    delegate = mock(DomainService.class);
+    service = new CachingDomainService(delegate, new CacheSettings(100, Duration.ofMinutes(5)),
+        new CacheSettings(100, Duration.ofSeconds(30)));
+  }
+
+  @Test
+  public void testHitDoesNotCallDelegate() throws Exception {
+    Domain domain = aDomain();
+    when(delegate.getDomain(any(DomainName.class))).thenReturn(domain);
+
+    assertSame(domain, service.getDomain(DOMAIN_NAME));
+    assertSame(domain, service.getDomain(DomainName.of("example.be")));
+    assertSame(domain, service.getDomain(DomainName.of("EXAMPLE.be")));
+
+    verify(delegate, times(1)).getDomain(any(DomainName.class));
+    assertEquals(2, service.getCache().stats().hitCount());
+  }
+
+  @Test
+  public void testIDNSharesEntryWithALabel() throws Exception {
+    Domain domain = aDomain();
+    when(delegate.getDomain(any(DomainName.class))).thenReturn(domain);
+
+    service.getDomain(DomainName.of("bücher.be"));
+    service.getDomain(DomainName.of("xn--bcher-kva.be"));
+
+    verify(delegate, times(1)).getDomain(any(DomainName.class));
+  }
+
+  @Test
+  public void testNullIsNotCachedWithoutNotFoundCache() throws Exception {
+    service = new CachingDomainService(delegate, new CacheSettings(100, Duration.ofMinutes(5)));
+    when(delegate.getDomain(DOMAIN_NAME)).thenReturn(null);
+
+    assertNull(service.getDomain(DOMAIN_NAME));
+    assertNull(service.getDomain(DOMAIN_NAME));
+
+    verify(delegate, times(2)).getDomain(DOMAIN_NAME);
+  }
+
+  @Test
+  public void testNotFoundShortCircuits() throws Exception {
+    when(delegate.getDomain(DOMAIN_NAME)).thenReturn(null);
+
+    assertNull(service.getDomain(DOMAIN_NAME));
+    assertNull(service.getDomain(DOMAIN_NAME));
+    assertNull(service.getDomain(DOMAIN_NAME));
+
+    verify(delegate, times(1)).getDomain(DOMAIN_NAME);
+    assertEquals(2, service.getCache().notFoundStats().hitCount());
+    assertEquals(1, service.getCache().notFoundStats().missCount());
+  }
+
+  @Test
+  public void testNotFoundErrorIsRethrown() throws Exception {
+    RDAPError error = RDAPError.noResults("example.be");
+    when(delegate.getDomain(DOMAIN_NAME)).thenThrow(error);
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        service.getDomain(DOMAIN_NAME);
+        fail("Should throw RDAPError");
+      } catch (RDAPError e) {
+        assertSame(error, e);
+      }
+    }
+
+    verify(delegate, times(1)).getDomain(DOMAIN_NAME);
+  }
+
+  @Test
+  public void testOtherErrorsAreNotCached() throws Exception {
+    when(delegate.getDomain(DOMAIN_NAME)).thenThrow(RDAPError.notImplemented());
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        service.getDomain(DOMAIN_NAME);
+        fail("Should throw RDAPError");
+      } catch (RDAPError e) {
+        assertEquals(501, e.getErrorCode());
+      }
+    }
+
+    verify(delegate, times(2)).getDomain(DOMAIN_NAME);
+  }
+
+  @Test
+  public void testInvalidateForgetsNotFound() throws Exception {
+    when(delegate.getDomain(DOMAIN_NAME)).thenReturn(null);
+
+    service.getDomain(DOMAIN_NAME);
+    service.invalidate(DOMAIN_NAME);
+    service.getDomain(DOMAIN_NAME);
+
+    verify(delegate, times(2)).getDomain(DOMAIN_NAME);
+  }
+
+  @Test
+  public void testInvalidate() throws Exception {
+    when(delegate.getDomain(DOMAIN_NAME)).thenReturn(aDomain());
+
+    service.getDomain(DOMAIN_NAME);
+    service.invalidate(DomainName.of("Example.be"));
+    service.getDomain(DOMAIN_NAME);
+
+    verify(delegate, times(2)).getDomain(DOMAIN_NAME);
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    service = new CachingDomainService(delegate, CacheSettings.disabled());
+    when(delegate.getDomain(DOMAIN_NAME)).thenReturn(aDomain());
+
+    service.getDomain(DOMAIN_NAME);
+    service.getDomain(DOMAIN_NAME);
+
+    verify(delegate, times(2)).getDomain(DOMAIN_NAME);
+  }
+
+  @Test
+  public void testConcurrentLookupsAreCoalesced() throws Exception {
+    Domain domain = aDomain();
+    verifyCoalesced(domain, null);
+  }
+
+  @Test
+  public void testConcurrentLookupsShareError() throws Exception {
+    verifyCoalesced(null, RDAPError.notImplemented());
+  }
+
+  @Test
+  public void testInvalidateDuringLoad() throws Exception {
+    verifyInvalidatedDuringLoad(() -> service.invalidate(DOMAIN_NAME));
+  }
+
+  @Test
+  public void testInvalidateAllDuringLoad() throws Exception {
+    verifyInvalidatedDuringLoad(() -> service.invalidateAll());
+  }
+
+  private void verifyInvalidatedDuringLoad(Runnable invalidation) throws Exception {
+    Domain stale = aDomain();
+    Domain fresh = aDomain();
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(delegate.getDomain(DOMAIN_NAME)).thenAnswer(invocation -> {
+      entered.countDown();
+      release.await();
+      return stale;
+    }).thenReturn(fresh);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Object> result = executor.submit(this::lookup);
+      assertTrue(entered.await(5, TimeUnit.SECONDS));
+      invalidation.run();
+      release.countDown();
+      // the caller of the interrupted load still receives its result, but it is not cached
+      assertSame(stale, result.get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+    assertSame(fresh, service.getDomain(DOMAIN_NAME));
+    assertSame(fresh, service.getDomain(DOMAIN_NAME));
+    verify(delegate, times(2)).getDomain(DOMAIN_NAME);
+  }
+
+  private void verifyCoalesced(Domain domain, RDAPError error) throws Exception {
+    // without caches, so every result comes from a backend call
+    service = new CachingDomainService(delegate, CacheSettings.disabled());
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(delegate.getDomain(DOMAIN_NAME)).thenAnswer(invocation -> {
+      entered.countDown();
+      release.await();
+      if (error != null) {
+        throw error;
+      }
+      return domain;
+    });
+
+    int callers = 5;
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+    try {
+      List<Future<Object>> results = new ArrayList<>();
+      results.add(executor.submit(this::lookup));
+      assertTrue(entered.await(5, TimeUnit.SECONDS));
+      for (int i = 1; i < callers; i++) {
+        results.add(executor.submit(this::lookup));
+      }
+      long deadline = System.currentTimeMillis() + 5000;
+      while (service.getCache().coalescedCount() < callers - 1 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      release.countDown();
+
+      for (Future<Object> result : results) {
+        assertSame(error != null ? error : domain, result.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(delegate, times(1)).getDomain(DOMAIN_NAME);
+    assertEquals(callers - 1, service.getCache().coalescedCount());
+  }
+
+  private Object lookup() {
+    try {
+      return service.getDomain(DOMAIN_NAME);
+    } catch (RDAPError e) {
+      return e;
+    }
+  }
+
+  private Domain aDomain() {
+    return new Domain(null, null, null, null, null, null, null, null, DOMAIN_NAME, DOMAIN_NAME, null, null, null,
+        null, null, null);
+  }
+}
@@ -0,0 +1,64 @@
+package be.dnsbelgium.rdap;
+
+import be.dnsbelgium.rdap.core.Help;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.service.HelpService;
+import be.dnsbelgium.rdap.service.cache.CachingHelpService;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class CachingHelpServiceTest {
+
+  private HelpService delegate;
+
+  private CachingHelpService service;
+
+  @Before
+  public void setUp() {
+    delegate = mock(HelpService.class);
+    service = new CachingHelpService(delegate);
+  }
+
+  @Test
+  public void testHelpIsLoadedOnce() throws Exception {
+    Help help = new Help(Collections.emptyList());
+    when(delegate.getHelp()).thenReturn(help);
+
+    assertSame(help, service.getHelp());
+    assertSame(help, service.getHelp());
+
+    verify(delegate, times(1)).getHelp();
+  }
+
+  @Test
+  public void testErrorsAreNotKept() throws Exception {
+    when(delegate.getHelp()).thenThrow(RDAPError.notImplemented());
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        service.getHelp();
+        fail("Should throw RDAPError");
+      } catch (RDAPError e) {
+        assertEquals(501, e.getErrorCode());
+      }
+    }
+
+    verify(delegate, times(2)).getHelp();
+  }
+
+  @Test
+  public void testInvalidate() throws Exception {
+    when(delegate.getHelp()).thenReturn(new Help(Collections.emptyList()));
+
+    service.getHelp();
+    service.invalidate();
+    service.getHelp();
+
+    verify(delegate, times(2)).getHelp();
+  }
+}
@@ -37,6 +37,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static be.dnsbelgium.rdap.RdapMediaType.*;
+import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -141,6 +142,59 @@ public class DomainControllerTest extends AbstractControllerTest {
     performHeadDomain(APPLICATION_RDAP_JSON, status().isNotFound());
   }
 
+  @Test
+  public void testGetHasETag() throws Exception {
+    initDomain();
+    String eTag = performGetETag();
+    assertNotNull(eTag);
+    performHeadDomain(APPLICATION_RDAP_JSON, status().isOk(), header().string("ETag", eTag));
+  }
+
+  @Test
+  public void testGetNotModified() throws Exception {
+    initDomain();
+    String eTag = performGetETag();
+    mockMvc.perform(get(DOMAIN_PATH).accept(APPLICATION_RDAP_JSON).header("If-None-Match", eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", eTag))
+        .andExpect(content().string(""));
+    mockMvc.perform(get(DOMAIN_PATH).accept(APPLICATION_RDAP_JSON).header("If-None-Match", "W/" + eTag))
+        .andExpect(status().isNotModified());
+  }
+
+  @Test
+  public void testHeadNotModified() throws Exception {
+    initDomain();
+    String eTag = performGetETag();
+    mockMvc.perform(head(DOMAIN_PATH).accept(APPLICATION_RDAP_JSON).header("If-None-Match", eTag))
+        .andExpect(status().isNotModified());
+  }
+
+  @Test
+  public void testFullFieldSet() throws Exception {
+    initDomain();
+    String eTag = mockMvc.perform(get(DOMAIN_PATH + "?fieldSet=full").accept(APPLICATION_RDAP_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.ldhName", DOMAIN).exists())
+        .andExpect(jsonPath("$.subsetting_metadata.currentFieldSet").value("full"))
+        .andExpect(header().exists("ETag"))
+        .andReturn().getResponse().getHeader("ETag");
+    mockMvc.perform(get(DOMAIN_PATH + "?fieldSet=full").accept(APPLICATION_RDAP_JSON).header("If-None-Match", eTag))
+        .andExpect(status().isNotModified());
+    mockMvc.perform(get(DOMAIN_PATH + "?fieldSet=id").accept(APPLICATION_RDAP_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.subsetting_metadata.currentFieldSet").value("id"))
+        .andExpect(header().exists("ETag"));
+  }
+
+  @Test
+  public void testGetModified() throws Exception {
+    initDomain();
+    mockMvc.perform(get(DOMAIN_PATH).accept(APPLICATION_RDAP_JSON).header("If-None-Match", "\"other\""))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.ldhName", DOMAIN).exists());
+  }
+
 	@Test
 	public void testMethodNotAllowed() throws Exception {
 		mockMvc.perform(put(DOMAIN_PATH).accept(APPLICATION_RDAP_JSON))
@@ -277,6 +331,11 @@ public class DomainControllerTest extends AbstractControllerTest {
         .andExpectAll(additionalMatchers);
   }
 
+  private String performGetETag() throws Exception {
+    return mockMvc.perform(get(DOMAIN_PATH).accept(APPLICATION_RDAP_JSON))
+        .andReturn().getResponse().getHeader("ETag");
+  }
+
   private void initDomain() throws RDAPError {
     Domain domain = new Domain(null, null, null, null, null, null,
         null, null, DOMAIN_NAME, DOMAIN_NAME, null, null, null,
@@ -0,0 +1,113 @@
+package be.dnsbelgium.rdap;
+
+import be.dnsbelgium.core.DomainName;
+import be.dnsbelgium.rdap.core.Domain;
+import be.dnsbelgium.rdap.core.DomainsSearchResult;
+import be.dnsbelgium.rdap.core.Event;
+import be.dnsbelgium.rdap.http.FreshnessPolicies;
+import be.dnsbelgium.rdap.http.FreshnessPolicy;
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FreshnessPoliciesTest {
+
+  private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+
+  private MockEnvironment environment;
+
+  private FreshnessPolicies policies;
+
+  @Before
+  public void setUp() {
+    environment = new MockEnvironment()
+        .withProperty("http.cache.domain.maxAgeSeconds", "300")
+        .withProperty("http.cache.domain.staleWhileRevalidateSeconds", "60")
+        .withProperty("http.cache.error.404.maxAgeSeconds", "30");
+    policies = new FreshnessPolicies(environment, Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  @Test
+  public void testPolicyPerType() {
+    FreshnessPolicy policy = policies.forResponse(aDomain(null));
+
+    assertEquals(Duration.ofSeconds(300), policy.getMaxAge());
+    assertEquals(Duration.ofSeconds(60), policy.getStaleWhileRevalidate());
+  }
+
+  @Test
+  public void testNoHeadersWithoutMaxAge() {
+    HttpHeaders headers = new HttpHeaders();
+    policies.applyForError(500, headers);
+    policies.applyForResponse(new DomainsSearchResult(Collections.emptyList()), headers);
+
+    assertTrue(policies.forError(500).isNone());
+    assertNull(headers.getCacheControl());
+    assertFalse(headers.containsKey(HttpHeaders.EXPIRES));
+  }
+
+  @Test
+  public void testHeaders() {
+    HttpHeaders headers = new HttpHeaders();
+    policies.applyForResponse(aDomain(null), headers);
+
+    assertEquals("max-age=300, stale-while-revalidate=60", headers.getCacheControl());
+    assertEquals(NOW.plusSeconds(300).toEpochMilli(), headers.getExpires());
+  }
+
+  @Test
+  public void testErrorPolicy() {
+    HttpHeaders headers = new HttpHeaders();
+    policies.applyForError(404, headers);
+
+    assertEquals("max-age=30", headers.getCacheControl());
+  }
+
+  @Test
+  public void testRecentlyChangedObjectIsFreshForShorterTime() {
+    FreshnessPolicy policy = policies.forResponse(aDomain(event(Event.Action.Default.LAST_CHANGED, Duration.ofMinutes(10))));
+
+    assertEquals(Duration.ofMinutes(1), policy.getMaxAge());
+  }
+
+  @Test
+  public void testLongUnchangedObjectKeepsConfiguredMaxAge() {
+    FreshnessPolicy policy = policies.forResponse(aDomain(event(Event.Action.Default.LAST_CHANGED, Duration.ofDays(100))));
+
+    assertEquals(Duration.ofSeconds(300), policy.getMaxAge());
+  }
+
+  @Test
+  public void testMaxAgeEndsAtNextDatabaseUpdate() {
+    environment.setProperty("http.cache.rdapDatabaseUpdateIntervalSeconds", "600");
+    policies = new FreshnessPolicies(environment, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    Event lastUpdate = event(Event.Action.Default.LAST_UPDATE_OF_RDAP_DATABASE, Duration.ofSeconds(420));
+    assertEquals(Duration.ofSeconds(180), policies.forResponse(aDomain(lastUpdate)).getMaxAge());
+
+    Event overdue = event(Event.Action.Default.LAST_UPDATE_OF_RDAP_DATABASE, Duration.ofSeconds(900));
+    assertEquals(Duration.ZERO, policies.forResponse(aDomain(overdue)).getMaxAge());
+  }
+
+  private Event event(Event.Action action, Duration ago) {
+    return new Event(action, null, new DateTime(NOW.minus(ago).toEpochMilli()), null);
+  }
+
+  private Domain aDomain(Event event) {
+    DomainName domainName = DomainName.of("example.be");
+    List<Event> events = event == null ? null : Collections.singletonList(event);
+    return new Domain(null, null, null, null, events, null, null, null, domainName, domainName, null, null, null,
+        null, null, null);
+  }
+}
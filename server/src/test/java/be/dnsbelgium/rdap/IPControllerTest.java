@@ -21,6 +21,7 @@ import static be.dnsbelgium.rdap.RdapMediaType.APPLICATION_RDAP_JSON;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -69,6 +70,13 @@ public class IPControllerTest extends AbstractControllerTest {
     mockMvc.perform(get("/ip/193.12.32.98/24")).andExpect(status().isNotFound());
   }
 
+  @Test
+  public void testInvalidAddress() throws Exception {
+    mockMvc.perform(get("/ip/www.dnsbelgium.be")).andExpect(status().isBadRequest());
+    mockMvc.perform(get("/ip/193.12.32.98/33")).andExpect(status().isBadRequest());
+    verifyNoInteractions(ipService);
+  }
+
   @Test
   public void testIPMinimalJson() throws Exception {
     performIpTest(APPLICATION_JSON);
@@ -0,0 +1,76 @@
+package be.dnsbelgium.rdap;
+
+import be.dnsbelgium.rdap.core.AutNum;
+import be.dnsbelgium.rdap.service.impl.InMemoryAutNumService;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class InMemoryAutNumServiceTest {
+
+  @Test
+  public void testBlockLookup() throws Exception {
+    AutNum low = autNum("AS-LOW", 6000, 6300);
+    AutNum single = autNum("AS-SINGLE", 64512, 64512);
+    // 4200000000 to 4294967294, private use: above 2^31, so negative as int
+    AutNum high = autNum("AS-HIGH", (int) 4200000000L, (int) 4294967294L);
+    InMemoryAutNumService service = new InMemoryAutNumService(Arrays.asList(high, single, low));
+
+    assertEquals(3, service.size());
+    assertSame(low, service.getAutNum(6000));
+    assertSame(low, service.getAutNum(6150));
+    assertSame(low, service.getAutNum(6300));
+    assertNull(service.getAutNum(5999));
+    assertNull(service.getAutNum(6301));
+    assertSame(single, service.getAutNum(64512));
+    assertNull(service.getAutNum(64513));
+    assertSame(high, service.getAutNum((int) 4200000000L));
+    assertSame(high, service.getAutNum((int) 4294967294L));
+    assertNull(service.getAutNum((int) 4294967295L));
+    assertNull(service.getAutNum(0));
+    assertTrue(low.getRdapConformance().contains(AutNum.DEFAULT_RDAP_CONFORMANCE));
+  }
+
+  @Test
+  public void testLoadReplacesAllBlocks() throws Exception {
+    InMemoryAutNumService service = new InMemoryAutNumService(Collections.singletonList(autNum("FIRST", 1, 10)));
+    AutNum second = autNum("SECOND", 20, 30);
+    service.load(Collections.singletonList(second));
+    assertNull(service.getAutNum(5));
+    assertSame(second, service.getAutNum(25));
+  }
+
+  @Test
+  public void testEmpty() throws Exception {
+    assertNull(new InMemoryAutNumService().getAutNum(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOverlappingBlocks() {
+    new InMemoryAutNumService(Arrays.asList(autNum("A", 1, 10), autNum("B", 10, 20)));
+  }
+
+  @Test
+  public void testRejectedLoadKeepsBlocks() throws Exception {
+    AutNum a = autNum("A", 1, 10);
+    InMemoryAutNumService service = new InMemoryAutNumService(Collections.singletonList(a));
+    AutNum b = autNum("B", 5, 20);
+    AutNum c = autNum("C", 30, 40);
+    try {
+      service.load(Arrays.asList(c, b, autNum("D", 10, 20)));
+      fail("expected overlapping blocks to be rejected");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    assertSame(a, service.getAutNum(1));
+    assertNull(b.getRdapConformance());
+    assertNull(c.getRdapConformance());
+  }
+
+  private static AutNum autNum(String handle, int start, int end) {
+    return new AutNum(null, null, null, null, null, null, null, handle, start, end, null, null, null);
+  }
+}
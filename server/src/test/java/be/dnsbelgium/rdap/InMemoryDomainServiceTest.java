@@ -0,0 +1,279 @@
+package be.dnsbelgium.rdap;
+
+import be.dnsbelgium.core.DomainName;
+import be.dnsbelgium.rdap.core.Domain;
+import be.dnsbelgium.rdap.core.DomainsSearchResult;
+import be.dnsbelgium.rdap.core.Nameserver;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.service.PageRequest;
+import be.dnsbelgium.rdap.service.impl.InMemoryDomainService;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class InMemoryDomainServiceTest {
+
+  @Test
+  public void testLookup() throws Exception {
+    Domain example = domain("example.be");
+    InMemoryDomainService service = new InMemoryDomainService(Arrays.asList(example, domain("other.be")));
+
+    assertEquals(2, service.size());
+    assertSame(example, service.getDomain(DomainName.of("EXAMPLE.BE")));
+    assertNull(service.getDomain(DomainName.of("unknown.be")));
+    assertTrue(example.getRdapConformance().contains(Domain.DEFAULT_RDAP_CONFORMANCE));
+  }
+
+  @Test
+  public void testSearchByName() throws Exception {
+    Domain examen = domain("examen.be");
+    Domain example = domain("example.be");
+    Domain sub = domain("www.example.be");
+    InMemoryDomainService service = new InMemoryDomainService(Arrays.asList(example, domain("other.be"), examen, sub,
+        domain("example.eu")));
+
+    assertEquals(Arrays.asList(examen, example), service.searchDomainsByName("exam*.be").domainSearchResults);
+    assertEquals(Collections.singletonList(sub), service.searchDomainsByName("*.example.be").domainSearchResults);
+    assertEquals(Collections.singletonList(example), service.searchDomainsByName("example.be").domainSearchResults);
+    assertTrue(service.searchDomainsByName("none*.be").domainSearchResults.isEmpty());
+  }
+
+  @Test
+  public void testInvalidPattern() throws Exception {
+    InMemoryDomainService service = new InMemoryDomainService(Collections.singletonList(domain("example.be")));
+    try {
+      service.searchDomainsByName("ex*mple.be");
+      fail("expected a bad request");
+    } catch (RDAPError.BadRequest e) {
+      assertEquals(400, e.getErrorCode());
+    }
+  }
+
+  @Test
+  public void testLoadReplacesAllDomains() throws Exception {
+    InMemoryDomainService service = new InMemoryDomainService(Collections.singletonList(domain("first.be")));
+    Domain second = domain("second.be");
+    service.load(Collections.singletonList(second));
+    assertNull(service.getDomain(DomainName.of("first.be")));
+    assertSame(second, service.getDomain(DomainName.of("second.be")));
+  }
+
+  @Test
+  public void testSearchByNameserver() throws Exception {
+    Nameserver ns1 = nameserver("ns1.hoster.be", "192.0.2.1", "2001:db8::1");
+    Nameserver ns2 = nameserver("ns2.hoster.be", "192.0.2.2");
+    Nameserver other = nameserver("ns.other.be", "198.51.100.1");
+    Domain first = domain("first.be", ns1, ns2);
+    Domain second = domain("second.be", other);
+    Domain third = domain("third.be", ns2, other);
+    InMemoryDomainService service = new InMemoryDomainService(Arrays.asList(first, second, third));
+
+    assertEquals(Arrays.asList(first, third), service.searchDomainsByNsLdhName("NS2.hoster.be").domainSearchResults);
+    assertEquals(Arrays.asList(first, third), service.searchDomainsByNsLdhName("*.hoster.be").domainSearchResults);
+    assertEquals(Arrays.asList(second, third), service.searchDomainsByNsLdhName("ns*.other.be").domainSearchResults);
+    assertTrue(service.searchDomainsByNsLdhName("ns3.hoster.be").domainSearchResults.isEmpty());
+    assertEquals(Arrays.asList(second, third), service.searchDomainsByNsIp("198.51.100.1").domainSearchResults);
+    assertEquals(Collections.singletonList(first), service.searchDomainsByNsIp("2001:DB8:0::1").domainSearchResults);
+    assertTrue(service.searchDomainsByNsIp("192.0.2.3").domainSearchResults.isEmpty());
+  }
+
+  @Test
+  public void testInvalidNsIp() throws Exception {
+    InMemoryDomainService service = new InMemoryDomainService(Collections.singletonList(domain("example.be")));
+    for (String nsIp : new String[]{"ns1.dns.be", "192.0.2.0/24"}) {
+      try {
+        service.searchDomainsByNsIp(nsIp);
+        fail("expected a bad request for " + nsIp);
+      } catch (RDAPError.BadRequest e) {
+        assertEquals(400, e.getErrorCode());
+      }
+    }
+  }
+
+  @Test
+  public void testPageByName() throws Exception {
+    List<Domain> domains = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      domains.add(domain("name%02d.be".formatted(i)));
+    }
+    List<Domain> shuffled = new ArrayList<>(domains);
+    Collections.shuffle(shuffled);
+    InMemoryDomainService service = new InMemoryDomainService(shuffled);
+
+    List<Domain> all = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      DomainsSearchResult page = service.searchDomainsByName("name*.be", new PageRequest(10, cursor, "name", false, true));
+      assertEquals(Long.valueOf(25), page.getTotalCount());
+      assertTrue(page.domainSearchResults.size() <= 10);
+      all.addAll(page.domainSearchResults);
+      cursor = page.getNextCursor();
+      pages++;
+    } while (cursor != null);
+    assertEquals(3, pages);
+    assertEquals(domains, all);
+
+    DomainsSearchResult last = service.searchDomainsByName("name*.be", new PageRequest(5, null, "name", true, false));
+    assertEquals(Arrays.asList(domains.get(24), domains.get(23), domains.get(22), domains.get(21), domains.get(20)),
+        last.domainSearchResults);
+    assertNull(last.getTotalCount());
+    DomainsSearchResult before = service.searchDomainsByName("name*.be",
+        new PageRequest(2, last.getNextCursor(), "name", true, false));
+    assertEquals(Arrays.asList(domains.get(19), domains.get(18)), before.domainSearchResults);
+  }
+
+  @Test
+  public void testPageByNameserver() throws Exception {
+    Nameserver ns = nameserver("ns.hoster.be", "192.0.2.1");
+    List<Domain> domains = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      domains.add(domain("name%d.be".formatted(i), ns));
+    }
+    InMemoryDomainService service = new InMemoryDomainService(domains);
+
+    DomainsSearchResult first = service.searchDomainsByNsLdhName("ns.hoster.be", new PageRequest(4, null, null, false, true));
+    assertEquals(domains.subList(0, 4), first.domainSearchResults);
+    assertEquals(Long.valueOf(7), first.getTotalCount());
+    DomainsSearchResult second = service.searchDomainsByNsLdhName("ns.hoster.be",
+        new PageRequest(4, first.getNextCursor(), null, false, true));
+    assertEquals(domains.subList(4, 7), second.domainSearchResults);
+    assertNull(second.getNextCursor());
+
+    DomainsSearchResult byIp = service.searchDomainsByNsIp("192.0.2.1", new PageRequest(3, "name4.be", "name", true, false));
+    assertEquals(Arrays.asList(domains.get(3), domains.get(2), domains.get(1)), byIp.domainSearchResults);
+  }
+
+  @Test
+  public void testStream() throws Exception {
+    Nameserver ns = nameserver("ns.hoster.be", "192.0.2.1");
+    List<Domain> domains = new ArrayList<>();
+    // more than one page of the stream
+    for (int i = 0; i < 600; i++) {
+      domains.add(domain("name%03d.be".formatted(i), ns));
+    }
+    List<Domain> shuffled = new ArrayList<>(domains);
+    Collections.shuffle(shuffled);
+    InMemoryDomainService service = new InMemoryDomainService(shuffled);
+
+    assertEquals(domains, service.streamDomainsByName("name*.be").collect(Collectors.toList()));
+    assertEquals(domains, service.streamDomainsByNsLdhName("*.hoster.be").collect(Collectors.toList()));
+    assertEquals(domains, service.streamDomainsByNsIp("192.0.2.1").collect(Collectors.toList()));
+    assertEquals(0, service.streamDomainsByName("none*.be").count());
+    try {
+      service.streamDomainsByName("na*me.be");
+      fail("expected a bad request");
+    } catch (RDAPError.BadRequest e) {
+      assertEquals(400, e.getErrorCode());
+    }
+  }
+
+  @Test
+  public void testCount() throws Exception {
+    Nameserver ns = nameserver("ns.hoster.be", "192.0.2.1");
+    List<Domain> domains = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      domains.add(i < 10 ? domain("name%02d.be".formatted(i), ns) : domain("name%02d.be".formatted(i)));
+    }
+    InMemoryDomainService service = new InMemoryDomainService(domains);
+
+    PageRequest all = new PageRequest(Integer.MAX_VALUE, null, null, false, true);
+    assertEquals(Long.valueOf(30), service.countDomainsByName("name*.be", all));
+    assertEquals(Long.valueOf(0), service.countDomainsByName("none*.be", all));
+    assertEquals(Long.valueOf(10), service.countDomainsByNsLdhName("*.hoster.be", all));
+    assertEquals(Long.valueOf(10), service.countDomainsByNsIp("192.0.2.1", all));
+    assertEquals(Long.valueOf(0), service.countDomainsByNsIp("192.0.2.2", all));
+    // the size of the page is the most a count goes to
+    assertEquals(Long.valueOf(30), service.countDomainsByName("name*.be", new PageRequest(30, null, null, false, true)));
+    assertNull(service.countDomainsByName("name*.be", new PageRequest(29, null, null, false, true)));
+    try {
+      service.countDomainsByNsIp("192.0.2.0/24", all);
+      fail("expected a bad request");
+    } catch (RDAPError.BadRequest e) {
+      assertEquals(400, e.getErrorCode());
+    }
+  }
+
+  @Test
+  public void testDeadline() throws Exception {
+    Nameserver ns = nameserver("ns.hoster.be", "192.0.2.1");
+    List<Domain> domains = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      domains.add(domain("name%03d.be".formatted(i), ns));
+    }
+    InMemoryDomainService service = new InMemoryDomainService(domains);
+    Instant passed = Instant.now().minusSeconds(1);
+
+    DomainsSearchResult byName = service.searchDomainsByName("name*.be",
+        new PageRequest(Integer.MAX_VALUE, null, null, false, true, passed));
+    assertEquals(domains.subList(0, 64), byName.domainSearchResults);
+    assertEquals("name063.be", byName.getNextCursor());
+    assertTrue(byName.isTruncated());
+    assertNull(byName.getTotalCount());
+
+    DomainsSearchResult byNameserver = service.searchDomainsByNsLdhName("ns.hoster.be",
+        new PageRequest(100, "name099.be", null, false, false, passed));
+    assertEquals(domains.subList(100, 164), byNameserver.domainSearchResults);
+    assertTrue(byNameserver.isTruncated());
+
+    DomainsSearchResult inTime = service.searchDomainsByName("name*.be",
+        new PageRequest(Integer.MAX_VALUE, null, null, false, true, Instant.now().plusSeconds(60)));
+    assertEquals(domains, inTime.domainSearchResults);
+    assertFalse(inTime.isTruncated());
+    assertNull(inTime.notices);
+  }
+
+  @Test
+  public void testInvalidPage() throws Exception {
+    InMemoryDomainService service = new InMemoryDomainService(Collections.singletonList(domain("example.be")));
+    for (PageRequest page : new PageRequest[]{new PageRequest(10, null, "registrationDate", false, false),
+        new PageRequest(10, "example..be", null, false, false)}) {
+      try {
+        service.searchDomainsByName("example*.be", page);
+        fail("expected a bad request");
+      } catch (RDAPError.BadRequest e) {
+        assertEquals(400, e.getErrorCode());
+      }
+    }
+  }
+
+  @Test
+  public void testRejectedLoadKeepsDomains() throws Exception {
+    Domain loaded = domain("loaded.be");
+    InMemoryDomainService service = new InMemoryDomainService(Collections.singletonList(loaded));
+    Domain valid = domain("valid.be");
+    Domain unnamed = new Domain(null, null, null, null, null, null, null, "unnamed", null, null, null, null, null,
+        null, null, null);
+    try {
+      service.load(Arrays.asList(valid, unnamed));
+      fail("expected a domain without a name to be rejected");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    assertSame(loaded, service.getDomain(DomainName.of("loaded.be")));
+    assertNull(service.getDomain(DomainName.of("valid.be")));
+    assertNull(valid.getRdapConformance());
+  }
+
+  private static Nameserver nameserver(String name, String... addresses) throws Exception {
+    List<InetAddress> inetAddresses = new ArrayList<>();
+    for (String address : addresses) {
+      inetAddresses.add(InetAddress.getByName(address));
+    }
+    return new Nameserver(null, null, null, null, null, null, null, null, DomainName.of(name), null,
+        new Nameserver.IpAddresses(inetAddresses));
+  }
+
+  private static Domain domain(String name, Nameserver... nameservers) {
+    return new Domain(null, null, null, null, null, null, null, name, DomainName.of(name), null, null,
+        nameservers.length == 0 ? null : Arrays.asList(nameservers), null, null, null, null);
+  }
+}
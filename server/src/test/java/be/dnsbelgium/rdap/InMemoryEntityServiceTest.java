@@ -0,0 +1,134 @@
+package be.dnsbelgium.rdap;
+
+import be.dnsbelgium.rdap.core.EntitiesSearchResult;
+import be.dnsbelgium.rdap.core.Entity;
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.service.PageRequest;
+import be.dnsbelgium.rdap.service.impl.InMemoryEntityService;
+import be.dnsbelgium.vcard.Contact;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class InMemoryEntityServiceTest {
+
+  @Test
+  public void testLookupAndSearch() throws Exception {
+    Entity john = entity("REG-1", "John Doe");
+    Entity jane = entity("REG-2", "Jane Doe");
+    Entity registrar = entity("REGISTRAR-1", "DNS Belgium");
+    InMemoryEntityService service = new InMemoryEntityService(Arrays.asList(john, jane, registrar));
+
+    assertEquals(3, service.size());
+    assertSame(john, service.getEntity("REG-1"));
+    assertNull(service.getEntity("reg-1"));
+    assertEquals(Arrays.asList(jane, john), service.searchByFn("*DOE").entitySearchResults);
+    assertEquals(Collections.singletonList(registrar), service.searchByFn("dns*").entitySearchResults);
+    assertEquals(Arrays.asList(john, jane), service.searchByHandle("reg-*").entitySearchResults);
+    assertTrue(service.searchByHandle("*x*").entitySearchResults.isEmpty());
+    assertTrue(john.getRdapConformance().contains(Entity.DEFAULT_RDAP_CONFORMANCE));
+  }
+
+  @Test
+  public void testResultsAreBounded() throws Exception {
+    InMemoryEntityService service = new InMemoryEntityService(2);
+    service.load(Arrays.asList(entity("A", "Doe 1"), entity("B", "Doe 2"), entity("C", "Doe 3")));
+    assertEquals(2, service.searchByFn("doe*").entitySearchResults.size());
+    EntitiesSearchResult page = service.searchByFn("doe*", new PageRequest(10, null, null, false, false));
+    assertEquals(2, page.entitySearchResults.size());
+    assertNotNull(page.getNextCursor());
+  }
+
+  @Test
+  public void testStreamIsBounded() throws Exception {
+    List<Entity> entities = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      entities.add(entity("H-%03d".formatted(i), "Doe"));
+    }
+    InMemoryEntityService service = new InMemoryEntityService(300);
+    service.load(entities);
+    assertEquals(service.searchByHandle("h-*").entitySearchResults, service.streamByHandle("h-*").collect(Collectors.toList()));
+    assertEquals(entities.subList(0, 300), service.streamByFn("doe").collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testCountIsNotBounded() throws Exception {
+    InMemoryEntityService service = new InMemoryEntityService(2);
+    service.load(Arrays.asList(entity("A", "Doe 1"), entity("B", "Doe 2"), entity("C", "Smith")));
+    PageRequest all = new PageRequest(Integer.MAX_VALUE, null, null, false, true);
+    assertEquals(Long.valueOf(2), service.countByFn("doe*", all));
+    assertEquals(Long.valueOf(1), service.countByHandle("b", all));
+    assertNull(service.countByFn("doe*", new PageRequest(1, null, null, false, true)));
+  }
+
+  @Test
+  public void testInvalidPattern() throws Exception {
+    InMemoryEntityService service = new InMemoryEntityService(Collections.singletonList(entity("A", "Doe")));
+    try {
+      service.searchByFn("*");
+      fail("expected a bad request");
+    } catch (RDAPError.BadRequest e) {
+      assertEquals(400, e.getErrorCode());
+    }
+  }
+
+  @Test
+  public void testPageByFn() throws Exception {
+    List<Entity> entities = new ArrayList<>();
+    for (int i = 0; i < 9; i++) {
+      // three entities share every fn, a cursor can stop halfway through them
+      entities.add(entity("H-" + i, "Doe " + i / 3));
+    }
+    InMemoryEntityService service = new InMemoryEntityService(2);
+    service.load(entities);
+
+    List<Entity> all = new ArrayList<>();
+    String cursor = null;
+    do {
+      EntitiesSearchResult page = service.searchByFn("doe*", new PageRequest(4, cursor, "fn", false, true));
+      assertEquals(Long.valueOf(9), page.getTotalCount());
+      all.addAll(page.entitySearchResults);
+      cursor = page.getNextCursor();
+    } while (cursor != null);
+    assertEquals(entities, all);
+
+    EntitiesSearchResult last = service.searchByHandle("h-*", new PageRequest(2, null, "handle", true, false));
+    assertEquals(Arrays.asList(entities.get(8), entities.get(7)), last.entitySearchResults);
+    assertEquals(Arrays.asList(entities.get(6), entities.get(5)), service.searchByHandle("h-*",
+        new PageRequest(2, last.getNextCursor(), "handle", true, false)).entitySearchResults);
+  }
+
+  @Test
+  public void testInvalidPage() throws Exception {
+    InMemoryEntityService service = new InMemoryEntityService(Collections.singletonList(entity("A", "Doe")));
+    for (PageRequest page : new PageRequest[]{new PageRequest(10, null, "handle", false, false),
+        new PageRequest(10, "not a cursor", "fn", false, false)}) {
+      try {
+        service.searchByFn("doe*", page);
+        fail("expected a bad request");
+      } catch (RDAPError.BadRequest e) {
+        assertEquals(400, e.getErrorCode());
+      }
+    }
+    for (String cursor : new String[]{"not a cursor", "x:doe", "-1:doe", ":doe", "99999999999:doe"}) {
+      try {
+        service.searchByFn("doe*", new PageRequest(10, cursor, "fn", false, false));
+        fail("expected an invalid cursor");
+      } catch (RDAPError.BadRequest e) {
+        assertEquals("Invalid cursor", e.getTitle());
+      }
+    }
+  }
+
+  private static Entity entity(String handle, String fn) {
+    Contact contact = new Contact.Builder().setFormattedName(fn).build();
+    return new Entity(null, null, null, null, Entity.OBJECT_CLASS_NAME, null, null, null, handle, contact, null, null,
+        null, null);
+  }
+}
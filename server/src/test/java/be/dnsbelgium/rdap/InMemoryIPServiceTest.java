@@ -0,0 +1,51 @@
+package be.dnsbelgium.rdap;
+
+import be.dnsbelgium.core.CIDR;
+import be.dnsbelgium.rdap.core.IPNetwork;
+import be.dnsbelgium.rdap.service.impl.InMemoryIPService;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class InMemoryIPServiceTest {
+
+  @Test
+  public void testMostSpecificNetwork() throws Exception {
+    IPNetwork wide = network("wide", "193.12.0.0", "193.12.255.255");
+    IPNetwork narrow = network("narrow", "193.12.32.0", "193.12.32.255");
+    IPNetwork ipv6 = network("ipv6", "2001:db8::", "2001:db8:ffff:ffff:ffff:ffff:ffff:ffff");
+    InMemoryIPService service = new InMemoryIPService(Arrays.asList(wide, narrow, ipv6));
+
+    assertEquals(3, service.size());
+    assertSame(narrow, service.getIPNetwork(CIDR.of("193.12.32.98")));
+    assertSame(wide, service.getIPNetwork(CIDR.of("193.12.33.98")));
+    assertSame(wide, service.getIPNetwork(CIDR.of("193.12.0.0/17")));
+    assertSame(ipv6, service.getIPNetwork(CIDR.of("2001:db8::1")));
+    assertNull(service.getIPNetwork(CIDR.of("10.0.0.1")));
+    assertTrue(narrow.getRdapConformance().contains(IPNetwork.DEFAULT_RDAP_CONFORMANCE));
+  }
+
+  @Test
+  public void testLoadReplacesAllNetworks() throws Exception {
+    IPNetwork first = network("first", "10.0.0.0", "10.255.255.255");
+    IPNetwork second = network("second", "192.168.0.0", "192.168.255.255");
+    InMemoryIPService service = new InMemoryIPService(Collections.singletonList(first));
+    service.load(Collections.singletonList(second));
+    assertNull(service.getIPNetwork(CIDR.of("10.0.0.1")));
+    assertSame(second, service.getIPNetwork(CIDR.of("192.168.1.1")));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRangeThatIsNotAPrefix() throws Exception {
+    new InMemoryIPService(Collections.singletonList(network("range", "10.0.0.1", "10.0.0.255")));
+  }
+
+  private static IPNetwork network(String handle, String start, String end) throws Exception {
+    return new IPNetwork(null, null, null, null, IPNetwork.OBJECT_CLASS_NAME, null, null, null, handle,
+        InetAddress.getByName(start), InetAddress.getByName(end), null, null, null, null, null);
+  }
+}
@@ -0,0 +1,55 @@
+package be.dnsbelgium.rdap;
+
+import be.dnsbelgium.core.DomainName;
+import be.dnsbelgium.rdap.core.Nameserver;
+import be.dnsbelgium.rdap.core.NameserversSearchResult;
+import be.dnsbelgium.rdap.service.PageRequest;
+import be.dnsbelgium.rdap.service.impl.InMemoryNameserverService;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class InMemoryNameserverServiceTest {
+
+  @Test
+  public void testLookupAndSearch() throws Exception {
+    Nameserver ns1 = nameserver("ns1.dns.be");
+    Nameserver ns2 = nameserver("ns2.dns.be");
+    Nameserver other = nameserver("ns1.example.be");
+    InMemoryNameserverService service = new InMemoryNameserverService(Arrays.asList(other, ns2, ns1));
+
+    assertEquals(3, service.size());
+    assertSame(ns1, service.getNameserver(DomainName.of("ns1.dns.be")));
+    assertNull(service.getNameserver(DomainName.of("ns3.dns.be")));
+    assertEquals(Arrays.asList(ns1, ns2), service.searchByName("ns*.dns.be").nameserverSearchResults);
+    assertEquals(Arrays.asList(ns1, ns2), service.searchByName("*.dns.be").nameserverSearchResults);
+    PageRequest all = new PageRequest(Integer.MAX_VALUE, null, null, false, true);
+    assertEquals(Long.valueOf(2), service.countByName("*.dns.be", all));
+    assertEquals(Long.valueOf(1), service.countByName("*.example.be", all));
+    assertTrue(ns1.getRdapConformance().contains(Nameserver.DEFAULT_RDAP_CONFORMANCE));
+  }
+
+  @Test
+  public void testPageByName() throws Exception {
+    Nameserver ns1 = nameserver("ns1.dns.be");
+    Nameserver ns2 = nameserver("ns2.dns.be");
+    Nameserver ns3 = nameserver("ns3.dns.be");
+    InMemoryNameserverService service = new InMemoryNameserverService(Arrays.asList(ns3, ns1, ns2));
+
+    NameserversSearchResult first = service.searchByName("*.dns.be", new PageRequest(2, null, "name", false, true));
+    assertEquals(Arrays.asList(ns1, ns2), first.nameserverSearchResults);
+    assertEquals(Long.valueOf(3), first.getTotalCount());
+    NameserversSearchResult second = service.searchByName("*.dns.be",
+        new PageRequest(2, first.getNextCursor(), "name", false, false));
+    assertEquals(Arrays.asList(ns3), second.nameserverSearchResults);
+    assertNull(second.getNextCursor());
+    assertEquals(Arrays.asList(ns3, ns2),
+        service.searchByName("*.dns.be", new PageRequest(2, null, "name", true, false)).nameserverSearchResults);
+  }
+
+  private static Nameserver nameserver(String name) {
+    return new Nameserver(null, null, null, null, null, null, null, name, DomainName.of(name), null, null);
+  }
+}
@@ -1,6 +1,7 @@
 package be.dnsbelgium.rdap;
 
 import be.dnsbelgium.core.DomainName;
+import be.dnsbelgium.core.Label;
 import be.dnsbelgium.rdap.controller.NameserverController;
 import be.dnsbelgium.rdap.core.*;
 import be.dnsbelgium.rdap.core.RDAPError;
@@ -32,7 +33,9 @@ import java.util.Set;
 import static be.dnsbelgium.rdap.RdapMediaType.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -89,6 +92,14 @@ public class NameserverControllerTest extends AbstractControllerTest {
     mockMvc.perform(get("/nameserver/ns.example.com")).andExpect(status().isNotFound());
   }
 
+  @Test
+  public void testLabelTooLong() throws Exception {
+    String name = "ns." + "a".repeat(Label.MAX_LENGTH + 1) + ".com";
+    mockMvc.perform(get("/nameserver/" + name)).andExpect(status().isBadRequest());
+    mockMvc.perform(head("/nameserver/" + name)).andExpect(status().isBadRequest());
+    verify(nameserverService, never()).getNameserver(any(DomainName.class));
+  }
+
   @Test
   public void testNotAuthoritative() throws Exception {
     when(nameserverService.getNameserver(any(DomainName.class))).thenThrow(RDAPError.notAuthoritative(DomainName.of("ns.example.com")));
@@ -0,0 +1,59 @@
+package be.dnsbelgium.rdap;
+
+import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.http.FreshnessPolicies;
+import be.dnsbelgium.rdap.http.PrerenderedResponses;
+import be.dnsbelgium.rdap.http.RenderedResponse;
+import be.dnsbelgium.rdap.jackson.CustomObjectMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.Assert.*;
+
+public class PrerenderedResponsesTest {
+
+  private ObjectMapper objectMapper;
+
+  private PrerenderedResponses responses;
+
+  @Before
+  public void setUp() {
+    objectMapper = new CustomObjectMapper();
+    MockEnvironment environment = new MockEnvironment().withProperty("http.cache.error.405.maxAgeSeconds", "3600");
+    responses = new PrerenderedResponses(objectMapper, new FreshnessPolicies(environment));
+  }
+
+  @Test
+  public void testConstantErrorIsRenderedOnce() throws Exception {
+    ResponseEntity<RenderedResponse> response = responses.forError(RDAPError.methodNotAllowed());
+
+    assertSame(response, responses.forError(RDAPError.methodNotAllowed()));
+    assertEquals(405, response.getStatusCode().value());
+    assertArrayEquals(objectMapper.writeValueAsBytes(RDAPError.methodNotAllowed()), response.getBody().toByteArray());
+    assertEquals(response.getBody().getLength(), response.getHeaders().getContentLength());
+    assertEquals(RdapMediaType.APPLICATION_RDAP_JSON_UTF8, response.getHeaders().getContentType());
+    assertEquals("max-age=3600", response.getHeaders().getCacheControl());
+  }
+
+  @Test
+  public void testNoCacheControlWithoutErrorPolicy() {
+    assertNull(responses.forError(RDAPError.notImplemented()).getHeaders().getCacheControl());
+    assertNotNull(responses.forError(RDAPError.helpNotFound()));
+  }
+
+  @Test
+  public void testOtherErrorsAreNotPrerendered() {
+    assertNull(responses.forError(RDAPError.noResults("example")));
+    assertNull(responses.forError(new RDAPError(405, "Method not allowed")));
+  }
+
+  @Test
+  public void testRenderedResponseIsWrittenRawByJackson() throws Exception {
+    RenderedResponse rendered = responses.forError(RDAPError.notImplemented()).getBody();
+
+    assertEquals(objectMapper.writeValueAsString(RDAPError.notImplemented()), objectMapper.writeValueAsString(rendered));
+  }
+}
@@ -0,0 +1,113 @@
+package be.dnsbelgium.rdap;
+
+import be.dnsbelgium.core.DomainName;
+import be.dnsbelgium.rdap.core.Domain;
+import be.dnsbelgium.rdap.core.DomainsSearchResult;
+import be.dnsbelgium.rdap.core.FieldSet;
+import be.dnsbelgium.rdap.core.Subset;
+import be.dnsbelgium.rdap.http.RdapJsonHttpMessageConverter;
+import be.dnsbelgium.rdap.http.RenderedResponse;
+import be.dnsbelgium.rdap.http.ResponseBodyCache;
+import be.dnsbelgium.rdap.jackson.CustomObjectMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ResponseBodyCacheTest {
+
+  private ObjectMapper objectMapper;
+
+  private ResponseBodyCache cache;
+
+  @Before
+  public void setUp() {
+    objectMapper = new CustomObjectMapper();
+    cache = new ResponseBodyCache(objectMapper, 1024 * 1024);
+  }
+
+  @Test
+  public void testSameObjectIsRenderedOnce() throws Exception {
+    Domain domain = aDomain("example.be");
+
+    RenderedResponse first = cache.render(domain);
+    RenderedResponse second = cache.render(domain);
+
+    assertSame(first, second);
+    assertArrayEquals(objectMapper.writeValueAsBytes(domain), first.toByteArray());
+    assertEquals(1, cache.stats().hitCount());
+  }
+
+  @Test
+  public void testEntriesAreKeyedOnIdentity() throws Exception {
+    Domain domain = aDomain("example.be");
+    Domain copy = aDomain("example.be");
+
+    assertNotSame(cache.render(domain), cache.render(copy));
+  }
+
+  @Test
+  public void testSearchResultsAreNotCached() throws Exception {
+    DomainsSearchResult result = new DomainsSearchResult(Collections.singletonList(aDomain("example.be")));
+
+    assertFalse(cache.isCacheable(result));
+    assertNotSame(cache.render(result), cache.render(result));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testSubsetsAreRenderedButNotCached() throws Exception {
+    Subset subset = new Subset(aDomain("example.be"), FieldSet.ID, null);
+
+    assertFalse(cache.isCacheable(subset));
+    assertTrue(cache.isRenderable(subset));
+    assertArrayEquals(objectMapper.writeValueAsBytes(subset), cache.render(subset).toByteArray());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    cache = new ResponseBodyCache(objectMapper, 0);
+    Domain domain = aDomain("example.be");
+
+    assertNotSame(cache.render(domain), cache.render(domain));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testConverterWritesCachedBytes() throws Exception {
+    RdapJsonHttpMessageConverter converter = new RdapJsonHttpMessageConverter(objectMapper, cache);
+    Domain domain = aDomain("example.be");
+    byte[] expected = objectMapper.writeValueAsBytes(domain);
+
+    for (int i = 0; i < 2; i++) {
+      MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+      converter.write(domain, Domain.class, RdapMediaType.APPLICATION_RDAP_JSON_UTF8, outputMessage);
+      assertArrayEquals(expected, outputMessage.getBodyAsBytes());
+      assertEquals(expected.length, outputMessage.getHeaders().getContentLength());
+    }
+    assertEquals(1, cache.stats().missCount());
+  }
+
+  @Test
+  public void testConverterWritesRenderedResponse() throws Exception {
+    RdapJsonHttpMessageConverter converter = new RdapJsonHttpMessageConverter(objectMapper, cache);
+    byte[] body = "{\"errorCode\":404}".getBytes(StandardCharsets.UTF_8);
+
+    MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+    converter.write(new RenderedResponse(body), RenderedResponse.class, RdapMediaType.APPLICATION_RDAP_JSON_UTF8, outputMessage);
+
+    assertArrayEquals(body, outputMessage.getBodyAsBytes());
+  }
+
+  private Domain aDomain(String name) {
+    DomainName domainName = DomainName.of(name);
+    return new Domain(null, null, null, null, null, null, null, null, domainName, domainName, null, null, null,
+        null, null, null);
+  }
+}
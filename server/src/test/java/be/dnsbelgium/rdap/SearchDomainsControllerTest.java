@@ -2,10 +2,15 @@ package be.dnsbelgium.rdap;
 
 import be.dnsbelgium.core.DomainName;
 import be.dnsbelgium.rdap.controller.SearchDomainsController;
+import be.dnsbelgium.rdap.controller.SearchSettings;
 import be.dnsbelgium.rdap.core.Domain;
 import be.dnsbelgium.rdap.core.DomainsSearchResult;
 import be.dnsbelgium.rdap.core.RDAPError;
+import be.dnsbelgium.rdap.core.SearchResult;
+import be.dnsbelgium.rdap.core.StreamingSearchResult;
+import be.dnsbelgium.rdap.jackson.CustomObjectMapper;
 import be.dnsbelgium.rdap.service.DomainService;
+import be.dnsbelgium.rdap.service.PageRequest;
 import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -19,13 +24,19 @@ import org.springframework.test.context.web.WebAppConfiguration;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static be.dnsbelgium.rdap.RdapMediaType.APPLICATION_RDAP_JSON;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
 import static org.springframework.http.MediaType.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringJUnit4ClassRunner.class)
@@ -178,6 +189,99 @@ public class SearchDomainsControllerTest extends AbstractControllerTest {
             .andExpect(content().string("{\"rdapConformance\":[\"rdap_level_0\"],\"domainSearchResults\":[{\"objectClassName\":\"domain\",\"lang\":\"en\",\"status\":[\"active\",\"delete prohibited\",\"some specific status\"],\"handle\":\"Handle\",\"ldhName\":\"notexample.org\"}]}"));
   }
   
+  @Test
+  public void testSearchByNamePaged() throws Exception {
+    DomainsSearchResult domainsSearchResult = initDomainsSearchResult();
+    domainsSearchResult.setNextCursor("notexample.org");
+    domainsSearchResult.setTotalCount(5L);
+    when(domainService.searchDomainsByName(eq(NAME), any(PageRequest.class))).thenReturn(domainsSearchResult);
+    mockMvc.perform(get("/domains?name=" + NAME + "&sort=name:d&count=true").accept(APPLICATION_RDAP_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rdapConformance[1]").value("paging"))
+            .andExpect(jsonPath("$.rdapConformance[2]").value("sorting"))
+            .andExpect(jsonPath("$.paging_metadata.totalCount").value(5))
+            .andExpect(jsonPath("$.paging_metadata.pageSize").value(1))
+            .andExpect(jsonPath("$.paging_metadata.pageNumber").value(1))
+            .andExpect(jsonPath("$.paging_metadata.links[0].rel").value("next"))
+            .andExpect(jsonPath("$.sorting_metadata.currentSort").value("name:d"))
+            .andExpect(jsonPath("$.sorting_metadata.availableSorts[0].property").value("name"));
+    verify(domainService, times(1)).searchDomainsByName(eq(NAME),
+            argThat((PageRequest page) -> page.isDescending() && page.isCount() && page.getCursor() == null));
+    verify(domainService, never()).searchDomainsByName(anyString());
+  }
+
+  @Test
+  public void testInvalidPagingParams() throws Exception {
+    mockMvc.perform(get("/domains?name=" + NAME + "&sort=registrationDate")).andExpect(status().isBadRequest());
+    mockMvc.perform(get("/domains?name=" + NAME + "&count=yes")).andExpect(status().isBadRequest());
+    mockMvc.perform(get("/domains?name=" + NAME + "&cursor=%%%")).andExpect(status().isBadRequest());
+    // page number 0
+    mockMvc.perform(get("/domains?name=" + NAME + "&cursor=MDpleGFtcGxlLmJl")).andExpect(status().isBadRequest());
+    verify(domainService, never()).searchDomainsByName(anyString());
+    verify(domainService, never()).searchDomainsByName(anyString(), any(PageRequest.class));
+  }
+
+  @Test
+  public void testStreamingSearch() throws Exception {
+    DomainsSearchResult domainsSearchResult = initDomainsSearchResult();
+    when(domainService.streamDomainsByNsIp(NS_IP)).thenReturn(domainsSearchResult.domainSearchResults.stream());
+    SearchDomainsController controller = new SearchDomainsController(domainService, new SearchSettings(0, true));
+    SearchResult result = controller.search(null, null, NS_IP, null, null, null, null);
+    assertTrue(result instanceof StreamingSearchResult);
+    assertEquals("{\"rdapConformance\":[\"rdap_level_0\"],\"domainSearchResults\":[{\"objectClassName\":\"domain\",\"lang\":\"en\",\"status\":[\"active\",\"delete prohibited\",\"some specific status\"],\"handle\":\"Handle\",\"ldhName\":\"notexample.org\"}]}",
+        new CustomObjectMapper().writeValueAsString(result));
+    verify(domainService, never()).searchDomainsByNsIp(anyString());
+
+    when(domainService.streamDomainsByName(NAME)).thenReturn(Stream.empty());
+    try {
+      controller.search(NAME, null, null, null, null, null, null);
+      fail("expected no results");
+    } catch (RDAPError e) {
+      assertEquals(404, e.getErrorCode());
+    }
+  }
+
+  @Test
+  public void testCountOnly() throws Exception {
+    when(domainService.countDomainsByNsIp(eq(NS_IP), any(PageRequest.class))).thenReturn(42L);
+    SearchResult result = searchDomainsController.search(null, null, NS_IP, "only", null, null, null);
+    assertEquals("{\"rdapConformance\":[\"rdap_level_0\",\"paging\"],\"domainSearchResults\":[],\"paging_metadata\":{\"totalCount\":42,\"pageSize\":0,\"pageNumber\":1}}",
+        new CustomObjectMapper().writeValueAsString(result));
+    verify(domainService, never()).searchDomainsByNsIp(anyString());
+    verify(domainService, never()).searchDomainsByNsIp(anyString(), any(PageRequest.class));
+    verify(domainService, never()).streamDomainsByNsIp(anyString());
+  }
+
+  @Test
+  public void testCountOnlyOverBudget() throws Exception {
+    when(domainService.countDomainsByNsIp(eq(NS_IP), any(PageRequest.class))).thenReturn(null);
+    SearchResult result = searchDomainsController.search(null, null, NS_IP, "only", null, null, null);
+    assertTrue(result.isTruncated());
+    assertNull(result.pagingMetadata.getTotalCount());
+  }
+
+  @Test
+  public void testSearchFieldSets() throws Exception {
+    DomainsSearchResult domainsSearchResult = initDomainsSearchResult();
+    when(domainService.searchDomainsByNsIp(NS_IP)).thenReturn(domainsSearchResult);
+    mockMvc.perform(get("/domains?nsIp=" + NS_IP + "&fieldSet=id").accept(APPLICATION_RDAP_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rdapConformance[1]").value("subsetting"))
+            .andExpect(jsonPath("$.domainSearchResults[0].objectClassName").value("domain"))
+            .andExpect(jsonPath("$.domainSearchResults[0].ldhName").value("notexample.org"))
+            .andExpect(jsonPath("$.domainSearchResults[0].handle").doesNotExist())
+            .andExpect(jsonPath("$.subsetting_metadata.currentFieldSet").value("id"))
+            .andExpect(jsonPath("$.subsetting_metadata.availableFieldSets[1].name").value("brief"))
+            .andExpect(jsonPath("$.subsetting_metadata.availableFieldSets[2].default").value(true));
+    mockMvc.perform(get("/domains?nsIp=" + NS_IP + "&fieldSet=brief").accept(APPLICATION_RDAP_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.domainSearchResults[0].handle").value("Handle"))
+            .andExpect(jsonPath("$.domainSearchResults[0].status[0]").value("active"))
+            .andExpect(jsonPath("$.domainSearchResults[0].lang").doesNotExist())
+            .andExpect(jsonPath("$.subsetting_metadata.currentFieldSet").value("brief"));
+    mockMvc.perform(get("/domains?nsIp=" + NS_IP + "&fieldSet=tiny")).andExpect(status().isBadRequest());
+  }
+
   @Test
   public void testMethodNotAllowed() throws Exception {
       mockMvc.perform(put("/domains?nsIp=" + NS_IP).accept(APPLICATION_RDAP_JSON))